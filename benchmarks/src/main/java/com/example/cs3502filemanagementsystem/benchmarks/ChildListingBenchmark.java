@@ -0,0 +1,85 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileTree;
+import com.example.cs3502filemanagementsystem.FileService;
+import javafx.scene.control.TreeItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// createNode + first getChildren() on one folder: list, stat, sort and build a node per entry (inline mode, no FX thread needed),
+// against the old listing as a baseline. ListingStatCount counts the stat calls of both.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildListingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int entries;
+
+    private Path root;
+    private Path folder;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void createTree() throws IOException {
+        root = Fixtures.newRoot("listing");
+        folder = root.resolve("folder");
+        Fixtures.flat(folder, entries - entries / 10, entries / 10);
+        fileService = new FileService();
+        fileService.setAsyncLoading(false);             // measure the listing itself, not the batching onto the FX thread
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTree() throws IOException {
+        fileService.closeIndex();
+        Fixtures.deleteTree(root);
+    }
+
+    @Benchmark
+    public List<TreeItem<Path>> createNodeChildren() {
+        return FileTree.createNode(fileService, folder).getChildren();
+    }
+
+    @Benchmark
+    public List<Path> baselineListAndSort() throws IOException {     // Lists and sorts only: no nodes, so the gap is if anything understated.
+        return baselineListing(folder);
+    }
+
+    // The listing before attributes were read once per entry: Files.list, then a comparator that stats both sides of
+    // every comparison (about 2 n log n isDirectory calls for n entries)
+    static List<Path> baselineListing(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream
+                    .sorted((p1, p2) -> {
+                        boolean d1 = Files.isDirectory(p1);
+                        boolean d2 = Files.isDirectory(p2);
+                        if (d1 && !d2) return -1;
+                        if (!d1 && d2) return 1;
+                        return p1.getFileName().toString().compareToIgnoreCase(p2.getFileName().toString());
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AccessMode;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The built-in file system with a counter on every attribute lookup (each one is a stat, lstat or access call).
+// Installed as the default for a whole JVM with -Djava.nio.file.spi.DefaultFileSystemProvider=<this class>.
+public final class CountingFileSystemProvider extends FileSystemProvider {
+
+    private static final AtomicLong LOOKUPS = new AtomicLong();
+
+    private final FileSystemProvider delegate;
+    private final CountingFileSystem fileSystem;
+
+    public CountingFileSystemProvider(FileSystemProvider delegate) {    // Called by the JDK with the built-in provider.
+        this.delegate = delegate;
+        this.fileSystem = new CountingFileSystem(this, delegate.getFileSystem(URI.create("file:///")));
+    }
+
+    static boolean isInstalled() {
+        return FileSystems.getDefault().provider() instanceof CountingFileSystemProvider;
+    }
+
+    static long lookups() {
+        return LOOKUPS.get();
+    }
+
+    static void reset() {
+        LOOKUPS.set(0);
+    }
+
+    private static Path unwrap(Path path) {
+        return path instanceof CountingPath counting ? counting.delegate : path;
+    }
+
+    private Path wrap(Path path) {
+        return path == null ? null : new CountingPath(fileSystem, path);
+    }
+
+    // Counted: everything that reads a file's attributes
+
+    @Override
+    public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options) throws IOException {
+        LOOKUPS.incrementAndGet();
+        return delegate.readAttributes(unwrap(path), type, options);
+    }
+
+    @Override
+    public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options) throws IOException {
+        LOOKUPS.incrementAndGet();
+        return delegate.readAttributes(unwrap(path), attributes, options);
+    }
+
+    @Override
+    public <A extends BasicFileAttributes> A readAttributesIfExists(Path path, Class<A> type, LinkOption... options) throws IOException {
+        LOOKUPS.incrementAndGet();
+        return delegate.readAttributesIfExists(unwrap(path), type, options);
+    }
+
+    @Override
+    public boolean exists(Path path, LinkOption... options) {
+        LOOKUPS.incrementAndGet();
+        return delegate.exists(unwrap(path), options);
+    }
+
+    @Override
+    public void checkAccess(Path path, AccessMode... modes) throws IOException {
+        LOOKUPS.incrementAndGet();
+        delegate.checkAccess(unwrap(path), modes);
+    }
+
+    // Passed through
+
+    @Override
+    public String getScheme() {
+        return delegate.getScheme();
+    }
+
+    @Override
+    public FileSystem newFileSystem(URI uri, Map<String, ?> env) {
+        throw new FileSystemAlreadyExistsException();
+    }
+
+    @Override
+    public FileSystem getFileSystem(URI uri) {
+        return fileSystem;
+    }
+
+    @Override
+    public Path getPath(URI uri) {
+        return wrap(delegate.getPath(uri));
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+        return delegate.newByteChannel(unwrap(path), options, attrs);
+    }
+
+    @Override
+    public FileChannel newFileChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+        return delegate.newFileChannel(unwrap(path), options, attrs);
+    }
+
+    @Override
+    public InputStream newInputStream(Path path, OpenOption... options) throws IOException {
+        return delegate.newInputStream(unwrap(path), options);
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path, OpenOption... options) throws IOException {
+        return delegate.newOutputStream(unwrap(path), options);
+    }
+
+    @Override
+    public DirectoryStream<Path> newDirectoryStream(Path dir, DirectoryStream.Filter<? super Path> filter) throws IOException {
+        DirectoryStream<Path> stream = delegate.newDirectoryStream(unwrap(dir), entry -> filter.accept(wrap(entry)));
+        return new DirectoryStream<>() {
+            @Override
+            public Iterator<Path> iterator() {
+                Iterator<Path> it = stream.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Path next() {
+                        return wrap(it.next());
+                    }
+                };
+            }
+
+            @Override
+            public void close() throws IOException {
+                stream.close();
+            }
+        };
+    }
+
+    @Override
+    public void createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
+        delegate.createDirectory(unwrap(dir), attrs);
+    }
+
+    @Override
+    public void createSymbolicLink(Path link, Path target, FileAttribute<?>... attrs) throws IOException {
+        delegate.createSymbolicLink(unwrap(link), unwrap(target), attrs);
+    }
+
+    @Override
+    public void createLink(Path link, Path existing) throws IOException {
+        delegate.createLink(unwrap(link), unwrap(existing));
+    }
+
+    @Override
+    public Path readSymbolicLink(Path link) throws IOException {
+        return wrap(delegate.readSymbolicLink(unwrap(link)));
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        delegate.delete(unwrap(path));
+    }
+
+    @Override
+    public boolean deleteIfExists(Path path) throws IOException {
+        return delegate.deleteIfExists(unwrap(path));
+    }
+
+    @Override
+    public void copy(Path source, Path target, CopyOption... options) throws IOException {
+        delegate.copy(unwrap(source), unwrap(target), options);
+    }
+
+    @Override
+    public void move(Path source, Path target, CopyOption... options) throws IOException {
+        delegate.move(unwrap(source), unwrap(target), options);
+    }
+
+    @Override
+    public boolean isSameFile(Path path, Path path2) throws IOException {
+        return delegate.isSameFile(unwrap(path), unwrap(path2));
+    }
+
+    @Override
+    public boolean isHidden(Path path) throws IOException {
+        return delegate.isHidden(unwrap(path));
+    }
+
+    @Override
+    public FileStore getFileStore(Path path) throws IOException {
+        return delegate.getFileStore(unwrap(path));
+    }
+
+    @Override
+    public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+        return delegate.getFileAttributeView(unwrap(path), type, options);
+    }
+
+    @Override
+    public void setAttribute(Path path, String attribute, Object value, LinkOption... options) throws IOException {
+        delegate.setAttribute(unwrap(path), attribute, value, options);
+    }
+
+    private static final class CountingFileSystem extends FileSystem {
+        private final CountingFileSystemProvider provider;
+        private final FileSystem delegate;
+
+        CountingFileSystem(CountingFileSystemProvider provider, FileSystem delegate) {
+            this.provider = provider;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public FileSystemProvider provider() {
+            return provider;
+        }
+
+        @Override
+        public void close() {
+            throw new UnsupportedOperationException();      // the default file system stays open
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return delegate.isReadOnly();
+        }
+
+        @Override
+        public String getSeparator() {
+            return delegate.getSeparator();
+        }
+
+        @Override
+        public Iterable<Path> getRootDirectories() {
+            List<Path> roots = new java.util.ArrayList<>();
+            for (Path root : delegate.getRootDirectories()) {
+                roots.add(provider.wrap(root));
+            }
+            return roots;
+        }
+
+        @Override
+        public Iterable<FileStore> getFileStores() {
+            return delegate.getFileStores();
+        }
+
+        @Override
+        public Set<String> supportedFileAttributeViews() {
+            return delegate.supportedFileAttributeViews();
+        }
+
+        @Override
+        public Path getPath(String first, String... more) {
+            return provider.wrap(delegate.getPath(first, more));
+        }
+
+        @Override
+        public PathMatcher getPathMatcher(String syntaxAndPattern) {
+            PathMatcher matcher = delegate.getPathMatcher(syntaxAndPattern);
+            return path -> matcher.matches(unwrap(path));
+        }
+
+        @Override
+        public UserPrincipalLookupService getUserPrincipalLookupService() {
+            return delegate.getUserPrincipalLookupService();
+        }
+
+        @Override
+        public WatchService newWatchService() throws IOException {
+            return delegate.newWatchService();
+        }
+    }
+
+    private static final class CountingPath implements Path {
+        private final CountingFileSystem fileSystem;
+        private final Path delegate;
+
+        CountingPath(CountingFileSystem fileSystem, Path delegate) {
+            this.fileSystem = fileSystem;
+            this.delegate = delegate;
+        }
+
+        private Path wrap(Path path) {
+            return fileSystem.provider.wrap(path);
+        }
+
+        @Override
+        public FileSystem getFileSystem() {
+            return fileSystem;
+        }
+
+        @Override
+        public boolean isAbsolute() {
+            return delegate.isAbsolute();
+        }
+
+        @Override
+        public Path getRoot() {
+            return wrap(delegate.getRoot());
+        }
+
+        @Override
+        public Path getFileName() {
+            return wrap(delegate.getFileName());
+        }
+
+        @Override
+        public Path getParent() {
+            return wrap(delegate.getParent());
+        }
+
+        @Override
+        public int getNameCount() {
+            return delegate.getNameCount();
+        }
+
+        @Override
+        public Path getName(int index) {
+            return wrap(delegate.getName(index));
+        }
+
+        @Override
+        public Path subpath(int beginIndex, int endIndex) {
+            return wrap(delegate.subpath(beginIndex, endIndex));
+        }
+
+        @Override
+        public boolean startsWith(Path other) {
+            return delegate.startsWith(unwrap(other));
+        }
+
+        @Override
+        public boolean endsWith(Path other) {
+            return delegate.endsWith(unwrap(other));
+        }
+
+        @Override
+        public Path normalize() {
+            return wrap(delegate.normalize());
+        }
+
+        @Override
+        public Path resolve(Path other) {
+            return wrap(delegate.resolve(unwrap(other)));
+        }
+
+        @Override
+        public Path relativize(Path other) {
+            return wrap(delegate.relativize(unwrap(other)));
+        }
+
+        @Override
+        public URI toUri() {
+            return delegate.toUri();
+        }
+
+        @Override
+        public Path toAbsolutePath() {
+            return wrap(delegate.toAbsolutePath());
+        }
+
+        @Override
+        public Path toRealPath(LinkOption... options) throws IOException {
+            return wrap(delegate.toRealPath(options));
+        }
+
+        @Override
+        public WatchKey register(WatchService watcher, WatchEvent.Kind<?>[] events, WatchEvent.Modifier... modifiers) throws IOException {
+            return delegate.register(watcher, events, modifiers);
+        }
+
+        @Override
+        public int compareTo(Path other) {
+            return delegate.compareTo(unwrap(other));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CountingPath path && delegate.equals(path.delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
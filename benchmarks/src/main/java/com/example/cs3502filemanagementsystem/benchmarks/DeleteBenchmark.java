@@ -0,0 +1,67 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// deleteFile on a freshly built tree per call: a deep chain (little to parallelize) and a wide tree (lots to parallelize)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class DeleteBenchmark {
+
+    @Param({"deep", "wide"})
+    public String shape;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    private Path root;
+    private Path tree;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void createService() throws IOException {
+        root = Fixtures.newRoot("delete");
+        fileService = new FileService();
+        fileService.setDeleteParallelism(parallelism);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTree() throws IOException {       // Building the tree is not timed (single-shot mode, one delete per invocation).
+        tree = root.resolve("tree");
+        if ("deep".equals(shape)) {
+            Fixtures.deep(tree, 200, 10);               // 200 levels, 2,000 files
+        } else {
+            Fixtures.wide(tree, 8, 3, 4);               // 585 folders, 2,340 files
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRoot() throws IOException {
+        Fixtures.deleteTree(root);
+    }
+
+    @Benchmark
+    public void deleteTree() throws IOException {
+        fileService.deleteFile(tree);
+    }
+}
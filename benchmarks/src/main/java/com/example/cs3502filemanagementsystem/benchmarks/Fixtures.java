@@ -0,0 +1,116 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+final class Fixtures {      // Synthetic trees for the benchmarks, created on tmpfs when the machine has one.
+
+    private Fixtures() {
+    }
+
+    static Path newRoot(String name) throws IOException {       // Fresh directory under -Dbench.dir, /dev/shm or the temp dir.
+        String configured = System.getProperty("bench.dir");
+        Path base = configured != null ? Paths.get(configured)
+                : Files.isDirectory(Paths.get("/dev/shm")) && Files.isWritable(Paths.get("/dev/shm")) ? Paths.get("/dev/shm")
+                : Paths.get(System.getProperty("java.io.tmpdir"));
+        Files.createDirectories(base);
+        return Files.createTempDirectory(base, "fm-bench-" + name + "-");
+    }
+
+    // One directory with many small files and some subfolders, created in a shuffled order: tmpfs lists entries in
+    // reverse creation order, which would hand a sort an already-ordered input that real folders never give it
+    static void flat(Path dir, int files, int folders) throws IOException {
+        Files.createDirectories(dir);
+        byte[] body = "benchmark\n".getBytes();
+        List<Integer> order = new ArrayList<>(files + folders);
+        for (int i = 0; i < files + folders; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+        for (int i : order) {
+            if (i < folders) {
+                Files.createDirectory(dir.resolve(String.format("folder-%06d", i)));
+            } else {
+                Files.write(dir.resolve(String.format("file-%06d.txt", i - folders)), body);
+            }
+        }
+    }
+
+    static void deep(Path dir, int depth, int filesPerLevel) throws IOException {    // A single chain of nested folders.
+        Path level = dir;
+        for (int d = 0; d < depth; d++) {
+            level = level.resolve("d" + d);
+            Files.createDirectories(level);
+            for (int f = 0; f < filesPerLevel; f++) {
+                Files.write(level.resolve("f" + f + ".txt"), new byte[64]);
+            }
+        }
+    }
+
+    static void wide(Path dir, int fanOut, int levels, int filesPerFolder) throws IOException {    // Every folder has fanOut subfolders, levels deep.
+        Files.createDirectories(dir);
+        for (int f = 0; f < filesPerFolder; f++) {
+            Files.write(dir.resolve("f" + f + ".txt"), new byte[64]);
+        }
+        if (levels == 0) {
+            return;
+        }
+        for (int i = 0; i < fanOut; i++) {
+            wide(dir.resolve("w" + i), fanOut, levels - 1, filesPerFolder);
+        }
+    }
+
+    static String text(int bytes) {                             // ASCII text of the given length, split into 80-column lines.
+        char[] chars = new char[bytes];
+        for (int i = 0; i < bytes; i++) {
+            chars[i] = i % 81 == 80 ? '\n' : (char) ('a' + i % 26);
+        }
+        return new String(chars);
+    }
+
+    static void sizedFile(Path file, int bytes) throws IOException {
+        Files.writeString(file, text(bytes));
+    }
+
+    static void deleteTree(Path root) throws IOException {      // Plain sequential delete, independent of the code being measured.
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    static Path[] mixedNames(Path dir, int count) throws IOException {    // Files with a spread of text and binary extensions (and one folder).
+        String[] extensions = {".txt", ".java", ".json", ".png", ".jar", ".md", ".class", ".properties", ".zip", ".csv", "", ".HTML"};
+        Path[] paths = new Path[count];
+        for (int i = 0; i < count; i++) {
+            paths[i] = dir.resolve("entry-" + i + extensions[i % extensions.length]);
+            Files.write(paths[i], new byte[16]);
+        }
+        Path folder = Files.createDirectories(dir.resolve("folder.txt"));    // directories are never text, whatever the name
+        paths = Arrays.copyOf(paths, count + 1);
+        paths[count] = folder;
+        return paths;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// isTextFile over a mix of real text, binary and extensionless files (plus a folder), as the tree and search call it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsTextFileBenchmark {
+
+    private Path root;
+    private Path[] paths;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        root = Fixtures.newRoot("istext");
+        paths = Fixtures.mixedNames(root, 240);
+        fileService = new FileService();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Fixtures.deleteTree(root);
+    }
+
+    @Benchmark
+    public void isTextFile(Blackhole bh) {              // One call per path; the score is per batch of 241 paths.
+        for (Path p : paths) {
+            bh.consume(fileService.isTextFile(p));
+        }
+    }
+}
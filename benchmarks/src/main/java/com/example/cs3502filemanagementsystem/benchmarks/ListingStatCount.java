@@ -0,0 +1,56 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileService;
+import com.example.cs3502filemanagementsystem.FileTree;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+// Stat calls and wall time for one listing of a large folder, old listing against the current one. Needs the counting
+// provider installed as the default file system (it adds a little to each call, so take timings from ChildListingBenchmark):
+//   java -Djava.nio.file.spi.DefaultFileSystemProvider=com.example.cs3502filemanagementsystem.benchmarks.CountingFileSystemProvider \
+//        -cp target/benchmarks.jar com.example.cs3502filemanagementsystem.benchmarks.ListingStatCount [entries]
+public final class ListingStatCount {
+
+    private static final int ROUNDS = 5;                        // the last round is reported; earlier ones warm up the JIT
+
+    private ListingStatCount() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!CountingFileSystemProvider.isInstalled()) {
+            System.err.println("Run with -Djava.nio.file.spi.DefaultFileSystemProvider=" + CountingFileSystemProvider.class.getName());
+            System.exit(2);
+        }
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path root = Fixtures.newRoot("statcount");
+        Path folder = root.resolve("folder");
+        Fixtures.flat(folder, entries - entries / 10, entries / 10);
+        FileService fileService = new FileService();
+        fileService.setAsyncLoading(false);
+        try {
+            System.out.printf("%,d entries (%,d folders)%n", entries, entries / 10);
+            measure("old: Files.list + isDirectory per compare", () -> ChildListingBenchmark.baselineListing(folder).size());
+            measure("new: createNode(...).getChildren()", () -> FileTree.createNode(fileService, folder).getChildren().size());
+        } finally {
+            fileService.closeIndex();
+            Fixtures.deleteTree(root);
+        }
+    }
+
+    private static void measure(String label, Callable<Integer> listing) throws Exception {
+        long lookups = 0;
+        long nanos = 0;
+        int listed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            CountingFileSystemProvider.reset();
+            long start = System.nanoTime();
+            listed = listing.call();
+            nanos = System.nanoTime() - start;
+            lookups = CountingFileSystemProvider.lookups();
+        }
+        System.out.printf("%-45s %,12d stat calls (%.2f per entry) %10.1f ms  [%,d listed]%n",
+                label, lookups, (double) lookups / Math.max(1, listed), nanos / 1e6, listed);
+    }
+}
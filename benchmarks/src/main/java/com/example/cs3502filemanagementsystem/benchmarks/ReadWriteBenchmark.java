@@ -0,0 +1,80 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+// readFileContent (cold and from the content cache) and writeFileContent, against a plain in-place write
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadWriteBenchmark {
+
+    @Param({"1024", "1048576", "16777216"})             // 1 KB, 1 MB, 16 MB (the default large-file threshold is 16 MB, still read in full here)
+    public int size;
+
+    private Path root;
+    private Path readFile;
+    private Path writeFile;
+    private String content;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void createFiles() throws IOException {
+        root = Fixtures.newRoot("readwrite");
+        readFile = root.resolve("read.txt");
+        writeFile = root.resolve("write.txt");
+        Fixtures.sizedFile(readFile, size);
+        Fixtures.sizedFile(writeFile, size);
+        content = Fixtures.text(size);
+        fileService = new FileService();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Fixtures.deleteTree(root);
+    }
+
+    @Benchmark
+    public String readCold() throws IOException {
+        fileService.getContentCache().clear();          // every call reads and decodes the file
+        return fileService.readFileContent(readFile);
+    }
+
+    @Benchmark
+    public String readCached() throws IOException {     // Repeat opens of an unchanged file (one stat, then the cached text).
+        return fileService.readFileContent(readFile);
+    }
+
+    @Benchmark
+    public void write() throws IOException {            // Temp file + fsync + atomic rename.
+        fileService.writeFileContent(writeFile, content);
+    }
+
+    @Benchmark
+    public void writeInPlaceBaseline() throws IOException {    // The unsafe truncate-and-write the app used before atomic saves, for comparison.
+        Files.writeString(writeFile, content, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cs3502filemanagementsystem.benchmarks;
+
+import com.example.cs3502filemanagementsystem.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// renameFile within one folder, flipping a file between two names (each call is one validated rename)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenameBenchmark {
+
+    private Path root;
+    private Path current;
+    private FileService fileService;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        root = Fixtures.newRoot("rename");
+        Fixtures.flat(root, 1000, 0);                   // a realistically populated folder around the renamed file
+        current = Files.writeString(root.resolve("a.txt"), "rename me\n");
+        fileService = new FileService();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Fixtures.deleteTree(root);
+    }
+
+    @Benchmark
+    public Path rename() throws IOException {
+        current = fileService.renameFile(current, current.getFileName().toString().equals("a.txt") ? "b.txt" : "a.txt");
+        return current;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ArchiveCache {      // Open zip/jar file systems (JDK zipfs) for browsing archives, least recently used closed first.
+
+    private static final String[] EXTENSIONS = {".zip", ".jar", ".war", ".ear"};
+
+    // A file system is reused while the archive still has the size and mtime it had when it was opened
+    private record Open(FileSystem fs, long mtime, long size) {
+    }
+
+    private final int capacity;
+    private final Map<Path, Open> open = new LinkedHashMap<>(16, 0.75f, true);     // access order: eldest = least recently used
+    private final Map<FileSystem, Path> archives = new WeakHashMap<>();            // also remembers closed ones, to reopen them
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    ArchiveCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    static boolean isArchiveName(Path path) {                 // .zip, .jar, .war, .ear (ASCII case-insensitive)
+        Path name = path.getFileName();
+        if (name == null) {
+            return false;
+        }
+        String s = name.toString();
+        for (String ext : EXTENSIONS) {
+            if (s.regionMatches(true, s.length() - ext.length(), ext, 0, ext.length()) && s.length() > ext.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isInArchive(Path path) {                   // True for entries of an opened archive (any non-default file system).
+        return path.getFileSystem() != FileSystems.getDefault();
+    }
+
+    // Opening reads the archive's central directory, so it only happens when an archive node is expanded (or an entry read)
+    Path rootOf(Path archive) throws IOException {            // The root directory inside the archive, opening it if needed.
+        Path key = archive.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        List<FileSystem> stale = new ArrayList<>();
+        FileSystem fs;
+        synchronized (this) {
+            Open current = open.get(key);
+            if (current != null && current.fs().isOpen() && current.size() == attrs.size()
+                    && current.mtime() == attrs.lastModifiedTime().toMillis()) {
+                hits.incrementAndGet();
+                return current.fs().getPath("/");
+            }
+            if (current != null) {
+                open.remove(key);                             // rewritten since: read its directory again
+                stale.add(current.fs());
+            }
+        }
+        closeAll(stale);
+        stale.clear();
+        fs = FileSystems.newFileSystem(key);
+        opened.incrementAndGet();
+        synchronized (this) {
+            Open raced = open.get(key);
+            if (raced != null && raced.fs().isOpen()) {
+                stale.add(fs);                                // another thread opened it meanwhile: use theirs
+                fs = raced.fs();
+            } else {
+                open.put(key, new Open(fs, attrs.lastModifiedTime().toMillis(), attrs.size()));
+                archives.put(fs, key);
+                for (Iterator<Open> it = open.values().iterator(); open.size() > capacity && it.hasNext(); ) {
+                    stale.add(it.next().fs());
+                    it.remove();
+                    evicted.incrementAndGet();
+                }
+            }
+        }
+        closeAll(stale);
+        return fs.getPath("/");
+    }
+
+    Path live(Path path) throws IOException {                 // The same entry in an open file system (reopens an archive closed by eviction).
+        FileSystem fs = path.getFileSystem();
+        if (fs.isOpen() || !isInArchive(path)) {
+            return path;
+        }
+        Path archive;
+        synchronized (this) {
+            archive = archives.get(fs);
+        }
+        if (archive == null) {
+            throw new IOException("Archive is no longer open: " + path);
+        }
+        return rootOf(archive).getFileSystem().getPath(path.toString());
+    }
+
+    Path archiveOf(Path entry) {                              // The archive file an entry belongs to (null for ordinary paths).
+        if (!isInArchive(entry)) {
+            return null;
+        }
+        synchronized (this) {
+            return archives.get(entry.getFileSystem());
+        }
+    }
+
+    String describe(Path path) {                              // Absolute path for display; entries read "/dir/lib.jar!/META-INF/MANIFEST.MF".
+        Path archive = archiveOf(path);
+        return archive == null ? path.toAbsolutePath().toString() : archive + "!" + path.toAbsolutePath();
+    }
+
+    void release(Path path) {                                 // Closes archives at or under a path that is about to be deleted or moved.
+        Path key = path.toAbsolutePath().normalize();
+        List<FileSystem> closing = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Map.Entry<Path, Open>> it = open.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Path, Open> e = it.next();
+                if (e.getKey().startsWith(key)) {
+                    closing.add(e.getValue().fs());
+                    it.remove();
+                }
+            }
+        }
+        closeAll(closing);
+    }
+
+    void closeAll() {
+        List<FileSystem> all;
+        synchronized (this) {
+            all = new ArrayList<>();
+            open.values().forEach(o -> all.add(o.fs()));
+            open.clear();
+        }
+        closeAll(all);
+    }
+
+    private static void closeAll(List<FileSystem> systems) {    // Outside the lock: closing releases the archive's channel.
+        for (FileSystem fs : systems) {
+            try {
+                fs.close();
+            } catch (IOException e) {
+                // Never written through this class, so there is nothing to lose
+            }
+        }
+    }
+
+    // Stats
+
+    public synchronized int getOpenCount() {
+        return open.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getOpened() {                                 // Central directories read (first opens, reopens after eviction or changes).
+        return opened.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getEvicted() {
+        return evicted.get();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BatchOperation {      // One action over many paths in parallel; failures are collected per item instead of stopping the batch.
+
+    private static final int MAX_RECORDED_ERRORS = 1000;   // Failures beyond this are only counted
+    private static final int SPLIT_THRESHOLD = 32;         // items handled per fork/join leaf
+
+    public record Failure(Path path, IOException error) {
+    }
+
+    @FunctionalInterface
+    interface Step {                                       // Acts on one item at its current location; returns where it is now (null once gone).
+        Path apply(int index, Path current) throws IOException;
+    }
+
+    private final String verb;
+    private final List<Path> items;
+    private final List<Step> phases;
+    private final Path[] current;                           // where each item is between phases (null: failed or gone)
+    private final ForkJoinPool pool;
+    private final Set<Path> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicLong doneCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private BatchOperation(String verb, List<Path> items, List<Step> phases, int parallelism) {
+        this.verb = verb;
+        this.items = List.copyOf(items);
+        this.phases = List.copyOf(phases);
+        this.current = this.items.toArray(new Path[0]);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    // Phases run one after another, each over every item still standing; an item that fails drops out of later phases.
+    // Once started, a batch of several phases ignores cancel: stopping between phases would strand items half way.
+    static BatchOperation create(String verb, List<Path> items, int parallelism, List<Step> phases) {    // Does nothing until run().
+        return new BatchOperation(verb, items, phases, parallelism);
+    }
+
+    void run() {                                            // Runs on the calling thread; a no-op if cancelled before starting.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        try {
+            for (int p = 0; p < phases.size() && !cancelled; p++) {
+                pool.invoke(new PhaseTask(phases.get(p), p == phases.size() - 1, 0, items.size()));
+            }
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        } finally {
+            endNanos = System.nanoTime();
+            pool.shutdown();
+        }
+    }
+
+    private class PhaseTask extends RecursiveAction {
+        private final Step step;
+        private final boolean last;
+        private final int from;
+        private final int to;
+
+        PhaseTask(Step step, boolean last, int from, int to) {
+            this.step = step;
+            this.last = last;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PhaseTask(step, last, from, mid), new PhaseTask(step, last, mid, to));
+                return;
+            }
+            for (int i = from; i < to && !cancelled; i++) {
+                Path before = current[i];
+                if (before == null) {
+                    continue;                               // failed in an earlier phase
+                }
+                try {
+                    Path after = step.apply(i, before);
+                    current[i] = after;
+                    changed.add(before);
+                    if (after != null) {
+                        changed.add(after);
+                    }
+                    if (last) {
+                        doneCount.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    current[i] = null;
+                    changed.add(before);                    // a failed step may still have touched it
+                    if (failedCount.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+                        failures.add(new Failure(items.get(i), e));
+                    }
+                }
+            }
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {                                  // Items already handled stay handled; the rest are left untouched.
+        if (cancelled) {
+            return;
+        }
+        boolean neverStarted = started.compareAndSet(false, true);
+        if (!neverStarted && phases.size() > 1) {
+            return;                                         // items may sit under temporary names: run to the end
+        }
+        cancelled = true;
+        if (neverStarted) {                                 // nothing to stop, just finish
+            pool.shutdown();
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public int getTotalCount() {
+        return items.size();
+    }
+
+    public long getDoneCount() {
+        return doneCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public List<Failure> getFailures() {                    // Up to MAX_RECORDED_ERRORS failures, in the order they happened.
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public Path getResult(Path item) {                      // Where a batch item ended up (null if it failed, was removed or is not in the batch).
+        int i = items.indexOf(item);
+        return i < 0 || !completion.isDone() ? null : current[i];
+    }
+
+    public Set<Path> getChanged() {                         // Every path created, removed or renamed, for one tree update at the end.
+        return Set.copyOf(changed);
+    }
+
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0;                                       // still queued
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public void await() throws IOException {                // Blocks until done; throws if any item failed.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running: " + verb, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed: " + verb, e.getCause());
+        }
+        if (failedCount.get() > 0) {
+            List<Failure> recorded = getFailures();
+            IOException ex = new IOException(verb + ": " + failedCount.get() + " of " + items.size() + " item(s) failed",
+                    recorded.isEmpty() ? null : recorded.get(0).error());
+            for (int i = 1; i < Math.min(recorded.size(), 10); i++) {
+                ex.addSuppressed(recorded.get(i).error());
+            }
+            throw ex;
+        }
+    }
+}
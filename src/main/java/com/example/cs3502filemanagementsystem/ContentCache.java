@@ -0,0 +1,130 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ContentCache {      // Decoded contents of recently opened text files, least recently used evicted first, within a byte budget.
+
+    // An entry is only served while the file is still the same file (fileKey) with the size and full-precision mtime it had when read;
+    // a millisecond mtime misses two saves within the same millisecond, and an atomic-rename save changes the fileKey
+    private record Entry(long size, FileTime mtime, Object fileKey, String text) {
+        Entry(BasicFileAttributes attrs, String text) {
+            this(attrs.size(), attrs.lastModifiedTime(), attrs.fileKey(), text);
+        }
+
+        boolean matches(BasicFileAttributes attrs) {
+            return attrs != null && size == attrs.size() && mtime.equals(attrs.lastModifiedTime()) && Objects.equals(fileKey, attrs.fileKey());
+        }
+    }
+
+    private final long budget;                              // bytes; each entry is weighed by its file size
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);    // access order: eldest = least recently used
+    private long footprint;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong prefetched = new AtomicLong();
+
+    public ContentCache(long budget) {
+        this.budget = budget;
+    }
+
+    public synchronized String get(Path path, BasicFileAttributes attrs) {    // Cached text, or null if absent or the file changed since.
+        Entry e = entries.get(path);
+        if (e != null && e.matches(attrs)) {
+            hits.incrementAndGet();
+            return e.text();
+        }
+        if (e != null) {
+            remove(path);                                   // stale: never served again
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public synchronized boolean contains(Path path, BasicFileAttributes attrs) {    // Same check as get, without counting or reordering.
+        Entry e = entries.get(path);
+        return e != null && e.matches(attrs);
+    }
+
+    public synchronized void put(Path path, BasicFileAttributes attrs, String text) {
+        long weight = attrs.size();                         // about the String's size for mostly-ASCII text (one byte per char)
+        if (weight > budget / 4) {
+            return;                                         // one big file would flush everything else
+        }
+        remove(path);
+        entries.put(path, new Entry(attrs, text));
+        footprint += weight;
+        for (Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator(); footprint > budget && it.hasNext(); ) {
+            footprint -= it.next().getValue().size();
+            it.remove();
+        }
+    }
+
+    public synchronized boolean offer(Path path, BasicFileAttributes attrs, String text) {    // Speculative put: only into free space, never evicting (false when full).
+        if (entries.containsKey(path)) {
+            return true;                                    // already cached (opened meanwhile)
+        }
+        if (footprint + attrs.size() > budget) {
+            return false;
+        }
+        entries.put(path, new Entry(attrs, text));
+        footprint += attrs.size();
+        prefetched.incrementAndGet();
+        return true;
+    }
+
+    public synchronized void remove(Path path) {
+        Entry e = entries.remove(path);
+        if (e != null) {
+            footprint -= e.size();
+        }
+    }
+
+    public synchronized void removeTree(Path root) {       // Drops the entry for root and every entry under it (a deleted or moved folder).
+        remove(root);
+        for (Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, Entry> e = it.next();
+            if (e.getKey().startsWith(root)) {
+                footprint -= e.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        footprint = 0;
+    }
+
+    // Stats
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getPrefetched() {
+        return prefetched.get();
+    }
+
+    public synchronized long getFootprint() {              // Bytes held (sum of cached file sizes).
+        return footprint;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+}
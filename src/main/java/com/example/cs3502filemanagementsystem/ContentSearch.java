@@ -0,0 +1,327 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ContentSearch {         // Parallel grep over a directory tree: one walker feeding a bounded queue, N scanner threads.
+
+    private static final int QUEUE_CAPACITY = 1024;          // Paths buffered between the walker and the scanners
+    private static final long WINDOW_SIZE = 8L << 20;        // Bytes mapped (and, for regex, decoded) at a time
+    private static final int PREVIEW_BYTES = 240;            // Maximum length of a result's line preview
+    private static final Path END = Path.of("");             // Poison pill: the walk is finished
+
+    public record Options(String query, boolean regex, boolean caseSensitive, int maxResults, int parallelism) {
+    }
+
+    public record Match(Path file, long line, String preview) implements SearchResult {
+        @Override
+        public String toString() {
+            return file + ":" + line + ": " + preview;
+        }
+    }
+
+    private final Path root;
+    private final Options options;
+    private final Consumer<Match> sink;                       // Called from scanner threads
+    private final FileService service;
+
+    private final BlockingQueue<Path> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicInteger resultCount = new AtomicInteger();
+    private final AtomicLong filesScanned = new AtomicLong();
+    private final AtomicLong bytesScanned = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile boolean cancelled;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    // Compiled query
+    private final byte[] literal;
+    private final int[] skip;
+    private final Pattern pattern;
+
+    private ContentSearch(Path root, Options options, Consumer<Match> sink, FileService service) {
+        this.root = root;
+        this.options = options;
+        this.sink = sink;
+        this.service = service;
+        if (options.regex()) {
+            int flags = Pattern.MULTILINE;                  // ^ and $ at every line, not just the edges of the window
+            pattern = Pattern.compile(options.query(), options.caseSensitive() ? flags : flags | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            literal = null;
+            skip = null;
+        } else {
+            pattern = null;
+            literal = fold(options.query().getBytes(StandardCharsets.UTF_8));
+            skip = new int[256];
+            Arrays.fill(skip, literal.length);
+            for (int i = 0; i < literal.length - 1; i++) {
+                skip[literal[i] & 0xFF] = literal.length - 1 - i;       // Boyer-Moore-Horspool bad-character table
+            }
+        }
+    }
+
+    public static ContentSearch start(Path root, Options options, Consumer<Match> sink, FileService service) {
+        ContentSearch search = new ContentSearch(root, options, sink, service);
+        search.startNanos = System.nanoTime();
+        int workers = Math.max(1, options.parallelism());
+        CountDownLatch done = new CountDownLatch(workers);
+        Thread.ofPlatform().daemon().name("search-walker").start(search::walk);
+        for (int i = 0; i < workers; i++) {
+            Thread.ofPlatform().daemon().name("search-worker-" + i).start(() -> {
+                try {
+                    search.scanLoop();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                done.await();
+            } catch (InterruptedException ignored) {
+            }
+            search.endNanos = System.nanoTime();
+            search.completion.complete(null);
+        });
+        return search;
+    }
+
+    // Pipeline
+
+    private void walk() {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (cancelled) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    if (attrs.isRegularFile() && attrs.size() > 0) {
+                        try {
+                            queue.put(file);                       // blocks when scanners fall behind (bounded memory)
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return FileVisitResult.TERMINATE;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return cancelled ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;    // unreadable entries are skipped
+                }
+            });
+        } catch (IOException ignored) {
+            // Root vanished mid-walk: report what was found
+        } finally {
+            for (int i = 0; i < Math.max(1, options.parallelism()); i++) {
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void scanLoop() {
+        try {
+            while (true) {
+                Path file = queue.take();
+                if (file == END) {
+                    return;
+                }
+                if (!cancelled && isSearchable(file)) {
+                    scanFile(file);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isSearchable(Path file) {            // Any text, UTF-8 or not: known text names, or sniffed content (see FileClassifier).
+        if (service.getClassifier().byName(file.getFileName().toString()) == FileClassifier.Kind.BINARY) {
+            return false;
+        }
+        BasicFileAttributes attrs = service.readAttributes(file);
+        return attrs != null && attrs.isRegularFile() && service.classify(file, attrs) != FileClassifier.Kind.BINARY;
+    }
+
+    private void scanFile(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long line = 1;
+            long start = 0;
+            while (start < size && !cancelled) {
+                MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+                int end = window.limit();
+                if (start + end < size) {
+                    int lastNewline = end - 1;               // cut at a line boundary so no line spans two windows
+                    while (lastNewline > 0 && window.get(lastNewline) != '\n') lastNewline--;
+                    if (lastNewline > 0) end = lastNewline + 1;
+                }
+                line = literal != null ? scanLiteral(file, window, end, line) : scanRegex(file, window, end, line);
+                bytesScanned.addAndGet(end);
+                start += end;
+            }
+            filesScanned.incrementAndGet();
+        } catch (IOException e) {
+            // Unreadable or vanished: skip
+        }
+    }
+
+    // Matching
+
+    private long scanLiteral(Path file, ByteBuffer buf, int end, long line) {     // Horspool search over the mapped bytes; returns the line count at end.
+        int m = literal.length;
+        int counted = 0;                                     // newlines counted up to this offset
+        int pos = 0;
+        while (m > 0 && pos + m <= end && !cancelled) {
+            int j = m - 1;
+            while (j >= 0 && fold(buf.get(pos + j)) == literal[j]) j--;
+            if (j < 0) {
+                line += countNewlines(buf, counted, pos);
+                counted = pos;
+                int lineStart = pos;
+                while (lineStart > 0 && buf.get(lineStart - 1) != '\n') lineStart--;
+                report(file, line, preview(buf, lineStart, end));
+                int next = pos;                              // continue after this line: one result per line
+                while (next < end && buf.get(next) != '\n') next++;
+                pos = next + 1;
+            } else {
+                pos += skip[fold(buf.get(pos + m - 1)) & 0xFF];
+            }
+        }
+        return line + countNewlines(buf, counted, end);
+    }
+
+    private long scanRegex(Path file, ByteBuffer buf, int end, long line) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer text;
+        try {
+            text = decoder.decode(buf.duplicate().limit(end));
+        } catch (IOException e) {
+            return line;
+        }
+        Matcher matcher = pattern.matcher(text);
+        int counted = 0;
+        int from = 0;
+        while (!cancelled && from <= text.length() && matcher.find(from)) {
+            int at = matcher.start();
+            for (int i = counted; i < at; i++) {
+                if (text.charAt(i) == '\n') line++;
+            }
+            counted = at;
+            int lineStart = at;
+            while (lineStart > 0 && text.charAt(lineStart - 1) != '\n') lineStart--;
+            int lineEnd = at;
+            while (lineEnd < text.length() && text.charAt(lineEnd) != '\n') lineEnd++;
+            report(file, line, text.subSequence(lineStart, Math.min(lineEnd, lineStart + PREVIEW_BYTES)).toString().strip());
+            from = lineEnd + 1;
+        }
+        for (int i = counted; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') line++;
+        }
+        return line;
+    }
+
+    private void report(Path file, long line, String preview) {
+        int n = resultCount.incrementAndGet();
+        if (n > options.maxResults()) {
+            cancelled = true;                                // limit reached: stop the walk and the scanners
+            return;
+        }
+        sink.accept(new Match(file, line, preview));
+    }
+
+    private byte[] fold(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) bytes[i] = fold(bytes[i]);
+        return bytes;
+    }
+
+    private byte fold(byte b) {                              // ASCII case folding for case-insensitive literal search
+        return !options.caseSensitive() && b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b;
+    }
+
+    private static int countNewlines(ByteBuffer buf, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            if (buf.get(i) == '\n') n++;
+        }
+        return n;
+    }
+
+    private static String preview(ByteBuffer buf, int lineStart, int end) {
+        int len = 0;
+        while (lineStart + len < end && len < PREVIEW_BYTES && buf.get(lineStart + len) != '\n') len++;
+        byte[] bytes = new byte[len];
+        buf.get(lineStart, bytes);
+        return new String(bytes, StandardCharsets.UTF_8).strip();
+    }
+
+    // Progress / control
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public int getResultCount() {
+        return Math.min(resultCount.get(), options.maxResults());
+    }
+
+    public boolean hitResultLimit() {
+        return resultCount.get() > options.maxResults();
+    }
+
+    public long getFilesScanned() {
+        return filesScanned.get();
+    }
+
+    public long getBytesScanned() {
+        return bytesScanned.get();
+    }
+
+    public double getElapsedSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public String getThroughput() {                           // e.g. "412.3 MB/s, 5120 files/s"
+        double secs = Math.max(getElapsedSeconds(), 1e-3);
+        return String.format("%.1f MB/s, %.0f files/s", getBytesScanned() / secs / (1 << 20), getFilesScanned() / secs);
+    }
+}
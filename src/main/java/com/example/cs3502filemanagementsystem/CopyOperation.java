@@ -0,0 +1,415 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CopyOperation {      // Copies (or moves) files and trees into a directory: transferTo per file, fork/join per directory.
+
+    private static final int MAX_RECORDED_ERRORS = 1000;   // Failures beyond this are only counted
+
+    public enum ConflictPolicy {
+        SKIP,           // leave the existing target alone
+        OVERWRITE,      // replace the existing target (directories are merged)
+        KEEP_BOTH       // copy under a new name: "name (copy).ext", "name (copy 2).ext", ...
+    }
+
+    public record Failure(Path path, IOException error) {
+    }
+
+    private final List<Path> sources;
+    private final Path targetDir;
+    private final boolean move;
+    private final ConflictPolicy policy;
+    private final ForkJoinPool pool;
+    private final List<Path> created = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong bytesCopied = new AtomicLong();
+    private final AtomicLong filesCopied = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private CopyOperation(List<Path> sources, Path targetDir, boolean move, ConflictPolicy policy, int parallelism) {
+        this.sources = List.copyOf(sources);
+        this.targetDir = targetDir;
+        this.move = move;
+        this.policy = policy;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    static CopyOperation create(List<Path> sources, Path targetDir, boolean move, ConflictPolicy policy, int parallelism) {
+        return new CopyOperation(sources, targetDir, move, policy, parallelism);    // copies nothing until run()
+    }
+
+    void run() {                                            // Copies on the calling thread; a no-op if cancelled before starting.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        try {
+            for (Path source : sources) {
+                if (cancelled) {
+                    break;
+                }
+                transferTopLevel(source);
+            }
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        } finally {
+            endNanos = System.nanoTime();
+            pool.shutdown();
+        }
+    }
+
+    // One selected source: resolve the conflict once, then rename (move) or copy the whole tree
+    private void transferTopLevel(Path source) {
+        Path target = targetDir.resolve(source.getFileName());
+        if (targetDir.toAbsolutePath().normalize().startsWith(source.toAbsolutePath().normalize())) {
+            fail(source, new IOException("Cannot copy a folder into itself: " + target));
+            return;
+        }
+        boolean sameFolder = source.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize());
+        if (sameFolder && (move || policy != ConflictPolicy.KEEP_BOTH)) {
+            skippedCount.incrementAndGet();                 // pasted onto itself: only "keep both" makes a copy
+            return;
+        }
+        if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            switch (policy) {
+                case SKIP -> {
+                    skippedCount.incrementAndGet();
+                    return;
+                }
+                case KEEP_BOTH -> target = uniqueName(target);
+                case OVERWRITE -> { }
+            }
+        }
+
+        if (move) {
+            try {
+                if (tryRename(source, target)) {
+                    created.add(target);
+                    return;
+                }
+            } catch (IOException e) {
+                fail(source, e);                            // e.g. permission denied: copying would fail (or half-succeed) too
+                return;
+            }
+        }
+        long failedBefore = failedCount.get();
+        pool.invoke(new CopyTask(source, target));
+        created.add(target);
+        if (move && !cancelled && failedCount.get() == failedBefore) {
+            try {
+                DeleteOperation delete = DeleteOperation.create(source, pool.getParallelism());
+                delete.run();                               // copied everything: now drop the source
+                delete.await();
+            } catch (IOException e) {
+                fail(source, e);
+            }
+        }
+    }
+
+    private boolean tryRename(Path source, Path target) throws IOException {    // Same file system: an atomic rename, no data copied.
+        try {
+            if (policy == ConflictPolicy.OVERWRITE) {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            filesCopied.incrementAndGet();
+            return true;
+        } catch (AtomicMoveNotSupportedException | DirectoryNotEmptyException e) {
+            return false;                                   // across devices (or onto a non-empty folder): copy + delete
+        }
+    }
+
+    // Copies one directory level: files and subdirectories are forked, then the directory's attributes are set once
+    // its contents are in place (writing children would otherwise bump the copied mtime)
+    private class CopyTask extends RecursiveAction {
+        private final Path source;
+        private final Path target;
+
+        CopyTask(Path source, Path target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(source, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                fail(source, e);
+                return;
+            }
+            if (attrs.isSymbolicLink()) {
+                copyLink(source, target);
+                return;
+            }
+            if (!attrs.isDirectory()) {
+                copyFile(source, target, attrs);
+                return;
+            }
+
+            try {
+                if (!Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS)) {
+                    Files.createDirectory(target);
+                }
+            } catch (IOException e) {
+                fail(target, e);
+                return;
+            }
+            List<CopyTask> children = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(source)) {
+                for (Path child : stream) {
+                    if (cancelled) {
+                        break;
+                    }
+                    CopyTask task = new CopyTask(child, target.resolve(child.getFileName().toString()));
+                    task.fork();
+                    children.add(task);
+                }
+            } catch (IOException e) {
+                fail(source, e);
+            } catch (DirectoryIteratorException e) {
+                fail(source, e.getCause());
+            }
+            for (CopyTask task : children) {
+                task.join();
+            }
+            copyAttributes(attrs, source, target);
+        }
+    }
+
+    // Copies into a fresh temp sibling and renames it over the target only once complete: a cancel or error leaves any
+    // existing target as it was, and the rename replaces a symlink itself instead of writing through it
+    private void copyFile(Path source, Path target, BasicFileAttributes attrs) {
+        Path temp;
+        try {
+            temp = Files.createTempFile(target.getParent(), "." + target.getFileName() + ".", ".part");    // O_EXCL
+        } catch (IOException e) {
+            fail(target, e);
+            return;
+        }
+        boolean placed = false;
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                long pos = 0;
+                while (pos < size && !cancelled) {
+                    long n = in.transferTo(pos, size - pos, out);     // copy_file_range/sendfile on Linux: no user-space buffer
+                    if (n <= 0) {
+                        break;                              // source shrank while copying
+                    }
+                    pos += n;
+                    bytesCopied.addAndGet(n);
+                }
+            } catch (IOException e) {
+                fail(source, e);
+                return;
+            }
+            if (cancelled) {
+                return;
+            }
+            copyAttributes(attrs, source, temp);
+            try {
+                if (policy == ConflictPolicy.OVERWRITE) {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    Files.move(temp, target);               // never replaces a file that appeared meanwhile
+                }
+                placed = true;
+            } catch (IOException e) {
+                fail(target, e);
+                return;
+            }
+            filesCopied.incrementAndGet();
+        } finally {
+            if (!placed) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // the copy error (or the cancel) is what gets reported
+                }
+            }
+        }
+    }
+
+    private void copyLink(Path source, Path target) {          // Links are recreated, never followed.
+        try {
+            Files.deleteIfExists(target);
+            Files.createSymbolicLink(target, Files.readSymbolicLink(source));
+            filesCopied.incrementAndGet();
+        } catch (IOException | UnsupportedOperationException e) {
+            fail(source, e instanceof IOException io ? io : new IOException(e.getMessage(), e));
+        }
+    }
+
+    private static void copyAttributes(BasicFileAttributes attrs, Path source, Path target) {    // Times always, POSIX mode bits where supported.
+        try {
+            Files.getFileAttributeView(target, BasicFileAttributeView.class)
+                    .setTimes(attrs.lastModifiedTime(), attrs.lastAccessTime(), null);
+            PosixFileAttributeView posix = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (posix != null) {
+                posix.setPermissions(Files.readAttributes(source, PosixFileAttributes.class).permissions());
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            // The data made it; attributes are best effort
+        }
+    }
+
+    private static Path uniqueName(Path target) {            // "report.txt" -> "report (copy).txt" -> "report (copy 2).txt" ...
+        String name = target.getFileName().toString();
+        int dot = Files.isDirectory(target) ? -1 : name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String ext = dot > 0 ? name.substring(dot) : "";
+        Path candidate = target.resolveSibling(base + " (copy)" + ext);
+        for (int i = 2; Files.exists(candidate, LinkOption.NOFOLLOW_LINKS); i++) {
+            candidate = target.resolveSibling(base + " (copy " + i + ")" + ext);
+        }
+        return candidate;
+    }
+
+    private void fail(Path p, IOException e) {
+        if (failedCount.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+            failures.add(new Failure(p, e));
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {          // never started: nothing to stop, just finish
+            pool.shutdown();
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isMove() {
+        return move;
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public List<Path> getSources() {
+        return sources;
+    }
+
+    public Path getTargetDir() {
+        return targetDir;
+    }
+
+    public List<Path> getCreated() {                          // Top-level paths written in the target folder.
+        synchronized (created) {
+            return new ArrayList<>(created);
+        }
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied.get();
+    }
+
+    public long getFilesCopied() {
+        return filesCopied.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public List<Failure> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0;                                       // still queued
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public String getThroughput() {                           // e.g. "812.4 MB/s, 310 files/s"
+        double secs = Math.max(getElapsedSeconds(), 1e-3);
+        return String.format("%.1f MB/s, %.0f files/s", getBytesCopied() / secs / (1 << 20), getFilesCopied() / secs);
+    }
+
+    public void await() throws IOException {                  // Blocks until done; throws if anything could not be copied.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying to: " + targetDir, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to copy to: " + targetDir, e.getCause());
+        }
+        if (failedCount.get() > 0) {
+            List<Failure> recorded = getFailures();
+            IOException ex = new IOException("Failed to copy " + failedCount.get() + " item(s) to " + targetDir,
+                    recorded.isEmpty() ? null : recorded.get(0).error());
+            for (int i = 1; i < Math.min(recorded.size(), 10); i++) {
+                ex.addSuppressed(recorded.get(i).error());
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DeleteOperation {      // Streaming, post-order recursive delete with a fork/join fan-out per directory (one or many roots).
+
+    private static final int MAX_RECORDED_ERRORS = 1000;   // Failures beyond this are only counted
+
+    public record Failure(Path path, IOException error) {
+    }
+
+    private final List<Path> roots;
+    private final ForkJoinPool pool;
+    private final AtomicLong deletedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+
+    private DeleteOperation(List<Path> roots, int parallelism) {
+        this.roots = List.copyOf(roots);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    static DeleteOperation create(Path root, int parallelism) {           // A handle that deletes nothing until run() (e.g. queued as a job).
+        return new DeleteOperation(List.of(root), parallelism);
+    }
+
+    static DeleteOperation create(List<Path> roots, int parallelism) {    // Several trees in one run: they share the workers, failures are collected together.
+        return new DeleteOperation(roots, parallelism);
+    }
+
+    void run() {                                                          // Deletes on the calling thread; a no-op if cancelled before starting.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pool.invoke(new RecursiveTask<Boolean>() {
+                @Override
+                protected Boolean compute() {
+                    List<DeleteTask> tasks = new ArrayList<>(roots.size());
+                    for (Path root : roots) {
+                        tasks.add(new DeleteTask(root));
+                    }
+                    invokeAll(tasks);
+                    return true;
+                }
+            });
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Deletes one directory level: files inline, subdirectories forked, then the directory itself once empty
+    private class DeleteTask extends RecursiveTask<Boolean> {
+        private final Path path;
+
+        DeleteTask(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        protected Boolean compute() {           // Returns true when everything under (and including) path was deleted.
+            if (cancelled) {
+                return false;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException e) {
+                return true;                    // already gone
+            } catch (IOException e) {
+                fail(path, e);
+                return false;
+            }
+            if (!attrs.isDirectory()) {
+                return deleteOne(path);         // files and symlinks (links are never followed)
+            }
+
+            boolean ok = true;
+            List<DeleteTask> subdirs = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    if (cancelled) {
+                        ok = false;
+                        break;
+                    }
+                    if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        DeleteTask task = new DeleteTask(child);
+                        task.fork();
+                        subdirs.add(task);
+                    } else {
+                        ok &= deleteOne(child);
+                    }
+                }
+            } catch (IOException e) {
+                fail(path, e);
+                ok = false;
+            } catch (DirectoryIteratorException e) {
+                fail(path, e.getCause());
+                ok = false;
+            }
+            for (DeleteTask task : subdirs) {
+                ok &= task.join();
+            }
+            return ok && !cancelled && deleteOne(path);
+        }
+    }
+
+    private boolean deleteOne(Path p) {
+        try {
+            Files.deleteIfExists(p);
+            deletedCount.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            fail(p, e);
+            return false;
+        }
+    }
+
+    private void fail(Path p, IOException e) {
+        if (failedCount.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+            failures.add(new Failure(p, e));
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {          // never started: nothing to stop, just finish
+            pool.shutdown();
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public List<Path> getRoots() {
+        return roots;
+    }
+
+    private String describe() {                          // "foo" or "3 items"
+        return roots.size() == 1 ? roots.get(0).toString() : roots.size() + " items";
+    }
+
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public List<Failure> getFailures() {                // Up to MAX_RECORDED_ERRORS failures, in the order they happened.
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public void await() throws IOException {             // Blocks until done; throws if anything could not be deleted.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while deleting: " + describe(), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to delete: " + describe(), e.getCause());
+        }
+        if (failedCount.get() > 0) {
+            List<Failure> recorded = getFailures();
+            IOException ex = new IOException("Failed to delete " + failedCount.get() + " item(s) under " + describe(),
+                    recorded.isEmpty() ? null : recorded.get(0).error());
+            for (int i = 1; i < Math.min(recorded.size(), 10); i++) {
+                ex.addSuppressed(recorded.get(i).error());
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+class DeltaPatch {      // Writes only the changed byte ranges of a file in place, behind a redo journal.
+
+    private static final int MAGIC = 0x4F574C4A;            // "OWLJ"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;            // magic, version, file size
+    private static final int CHUNK = 1 << 20;
+
+    // Journal layout: magic, version, file size, range count, then (offset, length, bytes) per range, then a CRC32 of
+    // everything before it. The CRC doubles as the commit record: a journal without a valid one was never applied.
+
+    static Path journalFor(Path target) {
+        return target.toAbsolutePath().resolveSibling("." + target.getFileName() + ".journal");
+    }
+
+    static void apply(Path target, SaveOperation.Patch patch, LongConsumer progress) throws IOException {
+        long[] ranges = patch.dirtyRanges();
+        if (ranges.length == 0) {
+            return;                                         // nothing changed
+        }
+        Path journal = writeJournal(target, patch);
+
+        // 2. Replay it onto the target (the same code path recovery uses), then drop the journal
+        replay(target, journal, progress);
+        Files.deleteIfExists(journal);
+    }
+
+    static Path writeJournal(Path target, SaveOperation.Patch patch) throws IOException {    // Step 1: the new bytes, durable before the target is touched.
+        long[] ranges = patch.dirtyRanges();
+        Path journal = journalFor(target);
+        long size = Files.size(target);
+        CRC32 crc = new CRC32();
+        try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(ch), crc), CHUNK));    // flushed, not closed: ch is still needed
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(size);
+            out.writeInt(ranges.length / 2);
+            byte[] buf = new byte[CHUNK];
+            for (int r = 0; r < ranges.length; r += 2) {
+                out.writeLong(ranges[r]);
+                out.writeLong(ranges[r + 1]);
+                for (long done = 0; done < ranges[r + 1]; ) {
+                    int n = (int) Math.min(CHUNK, ranges[r + 1] - done);
+                    patch.read(ranges[r] + done, buf, 0, n);
+                    out.write(buf, 0, n);
+                    done += n;
+                }
+            }
+            out.flush();
+            ByteBuffer commit = ByteBuffer.allocate(Long.BYTES).putLong(0, crc.getValue());
+            while (commit.hasRemaining()) {
+                ch.write(commit);
+            }
+            ch.force(true);
+        }
+        SaveOperation.syncDirectory(journal.getParent());        // the journal must survive a crash to be found again
+        return journal;
+    }
+
+    // Finishes a patch interrupted by a crash; true when one was replayed. A journal that fails to replay is kept,
+    // as it is the only record of the half-written ranges: the error goes to the caller and the next read retries.
+    static boolean recover(Path target) throws IOException {
+        Path journal = journalFor(target);
+        if (!Files.exists(journal)) {
+            return false;
+        }
+        if (!isCommitted(journal, Files.size(target))) {
+            Files.deleteIfExists(journal);                  // crashed while writing the journal: the target was never touched
+            return false;
+        }
+        try {
+            replay(target, journal, n -> { });
+        } catch (IOException e) {
+            throw new IOException("Could not finish an interrupted save of " + target + " (journal kept: " + journal + ")", e);
+        }
+        Files.deleteIfExists(journal);
+        return true;
+    }
+
+    private static boolean isCommitted(Path journal, long targetSize) throws IOException {
+        long length = Files.size(journal);
+        if (length < HEADER_BYTES + Integer.BYTES + Long.BYTES) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        try (BufferedInputStream buffered = new BufferedInputStream(Files.newInputStream(journal), CHUNK)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(buffered, crc));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != targetSize) {
+                return false;
+            }
+            in.skipNBytes(length - Long.BYTES - HEADER_BYTES);    // checksums everything up to the commit record
+            return new DataInputStream(buffered).readLong() == crc.getValue();
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private static void replay(Path target, Path journal, LongConsumer progress) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal), CHUNK));
+             FileChannel ch = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            in.readInt();
+            in.readInt();
+            in.readLong();
+            int count = in.readInt();
+            byte[] buf = new byte[CHUNK];
+            for (int r = 0; r < count; r++) {
+                long offset = in.readLong();
+                long length = in.readLong();
+                for (long done = 0; done < length; ) {
+                    int n = (int) Math.min(CHUNK, length - done);
+                    in.readFully(buf, 0, n);
+                    ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                    long pos = offset + done;
+                    while (bb.hasRemaining()) {
+                        pos += ch.write(bb, pos);           // positional write: the rest of the file is never rewritten
+                    }
+                    done += n;
+                    progress.accept(n);
+                }
+            }
+            ch.force(false);
+        }
+    }
+}
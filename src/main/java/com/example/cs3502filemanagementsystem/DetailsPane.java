@@ -0,0 +1,172 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+public class DetailsPane extends BorderPane {       // Flat details list of one folder; rows exist only for what is on screen.
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    // Read-only list over a DirectoryColumns: item i is the entry index at display position i, computed on demand
+    private static final class EntryList extends ObservableListBase<Integer> {
+        private final DirectoryColumns columns;
+
+        EntryList(DirectoryColumns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public Integer get(int position) {
+            return columns.entryAt(position);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+    }
+
+    private final FileService fileService;
+    private final Consumer<Path> openAction;
+
+    private final TableView<Integer> table = new TableView<>();
+    private final TableColumn<Integer, String> nameColumn = new TableColumn<>("Name");
+    private final TableColumn<Integer, String> sizeColumn = new TableColumn<>("Size");
+    private final TableColumn<Integer, String> modifiedColumn = new TableColumn<>("Modified");
+    private final TextField pathField = new TextField();
+    private final Button btnUp = new Button("Up");
+    private final Label statusLabel = new Label();
+
+    private DirectoryColumns columns;
+    private Job<DirectoryColumns> loading;
+
+    public DetailsPane(FileService fileService, Consumer<Path> openAction) {
+        this.fileService = fileService;
+        this.openAction = openAction;
+
+        nameColumn.setPrefWidth(320);
+        nameColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(displayName(data.getValue())));
+        sizeColumn.setPrefWidth(100);
+        sizeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(columns.isFolder(data.getValue()) ? ""
+                : DiskUsagePane.formatSize(columns.sizeOf(data.getValue()))));
+        modifiedColumn.setPrefWidth(150);
+        modifiedColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(columns.isReadable(data.getValue())
+                ? DATE_FORMAT.format(Instant.ofEpochMilli(columns.modifiedOf(data.getValue()))) : ""));
+        table.getColumns().add(nameColumn);
+        table.getColumns().add(sizeColumn);
+        table.getColumns().add(modifiedColumn);
+        table.setPlaceholder(new Label("Select a folder to list it here"));
+
+        // Header clicks sort the primitive columns in place; the list reads through the new order
+        table.setSortPolicy(t -> {
+            if (columns != null) {
+                TableColumn<Integer, ?> by = table.getSortOrder().isEmpty() ? nameColumn : table.getSortOrder().get(0);
+                DirectoryColumns.SortKey key = by == sizeColumn ? DirectoryColumns.SortKey.SIZE
+                        : by == modifiedColumn ? DirectoryColumns.SortKey.MODIFIED : DirectoryColumns.SortKey.NAME;
+                int selectedPosition = table.getSelectionModel().getSelectedIndex();
+                int selected = selectedPosition >= 0 && selectedPosition < columns.size() ? columns.entryAt(selectedPosition) : -1;
+                columns.sort(key, by.getSortType() == TableColumn.SortType.ASCENDING || table.getSortOrder().isEmpty());
+                table.refresh();
+                if (selected >= 0) {
+                    // The order changed without a list change event, so the selection still holds the old position
+                    int position = columns.positionOfEntry(selected);
+                    table.getSelectionModel().clearAndSelect(position);
+                    table.scrollTo(position);
+                }
+            }
+            return true;
+        });
+
+        table.setOnMouseClicked(e -> {
+            Integer entry = table.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() != 2 || entry == null || columns == null) {
+                return;
+            }
+            if (columns.isFolder(entry)) {
+                show(columns.path(entry));
+            } else {
+                openAction.accept(columns.path(entry));
+            }
+        });
+
+        pathField.setEditable(false);
+        btnUp.setOnAction(e -> {
+            if (columns != null && columns.getDirectory().getParent() != null) {
+                show(columns.getDirectory().getParent());
+            }
+        });
+
+        HBox bar = new HBox(8, btnUp, pathField);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+        HBox.setHgrow(pathField, Priority.ALWAYS);
+        statusLabel.setPadding(new Insets(3, 5, 3, 5));
+
+        setTop(bar);
+        setCenter(table);
+        setBottom(statusLabel);
+    }
+
+    public void show(Path dir) {                        // Lists the folder in the background; the previous listing stays until it is ready.
+        if (dir == null || (columns != null && columns.getDirectory().equals(dir) && loading == null)) {
+            return;
+        }
+        if (loading != null) {
+            loading.cancel();
+        }
+        Job<DirectoryColumns> job = fileService.listColumnsAsync(dir);
+        loading = job;
+        statusLabel.setText("Listing " + dir + "...");
+        long start = System.nanoTime();
+        job.completion().whenComplete((loaded, err) -> Platform.runLater(() -> {
+            if (job != loading) {
+                return;                                 // superseded by a later folder
+            }
+            loading = null;
+            if (err != null) {
+                if (!(err instanceof CancellationException)) {
+                    statusLabel.setText("Cannot list " + dir + ": " + err.getMessage());
+                }
+                return;
+            }
+            Path previous = columns == null ? null : columns.getDirectory();
+            columns = loaded;
+            pathField.setText(dir.toAbsolutePath().toString());
+            table.setItems(new EntryList(loaded));
+            table.sort();                               // re-apply the current sort column to the new folder
+            if (previous != null && dir.equals(previous.getParent())) {
+                int position = loaded.positionOf(previous.getFileName().toString());    // came up a level: keep our place
+                if (position >= 0) {
+                    table.getSelectionModel().select(position);
+                    table.scrollTo(position);
+                }
+            }
+            statusLabel.setText(String.format("%,d item(s), %s in files, listed in %.0f ms", loaded.size(),
+                    DiskUsagePane.formatSize(loaded.totalBytes()), (System.nanoTime() - start) / 1e6));
+        }));
+    }
+
+    private String displayName(int entry) {
+        String name = columns.name(entry);
+        return columns.isFolder(entry) ? name + "/" : name;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.util.Duration;
+
+import java.util.function.Function;
+
+public class DiagnosticsPane extends BorderPane {       // Latency percentiles and I/O volume per operation, FX thread vs background.
+
+    private final OperationMetrics metrics;
+    private final TableView<OperationStats> table = new TableView<>();
+    private final Label summaryLabel = new Label();
+    private final Button btnReset = new Button("Reset");
+
+    public DiagnosticsPane(OperationMetrics metrics) {
+        this.metrics = metrics;
+
+        table.getColumns().add(column("Operation", 170, OperationStats::getName));
+        table.getColumns().add(column("Count", 70, s -> String.format("%,d", s.getCount())));
+        table.getColumns().add(column("Mean", 75, s -> millis(s.getMeanMillis())));
+        table.getColumns().add(column("p50", 75, s -> millis(s.getP50Millis())));
+        table.getColumns().add(column("p90", 75, s -> millis(s.getP90Millis())));
+        table.getColumns().add(column("p99", 75, s -> millis(s.getP99Millis())));
+        table.getColumns().add(column("Max", 75, s -> millis(s.getMaxMillis())));
+        table.getColumns().add(column("FX Thread", 85, s -> millis(s.getFxThreadMillis())));
+        table.getColumns().add(column("Background", 85, s -> millis(s.getBackgroundMillis())));
+        table.getColumns().add(column("Volume", 140, s -> s.getUnit().isEmpty() ? ""
+                : s.getUnit().startsWith("bytes") ? DiskUsagePane.formatSize(s.getAmount()) + " " + s.getUnit().substring(6)
+                : String.format("%,d %s", s.getAmount(), s.getUnit())));
+        table.setPlaceholder(new Label("Nothing measured yet"));
+
+        btnReset.setOnAction(e -> {
+            metrics.reset();
+            refresh();
+        });
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox bar = new HBox(8, summaryLabel, spacer, btnReset);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+
+        setCenter(table);
+        setBottom(bar);
+
+        // Snapshots are cheap (a few hundred atomic reads per operation), but only taken while the tab is on screen
+        Timeline poller = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
+            if (isVisible() && getScene() != null) {
+                refresh();
+            }
+        }));
+        poller.setCycleCount(Timeline.INDEFINITE);
+        poller.play();
+        refresh();
+    }
+
+    private void refresh() {
+        OperationStats selected = table.getSelectionModel().getSelectedItem();
+        table.getItems().setAll(metrics.getOperations());
+        if (selected != null) {
+            table.getItems().stream().filter(s -> s.getName().equals(selected.getName())).findFirst()
+                    .ifPresent(s -> table.getSelectionModel().select(s));
+        }
+        summaryLabel.setText(String.format("Read %s, wrote %s, listed %,d entries; FX thread %.0f ms, background %.0f ms",
+                DiskUsagePane.formatSize(metrics.getBytesRead()), DiskUsagePane.formatSize(metrics.getBytesWritten()),
+                metrics.getEntriesListed(), metrics.getFxThreadMillis(), metrics.getBackgroundMillis()));
+    }
+
+    private static String millis(double ms) {              // 0.042 ms, 3.10 ms, 250 ms
+        return ms < 1 ? String.format("%.3f ms", ms) : ms < 100 ? String.format("%.2f ms", ms) : String.format("%,.0f ms", ms);
+    }
+
+    private static TableColumn<OperationStats, String> column(String title, double width, Function<OperationStats, String> value) {
+        TableColumn<OperationStats, String> col = new TableColumn<>(title);
+        col.setPrefWidth(width);
+        col.setSortable(false);
+        col.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(value.apply(data.getValue())));
+        return col;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DirectoryColumns {      // One directory's entries stored column by column: no object per entry.
+
+    public enum SortKey { NAME, SIZE, MODIFIED }
+
+    static final byte FILE = 0;
+    static final byte FOLDER = 1;
+    static final byte OTHER = 2;                    // unreadable entries, sockets, ...
+
+    @FunctionalInterface
+    private interface IndexComparator {            // Compares entries by index (no boxing)
+        int compare(int a, int b);
+    }
+
+    private final Path directory;
+    private final int count;
+    private final char[] names;                     // every name back to back
+    private final int[] nameStart;                  // entry i's name is names[nameStart[i] .. nameStart[i + 1])
+    private final long[] sizes;
+    private final long[] modified;                  // epoch millis
+    private final byte[] kinds;
+    private volatile int[] order;                   // display position -> entry index
+
+    private DirectoryColumns(Path directory, int count, char[] names, int[] nameStart, long[] sizes, long[] modified, byte[] kinds) {
+        this.directory = directory;
+        this.count = count;
+        this.names = names;
+        this.nameStart = nameStart;
+        this.sizes = sizes;
+        this.modified = modified;
+        this.kinds = kinds;
+        this.order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        sort(SortKey.NAME, true);
+    }
+
+    static DirectoryColumns load(Path directory, FileService fileService, AtomicLong progress) throws IOException {    // Lists and stats every entry once.
+        int n = 0;
+        char[] names = new char[16 * 1024];
+        int nameLength = 0;
+        int[] nameStart = new int[1025];
+        long[] sizes = new long[1024];
+        long[] modified = new long[1024];
+        byte[] kinds = new byte[1024];
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path child : stream) {
+                if (n == sizes.length) {
+                    int capacity = n * 2;
+                    nameStart = Arrays.copyOf(nameStart, capacity + 1);
+                    sizes = Arrays.copyOf(sizes, capacity);
+                    modified = Arrays.copyOf(modified, capacity);
+                    kinds = Arrays.copyOf(kinds, capacity);
+                }
+                String name = child.getFileName().toString();
+                if (nameLength + name.length() > names.length) {
+                    names = Arrays.copyOf(names, Math.max(names.length * 2, nameLength + name.length()));
+                }
+                name.getChars(0, name.length(), names, nameLength);
+                nameStart[n] = nameLength;
+                nameLength += name.length();
+
+                BasicFileAttributes attrs = fileService.readAttributes(child);    // follows links, like the tree
+                if (attrs == null) {
+                    kinds[n] = OTHER;
+                } else {
+                    kinds[n] = attrs.isDirectory() ? FOLDER : attrs.isRegularFile() || attrs.isSymbolicLink() ? FILE : OTHER;
+                    sizes[n] = attrs.isDirectory() ? 0 : attrs.size();
+                    modified[n] = attrs.lastModifiedTime().toMillis();
+                }
+                n++;
+                if (progress != null) {
+                    progress.incrementAndGet();
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            throw e.getCause();
+        }
+        nameStart[n] = nameLength;
+        return new DirectoryColumns(directory, n, Arrays.copyOf(names, nameLength), Arrays.copyOf(nameStart, n + 1),
+                Arrays.copyOf(sizes, n), Arrays.copyOf(modified, n), Arrays.copyOf(kinds, n));
+    }
+
+    // Reading (by display position)
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int entryAt(int position) {              // Entry index shown at a display position.
+        return order[position];
+    }
+
+    public String name(int entry) {
+        return new String(names, nameStart[entry], nameStart[entry + 1] - nameStart[entry]);
+    }
+
+    public Path path(int entry) {
+        return directory.resolve(name(entry));
+    }
+
+    public long sizeOf(int entry) {
+        return sizes[entry];
+    }
+
+    public long modifiedOf(int entry) {
+        return modified[entry];
+    }
+
+    public boolean isFolder(int entry) {
+        return kinds[entry] == FOLDER;
+    }
+
+    public boolean isReadable(int entry) {
+        return kinds[entry] != OTHER;
+    }
+
+    public int positionOf(String name) {            // Display position of the named entry, or -1.
+        int length = name.length();
+        for (int p = 0; p < count; p++) {
+            int start = nameStart[order[p]];
+            if (nameStart[order[p] + 1] - start != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && names[start + i] == name.charAt(i)) {
+                i++;                                    // compared in place: no String per entry
+            }
+            if (i == length) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    public int positionOfEntry(int entry) {         // Display position of an entry index, or -1.
+        int[] current = order;
+        for (int p = 0; p < count; p++) {
+            if (current[p] == entry) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    public long totalBytes() {
+        long total = 0;
+        for (long s : sizes) total += s;
+        return total;
+    }
+
+    // Sorting: folders stay first; the key and direction apply within each group
+
+    public void sort(SortKey key, boolean ascending) {
+        IndexComparator byKey = switch (key) {
+            case NAME -> this::compareNames;
+            case SIZE -> (a, b) -> Long.compare(sizes[a], sizes[b]);
+            case MODIFIED -> (a, b) -> Long.compare(modified[a], modified[b]);
+        };
+        IndexComparator directed = ascending ? byKey : (a, b) -> byKey.compare(b, a);
+        IndexComparator full = (a, b) -> {
+            boolean fa = kinds[a] == FOLDER;
+            boolean fb = kinds[b] == FOLDER;
+            if (fa != fb) return fa ? -1 : 1;
+            int c = directed.compare(a, b);
+            return c != 0 ? c : compareNames(a, b);         // ties (equal sizes/dates) fall back to the name
+        };
+        int[] sorted = order.clone();
+        mergeSort(sorted, new int[count], 0, count, full);
+        order = sorted;                                     // readers on the FX thread see the old or the new order, never a mix
+    }
+
+    private int compareNames(int a, int b) {             // Case-insensitive, like the tree (FileEntry.FOLDERS_FIRST).
+        int i = nameStart[a];
+        int j = nameStart[b];
+        int endA = nameStart[a + 1];
+        int endB = nameStart[b + 1];
+        while (i < endA && j < endB) {
+            char x = names[i++];
+            char y = names[j++];
+            if (x != y) {
+                x = Character.toLowerCase(Character.toUpperCase(x));
+                y = Character.toLowerCase(Character.toUpperCase(y));
+                if (x != y) return x - y;
+            }
+        }
+        return (endA - nameStart[a]) - (endB - nameStart[b]);
+    }
+
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, IndexComparator cmp) {    // Stable, on primitive indices.
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {           // insertion sort for short runs
+                int v = a[i];
+                int j = i - 1;
+                while (j >= from && cmp.compare(a[j], v) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, cmp);
+        mergeSort(a, tmp, mid, to, cmp);
+        if (cmp.compare(a[mid - 1], a[mid]) <= 0) {
+            return;                                         // already in order
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && cmp.compare(tmp[i], tmp[j]) <= 0)) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.application.Platform;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class DirectoryWatcher implements Closeable {      // Watches expanded directories and applies changes to their tree nodes incrementally.
+
+    private static final long DEBOUNCE_MILLIS = 150;    // Events arriving within this window are applied as one batch
+
+    private final FileService service;
+    private final WatchService watchService;
+    private final Map<WatchKey, FileTreeItem> itemsByKey = new ConcurrentHashMap<>();
+    private final Map<FileTreeItem, WatchKey> keysByItem = new ConcurrentHashMap<>();
+    private final Map<Path, FileTreeItem> itemsByPath = new ConcurrentHashMap<>();
+
+    // Changes collected for one directory during a debounce window
+    private static class Batch {
+        final Set<Path> touched = new HashSet<>();
+        boolean overflow;
+    }
+
+    DirectoryWatcher(FileService service) throws IOException {
+        this.service = service;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Thread.ofVirtual().name("directory-watcher").start(this::run);
+    }
+
+    // Registration (FX thread)
+
+    boolean register(FileTreeItem item) {
+        if (keysByItem.containsKey(item)) {
+            return true;
+        }
+        try {
+            WatchKey key = item.getValue().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            itemsByKey.put(key, item);
+            keysByItem.put(item, key);
+            itemsByPath.put(item.getValue(), item);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;                                 // e.g. watch limit reached or a non-default file system
+        }
+    }
+
+    void unregister(FileTreeItem item) {
+        WatchKey key = keysByItem.remove(item);
+        if (key != null) {
+            key.cancel();
+            itemsByKey.remove(key);
+            itemsByPath.remove(item.getValue(), item);
+        }
+    }
+
+    FileTreeItem itemFor(Path dir) {                     // Watched (expanded, loaded) node for a directory, or null.
+        return itemsByPath.get(dir);
+    }
+
+    // Event loop
+
+    private void run() {
+        try {
+            while (true) {
+                Map<FileTreeItem, Batch> batches = new HashMap<>();
+                collect(watchService.take(), batches);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEBOUNCE_MILLIS);
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    collect(key, batches);
+                }
+                for (Map.Entry<FileTreeItem, Batch> e : batches.entrySet()) {
+                    apply(e.getKey(), e.getValue());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher closed
+        }
+    }
+
+    private void collect(WatchKey key, Map<FileTreeItem, Batch> batches) {
+        FileTreeItem item = itemsByKey.get(key);
+        List<WatchEvent<?>> events = key.pollEvents();
+        if (!key.reset()) {
+            itemsByKey.remove(key);                     // directory itself is gone; its parent will report the delete
+            if (item != null) {
+                keysByItem.remove(item, key);
+                itemsByPath.remove(item.getValue(), item);
+            }
+            return;
+        }
+        if (item == null) {
+            return;
+        }
+        Batch batch = batches.computeIfAbsent(item, k -> new Batch());
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                batch.overflow = true;
+            } else {
+                batch.touched.add(item.getValue().resolve((Path) event.context()));
+            }
+        }
+    }
+
+    private void apply(FileTreeItem item, Batch batch) {     // Stats touched entries off the FX thread, then posts one update per directory.
+        Path dir = item.getValue();
+        service.invalidateIndex(dir);
+        if (batch.overflow) {
+            List<FileEntry> fresh = service.listSortedChildren(dir);    // events were lost: re-list just this directory
+            Platform.runLater(() -> item.mergeChildren(fresh));
+            return;
+        }
+        // The final state decides: whatever still exists is inserted/updated, whatever doesn't is removed
+        List<FileEntry> upserts = new ArrayList<>();
+        Set<Path> removed = new HashSet<>();
+        for (Path p : batch.touched) {
+            BasicFileAttributes attrs = service.readAttributes(p);
+            if (attrs == null) {
+                removed.add(p);
+            } else {
+                upserts.add(new FileEntry(p, attrs));
+            }
+        }
+        upserts.sort(FileEntry.FOLDERS_FIRST);
+        Platform.runLater(() -> item.applyChanges(upserts, removed));
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
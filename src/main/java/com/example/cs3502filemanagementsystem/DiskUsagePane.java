@@ -0,0 +1,280 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class DiskUsagePane extends BorderPane {       // Folder sizes as a sortable tree; totals fill in while the scan is running.
+
+    // A folder, or the summary row for the files directly inside it
+    private record Row(DiskUsageScan.Node node, boolean filesOnly) {
+        long bytes() {
+            return filesOnly ? node.getFileBytes() : node.getBytes();
+        }
+    }
+
+    private final FileService fileService;
+    private final Supplier<Path> folderSupplier;
+    private final Consumer<Path> showAction;
+
+    private final TreeTableView<Row> table = new TreeTableView<>();
+    private final TreeTableColumn<Row, Long> sizeColumn = new TreeTableColumn<>("Size");
+    private final Button btnScan = new Button("Scan");
+    private final Button btnRescan = new Button("Full Rescan");
+    private final Button btnCancel = new Button("Cancel");
+    private final Label statusLabel = new Label("Scan a folder to see what is using the space.");
+
+    private DiskUsageScan current;
+    private Timeline poller;
+
+    public DiskUsagePane(FileService fileService, Supplier<Path> folderSupplier, Consumer<Path> showAction) {
+        this.fileService = fileService;
+        this.folderSupplier = folderSupplier;
+        this.showAction = showAction;
+
+        TreeTableColumn<Row, String> nameColumn = new TreeTableColumn<>("Name");
+        nameColumn.setPrefWidth(300);
+        nameColumn.setSortable(false);
+        nameColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(nameOf(data.getValue().getValue())));
+
+        sizeColumn.setPrefWidth(100);
+        sizeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getValue().bytes()));
+        sizeColumn.setCellFactory(c -> new TreeTableCell<>() {
+            @Override
+            protected void updateItem(Long bytes, boolean empty) {
+                super.updateItem(bytes, empty);
+                setText(empty || bytes == null ? null : formatSize(bytes));
+            }
+        });
+        sizeColumn.setSortType(TreeTableColumn.SortType.DESCENDING);
+
+        TreeTableColumn<Row, Double> shareColumn = new TreeTableColumn<>("% of Parent");
+        shareColumn.setPrefWidth(120);
+        shareColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(shareOf(data.getValue())));
+        shareColumn.setCellFactory(c -> new TreeTableCell<>() {
+            private final ProgressBar bar = new ProgressBar();
+
+            @Override
+            protected void updateItem(Double share, boolean empty) {
+                super.updateItem(share, empty);
+                if (empty || share == null) {
+                    setGraphic(null);
+                } else {
+                    bar.setProgress(share);
+                    bar.setMaxWidth(Double.MAX_VALUE);
+                    setGraphic(bar);
+                }
+            }
+        });
+
+        TreeTableColumn<Row, Long> filesColumn = new TreeTableColumn<>("Files");
+        filesColumn.setPrefWidth(90);
+        filesColumn.setCellValueFactory(data -> {
+            Row row = data.getValue().getValue();
+            return new ReadOnlyObjectWrapper<>(row.filesOnly() ? row.node().getFileCount() : row.node().getFiles());
+        });
+
+        TreeTableColumn<Row, Long> foldersColumn = new TreeTableColumn<>("Folders");
+        foldersColumn.setPrefWidth(90);
+        foldersColumn.setCellValueFactory(data -> {
+            Row row = data.getValue().getValue();
+            return new ReadOnlyObjectWrapper<>(row.filesOnly() ? 0L : row.node().getFolders());
+        });
+
+        table.getColumns().addAll(List.of(nameColumn, sizeColumn, shareColumn, filesColumn, foldersColumn));
+        table.getSortOrder().add(sizeColumn);
+        table.setPlaceholder(new Label("No scan yet"));
+        table.setOnMouseClicked(e -> {
+            TreeItem<Row> item = table.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && item != null) {
+                showAction.accept(item.getValue().node().getPath());
+            }
+        });
+
+        btnScan.setOnAction(e -> startScan(true));
+        btnRescan.setOnAction(e -> startScan(false));
+        btnCancel.setOnAction(e -> {
+            if (current != null) {
+                current.cancel();
+            }
+        });
+        btnCancel.setDisable(true);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox bar = new HBox(8, statusLabel, spacer, btnScan, btnRescan, btnCancel);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+
+        setCenter(table);
+        setBottom(bar);
+    }
+
+    private void startScan(boolean useCache) {            // Scans the selected folder (folders unchanged since the last scan are not re-listed).
+        Path folder = folderSupplier.get();
+        if (folder == null) {
+            return;
+        }
+        if (current != null) {
+            current.cancel();
+            poller.stop();
+        }
+        DiskUsageScan scan;
+        try {
+            scan = fileService.diskUsageAsync(folder, useCache);
+        } catch (IOException ex) {
+            statusLabel.setText("Cannot scan " + folder + ": " + ex.getMessage());
+            return;
+        }
+        current = scan;
+        UsageItem rootItem = new UsageItem(new Row(scan.getRoot(), false));
+        rootItem.setExpanded(true);
+        table.setRoot(rootItem);
+        btnCancel.setDisable(false);
+
+        // Sizes change on scanner threads; the visible rows are synced and re-sorted a few times a second
+        poller = new Timeline(new KeyFrame(Duration.millis(250), e -> update(scan, "Scanning")));
+        poller.setCycleCount(Timeline.INDEFINITE);
+        poller.play();
+
+        scan.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            if (scan != current) {
+                return;
+            }
+            poller.stop();
+            btnCancel.setDisable(true);
+            update(scan, err != null ? "Failed" : scan.isCancelled() ? "Cancelled" : "Done");
+        }));
+    }
+
+    private void update(DiskUsageScan scan, String state) {
+        if (table.getRoot() instanceof UsageItem root) {
+            root.syncExpanded();
+        }
+        table.sort();
+        table.refresh();
+        DiskUsageScan.Node root = scan.getRoot();
+        statusLabel.setText(!scan.isStarted() ? "Queued behind other operations..."
+                : String.format("%s: %s in %,d file(s), %,d folder(s) scanned in %.1f s", state, formatSize(root.getBytes()),
+                        root.getFiles(), scan.getFoldersScanned(), scan.getElapsedSeconds())
+                + (scan.getCacheHits() > 0 ? ", " + scan.getCacheHits() + " unchanged since the last scan" : "")
+                + (scan.getFailedCount() > 0 ? ", " + scan.getFailedCount() + " unreadable" : ""));
+    }
+
+    // Tree rows: children are created when a row is first expanded and topped up while the scan adds folders
+
+    private static final class UsageItem extends TreeItem<Row> {
+        private boolean built;
+        private int shownFolders;
+        private boolean filesRowShown;
+
+        UsageItem(Row row) {
+            super(row);
+            expandedProperty().addListener((obs, was, expanded) -> {
+                if (expanded) {
+                    sync();
+                }
+            });
+        }
+
+        @Override
+        public boolean isLeaf() {
+            Row row = getValue();
+            DiskUsageScan.Node node = row.node();
+            return row.filesOnly() || (node.isComplete() && node.getFolders() == 0 && node.getFileCount() == 0);
+        }
+
+        @Override
+        public ObservableList<TreeItem<Row>> getChildren() {
+            if (!built) {
+                built = true;
+                sync();
+            }
+            return super.getChildren();
+        }
+
+        private void sync() {                               // Adds rows for folders (and the files row) the scan found since the last call.
+            Row row = getValue();
+            if (row.filesOnly()) {
+                return;
+            }
+            built = true;
+            List<DiskUsageScan.Node> folders = row.node().getChildren();
+            ObservableList<TreeItem<Row>> children = super.getChildren();
+            for (int i = shownFolders; i < folders.size(); i++) {
+                children.add(new UsageItem(new Row(folders.get(i), false)));
+            }
+            shownFolders = folders.size();
+            if (!filesRowShown && row.node().getFileCount() > 0) {
+                children.add(new UsageItem(new Row(row.node(), true)));
+                filesRowShown = true;
+            }
+        }
+
+        void syncExpanded() {
+            if (!isExpanded() || !built) {
+                return;
+            }
+            sync();
+            for (TreeItem<Row> child : super.getChildren()) {
+                ((UsageItem) child).syncExpanded();
+            }
+        }
+    }
+
+    // Formatting
+
+    private static String nameOf(Row row) {
+        if (row.filesOnly()) {
+            return "(" + row.node().getFileCount() + " file(s) in this folder)";
+        }
+        Path name = row.node().getPath().getFileName();
+        return name == null ? row.node().getPath().toString() : name.toString();
+    }
+
+    private static Double shareOf(TreeItem<Row> item) {
+        TreeItem<Row> parent = item.getParent();
+        if (parent == null) {
+            return 1.0;
+        }
+        long total = parent.getValue().bytes();
+        return total == 0 ? 0.0 : (double) item.getValue().bytes() / total;
+    }
+
+    static String formatSize(long bytes) {                // 1023 B, 1.5 KB, 12.3 MB, 4.0 GB ...
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB", "PB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
+    }
+
+}
@@ -0,0 +1,287 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DiskUsageScan {      // Recursive folder sizes with a fork/join walk; totals grow while the scan runs.
+
+    // What a directory held the last time it was listed. While its mtime is unchanged, no entries were added,
+    // removed or renamed, so the listing and the file stats are skipped and only its subfolders are visited
+    // (files rewritten in place by other programs keep the directory mtime: a full rescan picks those up).
+    record CachedDirectory(long mtime, long fileBytes, long fileCount, List<String> subdirs) {
+    }
+
+    public static final class Node {                      // One folder; totals cover its whole subtree and grow as it is scanned.
+        private final Path path;
+        private final Node parent;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong files = new AtomicLong();
+        private final AtomicLong folders = new AtomicLong();
+        private final List<Node> children = new ArrayList<>();    // guarded by itself
+        private volatile long fileBytes;                    // files directly inside (not in subfolders)
+        private volatile long fileCount;
+        private volatile boolean complete;
+
+        Node(Path path, Node parent) {
+            this.path = path;
+            this.parent = parent;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getFiles() {
+            return files.get();
+        }
+
+        public long getFolders() {
+            return folders.get();
+        }
+
+        public long getFileBytes() {
+            return fileBytes;
+        }
+
+        public long getFileCount() {
+            return fileCount;
+        }
+
+        public boolean isComplete() {                      // True once every folder below it has been scanned.
+            return complete;
+        }
+
+        public List<Node> getChildren() {                  // Snapshot; grows while the scan runs.
+            synchronized (children) {
+                return new ArrayList<>(children);
+            }
+        }
+
+        private void add(long bytes, long files, long folders) {    // Credits this folder and every ancestor.
+            for (Node n = this; n != null; n = n.parent) {
+                n.bytes.addAndGet(bytes);
+                n.files.addAndGet(files);
+                n.folders.addAndGet(folders);
+            }
+        }
+    }
+
+    private final Node root;
+    private final Map<Path, CachedDirectory> cache;
+    private final ForkJoinPool pool;
+    private final AtomicLong foldersScanned = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private DiskUsageScan(Path root, Map<Path, CachedDirectory> cache, int parallelism) {
+        this.root = new Node(root, null);
+        this.cache = cache;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    static DiskUsageScan create(Path root, Map<Path, CachedDirectory> cache, int parallelism) {    // Scans nothing until run().
+        return new DiskUsageScan(root, cache, parallelism);
+    }
+
+    void run() {                                            // Scans on the calling thread; a no-op if cancelled before starting.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        try {
+            pool.invoke(new ScanTask(root));
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        } finally {
+            endNanos = System.nanoTime();
+            pool.shutdown();
+        }
+    }
+
+    // Scans one folder: its files are summed inline (or taken from the cache), subfolders are forked
+    private class ScanTask extends RecursiveAction {
+        private final Node node;
+
+        ScanTask(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            Path dir = node.path;
+            BasicFileAttributes dirAttrs;
+            try {
+                dirAttrs = Files.readAttributes(dir, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                failedCount.incrementAndGet();
+                return;
+            }
+            long mtime = dirAttrs.lastModifiedTime().toMillis();
+            CachedDirectory listing = cache.get(dir);
+            if (listing != null && listing.mtime() == mtime) {
+                cacheHits.incrementAndGet();
+            } else {
+                listing = list(dir, mtime);
+                if (listing == null) {
+                    return;
+                }
+                cache.put(dir, listing);
+            }
+            foldersScanned.incrementAndGet();
+            node.fileBytes = listing.fileBytes();
+            node.fileCount = listing.fileCount();
+            node.add(listing.fileBytes(), listing.fileCount(), 0);
+
+            List<ScanTask> subtasks = new ArrayList<>(listing.subdirs().size());
+            for (String name : listing.subdirs()) {
+                if (cancelled) {
+                    break;
+                }
+                Node child = new Node(dir.resolve(name), node);
+                synchronized (node.children) {
+                    node.children.add(child);
+                }
+                node.add(0, 0, 1);
+                ScanTask task = new ScanTask(child);
+                task.fork();
+                subtasks.add(task);
+            }
+            for (ScanTask task : subtasks) {
+                task.join();
+            }
+            node.complete = !cancelled;
+        }
+
+        private CachedDirectory list(Path dir, long mtime) {
+            long bytes = 0;
+            long count = 0;
+            List<String> subdirs = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path child : stream) {
+                    if (cancelled) {
+                        return null;                        // never cache a partial listing
+                    }
+                    BasicFileAttributes attrs;
+                    try {
+                        attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        failedCount.incrementAndGet();
+                        continue;
+                    }
+                    if (attrs.isDirectory()) {
+                        subdirs.add(child.getFileName().toString());
+                    } else {
+                        bytes += attrs.size();              // links count as themselves, never their targets
+                        count++;
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                failedCount.incrementAndGet();              // unreadable folder: counted as failed, shown as empty
+                return null;
+            }
+            return new CachedDirectory(mtime, bytes, count, List.copyOf(subdirs));
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {          // never started: nothing to stop, just finish
+            pool.shutdown();
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public long getFoldersScanned() {
+        return foldersScanned.get();
+    }
+
+    public long getCacheHits() {                            // Folders whose listing came from the cache (unchanged mtime).
+        return cacheHits.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0;                                       // still queued
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public void await() throws IOException {                // Blocks until the scan finishes (unreadable entries are only counted).
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scanning: " + root.path, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to scan: " + root.path, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+public class DuplicateScan {      // Finds identical files in stages: same size, then same head/tail hash, then same full SHA-256.
+
+    private static final int MAX_RECORDED_ERRORS = 1000;   // Failures beyond this are only counted
+    private static final int EDGE_BYTES = 64 * 1024;       // hashed at each end of a file for the partial hash
+    private static final long MAP_WINDOW = 64L << 20;      // full hashes read the file through mapped windows of this size
+
+    public enum Stage { QUEUED, WALKING, HASHING, DONE }
+
+    public record Group(long size, List<Path> files) {      // Two or more files with identical content.
+        public long wastedBytes() {                          // Space freed by keeping only one copy.
+            return size * (files.size() - 1);
+        }
+    }
+
+    public record Failure(Path path, IOException error) {
+    }
+
+    // Every regular file of the walk, as parallel arrays (ids index into them)
+    private final List<Path> paths = new ArrayList<>();
+    private long[] sizes = new long[1024];
+    private long[] mtimes = new long[1024];
+
+    private final Path root;
+    private final long minSize;
+    private final HashCache cache;
+    private final Consumer<Group> sink;
+    private final ForkJoinPool pool;
+    private volatile Stage stage = Stage.QUEUED;
+    private final AtomicLong filesSeen = new AtomicLong();
+    private final AtomicLong sizeCandidates = new AtomicLong();
+    private final AtomicLong partialCandidates = new AtomicLong();
+    private final AtomicLong bytesHashed = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong groupsFound = new AtomicLong();
+    private final AtomicLong duplicateFiles = new AtomicLong();
+    private final AtomicLong wastedBytes = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private DuplicateScan(Path root, long minSize, HashCache cache, int parallelism, Consumer<Group> sink) {
+        this.root = root;
+        this.minSize = Math.max(1, minSize);                // empty files are all "identical": never worth listing
+        this.cache = cache;
+        this.sink = sink;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    // Groups go to the sink (on pool threads) as soon as they are confirmed, biggest files first
+    static DuplicateScan create(Path root, long minSize, HashCache cache, int parallelism, Consumer<Group> sink) {    // Scans nothing until run().
+        return new DuplicateScan(root, minSize, cache, parallelism, sink);
+    }
+
+    void run() {                                            // Walks on the calling thread, hashes on the pool; a no-op if cancelled before starting.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        try {
+            stage = Stage.WALKING;
+            walk();
+            stage = Stage.HASHING;
+            List<int[]> bySize = groupBySize();
+            List<GroupTask> tasks = new ArrayList<>(bySize.size());
+            for (int[] ids : bySize) {
+                tasks.add(new GroupTask(ids));
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+            if (!cancelled && failedCount.get() == 0) {
+                cache.retainOnly(paths, minSize);           // a complete walk: forget hashes of files that are gone
+            }
+            completion.complete(null);
+        } catch (IOException e) {
+            fail(root, e);
+            completion.complete(null);
+        } catch (Throwable e) {                             // also Errors, e.g. hashing a mapped file that was truncated meanwhile
+            completion.completeExceptionally(e);
+        } finally {
+            stage = Stage.DONE;
+            endNanos = System.nanoTime();
+            pool.shutdown();
+        }
+    }
+
+    private void walk() throws IOException {
+        Set<Object> fileKeys = new HashSet<>();             // hard links share one key: they are the same file, not copies
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {                    // links are not followed
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (cancelled) {
+                    return FileVisitResult.TERMINATE;
+                }
+                filesSeen.incrementAndGet();
+                if (!attrs.isRegularFile() || attrs.size() < minSize
+                        || (attrs.fileKey() != null && !fileKeys.add(attrs.fileKey()))) {
+                    return FileVisitResult.CONTINUE;
+                }
+                int id = paths.size();
+                if (id == sizes.length) {
+                    sizes = Arrays.copyOf(sizes, id * 2);
+                    mtimes = Arrays.copyOf(mtimes, id * 2);
+                }
+                paths.add(file);
+                sizes[id] = attrs.size();
+                mtimes[id] = attrs.lastModifiedTime().toMillis();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                fail(file, e);
+                return cancelled ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Stage 1: only sizes shared by two or more files survive. Two passes over a primitive map: count per size,
+    // then hand out one bucket per shared size
+    private List<int[]> groupBySize() {
+        int n = paths.size();
+        LongIntMap counts = new LongIntMap(n);
+        for (int id = 0; id < n; id++) {
+            counts.add(sizes[id], 1);
+        }
+        LongIntMap slots = new LongIntMap(n);            // size -> bucket index + 1 (0 is "no bucket yet")
+        List<int[]> buckets = new ArrayList<>();
+        int[] filled = new int[16];
+        for (int id = 0; id < n; id++) {
+            int count = counts.get(sizes[id]);
+            if (count < 2) {
+                continue;
+            }
+            int slot = slots.get(sizes[id]) - 1;
+            if (slot < 0) {
+                slot = buckets.size();
+                slots.add(sizes[id], slot + 1);
+                buckets.add(new int[count]);
+                if (slot == filled.length) {
+                    filled = Arrays.copyOf(filled, slot * 2);
+                }
+            }
+            buckets.get(slot)[filled[slot]++] = id;
+        }
+        sizeCandidates.set(buckets.stream().mapToLong(b -> b.length).sum());
+        buckets.sort((a, b) -> Long.compare(sizes[b[0]], sizes[a[0]]));    // largest first: the biggest savings show up first
+        return buckets;
+    }
+
+    // Stages 2 and 3 for one size: partial hashes split the bucket, full hashes confirm what is left
+    private class GroupTask extends RecursiveAction {
+        private final int[] ids;
+
+        GroupTask(int[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            long size = sizes[ids[0]];
+            long[] partial = new long[ids.length];
+            byte[][] full = new byte[ids.length][];
+            boolean[] ok = new boolean[ids.length];
+            for (int i = 0; i < ids.length && !cancelled; i++) {
+                ok[i] = hashPartial(ids[i], partial, full, i);
+            }
+            Map<Long, List<Integer>> byPartial = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (ok[i]) {
+                    byPartial.computeIfAbsent(partial[i], k -> new ArrayList<>()).add(i);
+                }
+            }
+            for (List<Integer> same : byPartial.values()) {
+                if (same.size() < 2 || cancelled) {
+                    continue;
+                }
+                partialCandidates.addAndGet(same.size());
+                List<RecursiveAction> hashes = new ArrayList<>();
+                for (int i : same) {
+                    if (full[i] == null) {
+                        hashes.add(new RecursiveAction() {
+                            @Override
+                            protected void compute() {
+                                full[i] = hashFull(ids[i], partial[i]);
+                            }
+                        });
+                    }
+                }
+                invokeAll(hashes);                          // members of a big bucket are hashed in parallel too
+                Map<ByteBuffer, List<Path>> byContent = new HashMap<>();       // ByteBuffer compares by content
+                for (int i : same) {
+                    if (full[i] != null) {
+                        byContent.computeIfAbsent(ByteBuffer.wrap(full[i]), k -> new ArrayList<>()).add(paths.get(ids[i]));
+                    }
+                }
+                for (List<Path> identical : byContent.values()) {
+                    if (identical.size() >= 2 && !cancelled) {
+                        identical.sort(null);
+                        Group group = new Group(size, List.copyOf(identical));
+                        groupsFound.incrementAndGet();
+                        duplicateFiles.addAndGet(identical.size() - 1);
+                        wastedBytes.addAndGet(group.wastedBytes());
+                        sink.accept(group);
+                    }
+                }
+            }
+        }
+    }
+
+    // Files up to two edges long are read whole: the partial hash would cover them anyway, so the full hash comes for free
+    private boolean hashPartial(int id, long[] partial, byte[][] full, int i) {
+        Path file = paths.get(id);
+        HashCache.Hashes known = cache.get(file, sizes[id], mtimes[id]);
+        if (known != null) {
+            cacheHits.incrementAndGet();
+            partial[i] = known.partial();
+            full[i] = known.full();
+            return true;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = sizes[id];
+            if (size <= 2L * EDGE_BYTES) {
+                ByteBuffer all = ByteBuffer.allocate((int) size);
+                readFully(ch, all, 0);
+                MessageDigest md = newDigest();
+                md.update(all.flip());
+                byte[] digest = md.digest();
+                partial[i] = ByteBuffer.wrap(digest).getLong();
+                full[i] = digest;
+            } else {
+                ByteBuffer edge = ByteBuffer.allocate(EDGE_BYTES);
+                CRC32C crc = new CRC32C();
+                readFully(ch, edge, 0);
+                crc.update(edge.flip());
+                long head = crc.getValue();
+                crc.reset();
+                readFully(ch, edge.clear(), size - EDGE_BYTES);
+                crc.update(edge.flip());
+                partial[i] = head << 32 | crc.getValue();
+            }
+            bytesHashed.addAndGet(Math.min(size, 2L * EDGE_BYTES));
+            cache.put(file, new HashCache.Hashes(sizes[id], mtimes[id], partial[i], full[i]));
+            return true;
+        } catch (IOException e) {
+            fail(file, e);
+            return false;
+        }
+    }
+
+    private byte[] hashFull(int id, long partial) {          // SHA-256 of the whole file, read through mapped windows (no copies into the heap).
+        Path file = paths.get(id);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest md = newDigest();
+            long size = sizes[id];
+            for (long pos = 0; pos < size && !cancelled; pos += MAP_WINDOW) {
+                MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW, size - pos));
+                md.update(window);
+                bytesHashed.addAndGet(window.capacity());
+            }
+            if (cancelled) {
+                return null;
+            }
+            byte[] digest = md.digest();
+            cache.put(file, new HashCache.Hashes(size, mtimes[id], partial, digest));
+            return digest;
+        } catch (IOException e) {
+            fail(file, e);
+            return null;
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = ch.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("File shrank while hashing");
+            }
+            position += n;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);             // every JDK ships SHA-256
+        }
+    }
+
+    private void fail(Path p, IOException e) {
+        if (failedCount.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+            failures.add(new Failure(p, e));
+        }
+    }
+
+    // Open-addressing long -> int map (keys are file sizes, never 0), so a million sizes cost two arrays, not a million boxes
+    private static final class LongIntMap {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;    // load factor <= 0.5
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private int slot(long key) {
+            int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        void add(long key, int delta) {
+            int i = slot(key);
+            keys[i] = key;
+            values[i] += delta;
+        }
+
+        int get(long key) {                                  // The value, or 0 if absent.
+            int i = slot(key);
+            return keys[i] == key ? values[i] : 0;
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {          // never started: nothing to stop, just finish
+            pool.shutdown();
+            stage = Stage.DONE;
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public long getFilesSeen() {                             // Files walked so far (every kind and size).
+        return filesSeen.get();
+    }
+
+    public long getSizeCandidates() {                        // Files sharing their size with another file.
+        return sizeCandidates.get();
+    }
+
+    public long getPartialCandidates() {                     // Files also sharing their head/tail hash (fully hashed).
+        return partialCandidates.get();
+    }
+
+    public long getBytesHashed() {
+        return bytesHashed.get();
+    }
+
+    public long getCacheHits() {                             // Files whose hashes came from the cache instead of the disk.
+        return cacheHits.get();
+    }
+
+    public long getGroupsFound() {
+        return groupsFound.get();
+    }
+
+    public long getDuplicateFiles() {                        // Redundant copies (every group's files minus one).
+        return duplicateFiles.get();
+    }
+
+    public long getWastedBytes() {
+        return wastedBytes.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public List<Failure> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0;                                       // still queued
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public void await() throws IOException {                  // Blocks until done; throws if some files could not be read.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while looking for duplicates in: " + root, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Duplicate scan failed: " + root, e.getCause());
+        }
+        if (failedCount.get() > 0) {
+            List<Failure> recorded = getFailures();
+            IOException ex = new IOException("Could not read " + failedCount.get() + " item(s) under " + root,
+                    recorded.isEmpty() ? null : recorded.get(0).error());
+            for (int i = 1; i < Math.min(recorded.size(), 10); i++) {
+                ex.addSuppressed(recorded.get(i).error());
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class DuplicatesPane extends BorderPane {       // Groups of identical files under the root, added as the scan confirms them.
+
+    private static final List<Long> MIN_SIZES = List.of(1L, 4L << 10, 1L << 20, 16L << 20, 128L << 20);
+
+    // A group of identical files, or one file of it
+    private record Row(DuplicateScan.Group group, Path file) {
+        Long wasted() {                                     // Only shown on the group row.
+            return file == null ? group.wastedBytes() : null;
+        }
+    }
+
+    private final FileService fileService;
+    private final Supplier<Path> rootSupplier;
+    private final Consumer<Path> showAction;
+
+    private final TreeTableView<Row> table = new TreeTableView<>();
+    private final TreeTableColumn<Row, Long> wastedColumn = new TreeTableColumn<>("Wasted");
+    private final ChoiceBox<Long> minSizeBox = new ChoiceBox<>();
+    private final Button btnFind = new Button("Find Duplicates");
+    private final Button btnCancel = new Button("Cancel");
+    private final Label statusLabel = new Label("Find files with identical content under the current root.");
+
+    private DuplicateScan current;
+    private Path currentRoot;
+    private Timeline poller;
+
+    // Groups arrive on scanner threads and are handed to the table in one runLater per frame
+    private final List<DuplicateScan.Group> pending = new ArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public DuplicatesPane(FileService fileService, Supplier<Path> rootSupplier, Consumer<Path> showAction) {
+        this.fileService = fileService;
+        this.rootSupplier = rootSupplier;
+        this.showAction = showAction;
+
+        TreeTableColumn<Row, String> nameColumn = new TreeTableColumn<>("Name");
+        nameColumn.setPrefWidth(420);
+        nameColumn.setSortable(false);
+        nameColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(nameOf(data.getValue().getValue())));
+
+        TreeTableColumn<Row, Long> sizeColumn = new TreeTableColumn<>("Size");
+        sizeColumn.setPrefWidth(100);
+        sizeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getValue().group().size()));
+        sizeColumn.setCellFactory(c -> sizeCell());
+
+        wastedColumn.setPrefWidth(100);
+        wastedColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getValue().wasted()));
+        wastedColumn.setCellFactory(c -> sizeCell());
+        wastedColumn.setSortType(TreeTableColumn.SortType.DESCENDING);
+
+        table.getColumns().addAll(List.of(nameColumn, sizeColumn, wastedColumn));
+        table.getSortOrder().add(wastedColumn);
+        table.setShowRoot(false);
+        table.setPlaceholder(new Label("No duplicates found yet"));
+        table.setOnMouseClicked(e -> {
+            TreeItem<Row> item = table.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && item != null && item.getValue().file() != null) {
+                showAction.accept(item.getValue().file());
+            }
+        });
+
+        minSizeBox.getItems().addAll(MIN_SIZES);
+        minSizeBox.setValue(4L << 10);
+        minSizeBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Long size) {
+                return size == null ? "" : size == 1 ? "Any size" : "At least " + DiskUsagePane.formatSize(size);
+            }
+
+            @Override
+            public Long fromString(String s) {
+                return null;                                // never edited as text
+            }
+        });
+
+        btnFind.setOnAction(e -> startScan());
+        btnCancel.setOnAction(e -> {
+            if (current != null) {
+                current.cancel();
+            }
+        });
+        btnCancel.setDisable(true);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox bar = new HBox(8, statusLabel, spacer, minSizeBox, btnFind, btnCancel);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+
+        setCenter(table);
+        setBottom(bar);
+    }
+
+    private void startScan() {                             // Scans the root; files hashed by an earlier scan and unchanged since are not read again.
+        Path root = rootSupplier.get();
+        if (root == null) {
+            return;
+        }
+        if (current != null) {
+            current.cancel();
+            poller.stop();
+        }
+        synchronized (pending) {
+            pending.clear();
+        }
+        DuplicateScan scan;
+        try {
+            scan = fileService.findDuplicatesAsync(root, minSizeBox.getValue(), this::onGroup);
+        } catch (IOException ex) {
+            statusLabel.setText("Cannot scan " + root + ": " + ex.getMessage());
+            return;
+        }
+        current = scan;
+        currentRoot = scan.getRoot();
+        table.setRoot(new TreeItem<>());
+        btnCancel.setDisable(false);
+
+        poller = new Timeline(new KeyFrame(Duration.millis(250), e -> update(scan, "Scanning")));
+        poller.setCycleCount(Timeline.INDEFINITE);
+        poller.play();
+
+        scan.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            if (scan != current) {
+                return;
+            }
+            flush();
+            poller.stop();
+            btnCancel.setDisable(true);
+            update(scan, err != null ? "Failed" : scan.isCancelled() ? "Cancelled" : "Done");
+        }));
+    }
+
+    private void update(DuplicateScan scan, String state) {
+        String stage = switch (scan.getStage()) {
+            case QUEUED -> "Queued behind other operations...";
+            case WALKING -> String.format("%s: listing files, %,d found", state, scan.getFilesSeen());
+            case HASHING, DONE -> String.format("%s: %,d group(s), %s wasted by %,d extra copies | %,d same-size file(s), "
+                            + "%,d fully hashed, %s read in %.1f s", state, scan.getGroupsFound(),
+                    DiskUsagePane.formatSize(scan.getWastedBytes()), scan.getDuplicateFiles(), scan.getSizeCandidates(),
+                    scan.getPartialCandidates(), DiskUsagePane.formatSize(scan.getBytesHashed()), scan.getElapsedSeconds());
+        };
+        statusLabel.setText(stage
+                + (scan.getCacheHits() > 0 ? ", " + scan.getCacheHits() + " from cache" : "")
+                + (scan.getFailedCount() > 0 ? ", " + scan.getFailedCount() + " unreadable" : ""));
+    }
+
+    private void onGroup(DuplicateScan.Group group) {     // Scanner thread
+        synchronized (pending) {
+            pending.add(group);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<DuplicateScan.Group> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        TreeItem<Row> root = table.getRoot();
+        if (root == null || batch.isEmpty()) {
+            return;
+        }
+        List<TreeItem<Row>> items = new ArrayList<>(batch.size());
+        for (DuplicateScan.Group group : batch) {
+            TreeItem<Row> item = new TreeItem<>(new Row(group, null));
+            for (Path file : group.files()) {
+                item.getChildren().add(new TreeItem<>(new Row(group, file)));
+            }
+            items.add(item);
+        }
+        root.getChildren().addAll(items);
+        table.sort();
+    }
+
+    // Formatting
+
+    private String nameOf(Row row) {
+        if (row.file() == null) {
+            Path name = row.group().files().get(0).getFileName();
+            return row.group().files().size() + " copies of " + (name == null ? "" : name);
+        }
+        return currentRoot != null && row.file().startsWith(currentRoot)
+                ? currentRoot.relativize(row.file()).toString() : row.file().toString();
+    }
+
+    private static TreeTableCell<Row, Long> sizeCell() {
+        return new TreeTableCell<>() {
+            @Override
+            protected void updateItem(Long bytes, boolean empty) {
+                super.updateItem(bytes, empty);
+                setText(empty || bytes == null ? null : DiskUsagePane.formatSize(bytes));
+            }
+        };
+    }
+}
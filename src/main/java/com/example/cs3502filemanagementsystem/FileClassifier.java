@@ -0,0 +1,261 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FileClassifier {      // Text or binary: by name when the name is conclusive, otherwise by sniffing the first 8 KB.
+
+    public enum Kind {
+        TEXT,                                       // UTF-8 (or plain ASCII): can be previewed and edited
+        NON_UTF8_TEXT,                              // no NULs, but another encoding (Latin-1, UTF-16 with a BOM, ...): searchable only
+        BINARY
+    }
+
+    static final int SNIFF_BYTES = 8192;
+    private static final int MAX_CACHED = 100_000;      // sniffed verdicts kept; the map is simply dropped when full
+
+    private static final String[] TEXT_EXTENSIONS = {
+            "txt", "text", "md", "markdown", "rst", "adoc", "org", "tex", "bib", "log", "out", "srt", "vtt",
+            "java", "kt", "kts", "scala", "groovy", "gradle", "clj", "cljs", "edn",
+            "c", "h", "cc", "cpp", "cxx", "hpp", "hh", "hxx", "m", "mm", "cs", "fs", "go", "rs", "swift", "zig",
+            "py", "pyw", "pyi", "rb", "pl", "pm", "php", "lua", "r", "jl", "dart", "hs", "ml", "mli", "erl", "ex", "exs", "el", "vim",
+            "js", "mjs", "cjs", "ts", "tsx", "jsx", "vue", "svelte", "css", "scss", "sass", "less",
+            "html", "htm", "xhtml", "xml", "xsd", "xsl", "xslt", "svg", "wsdl", "fxml",
+            "json", "jsonl", "ndjson", "yaml", "yml", "toml", "ini", "cfg", "conf", "properties", "env", "lock",
+            "csv", "tsv", "sql", "graphql", "gql", "proto", "tf", "hcl", "diff", "patch",
+            "sh", "bash", "zsh", "fish", "ksh", "bat", "cmd", "ps1", "psm1", "mk", "cmake", "make",
+            "gitignore", "gitattributes", "gitmodules", "editorconfig", "dockerignore", "npmrc", "bashrc", "zshrc", "profile"
+    };
+    private static final String[] TEXT_NAMES = {
+            "dockerfile", "containerfile", "makefile", "gnumakefile", "jenkinsfile", "vagrantfile", "gemfile", "rakefile",
+            "procfile", "brewfile", "readme", "license", "licence", "copying", "authors", "changelog", "notice", "todo"
+    };
+    private static final String[] BINARY_EXTENSIONS = {
+            "png", "jpg", "jpeg", "gif", "bmp", "ico", "icns", "webp", "tif", "tiff", "psd", "heic",
+            "mp3", "wav", "flac", "ogg", "m4a", "aac", "mp4", "m4v", "mkv", "mov", "avi", "webm", "wmv", "flv",
+            "zip", "jar", "war", "ear", "jmod", "gz", "tgz", "bz2", "xz", "zst", "7z", "rar", "tar", "iso", "dmg", "deb", "rpm",
+            "class", "exe", "dll", "so", "dylib", "o", "a", "lib", "obj", "pdb", "bin", "dat", "db", "sqlite", "wasm",
+            "pdf", "doc", "docx", "xls", "xlsx", "ppt", "pptx", "odt", "ods", "odp",
+            "woff", "woff2", "ttf", "otf", "eot", "pyc", "pyo", "jks", "keystore", "p12", "pfx", "der", "jfr", "hprof"
+    };
+
+    // Names are matched back to front, so one walk finds both the extension (".json") and whole names ("Dockerfile")
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] next = new TrieNode[0];
+        private Kind extension;                     // an extension ends here (the walk just consumed its '.')
+        private Kind name;                          // a whole file name ends here
+
+        TrieNode child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return next[i];
+            }
+            return null;
+        }
+
+        TrieNode addChild(char c) {
+            TrieNode existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            next = Arrays.copyOf(next, next.length + 1);
+            keys[keys.length - 1] = c;
+            return next[next.length - 1] = new TrieNode();
+        }
+    }
+
+    private record Sniffed(long mtime, long size, Kind kind) {
+    }
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long BYTES_20 = 0x2020202020202020L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final TrieNode ROOT = new TrieNode();
+
+    static {
+        for (String ext : TEXT_EXTENSIONS) insert("." + ext, Kind.TEXT, true);
+        for (String ext : BINARY_EXTENSIONS) insert("." + ext, Kind.BINARY, true);
+        for (String name : TEXT_NAMES) insert(name, Kind.TEXT, false);
+    }
+
+    private final Map<Object, Sniffed> cache = new ConcurrentHashMap<>();
+    private final AtomicLong sniffCount = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    private static void insert(String key, Kind kind, boolean extension) {
+        TrieNode node = ROOT;
+        for (int i = key.length() - 1; i >= 0; i--) {
+            node = node.addChild(key.charAt(i));
+        }
+        if (extension) {
+            node.extension = kind;
+        } else {
+            node.name = kind;
+        }
+    }
+
+    public Kind byName(String fileName) {          // Verdict from the name alone (ASCII case-insensitive), or null when it takes a look inside.
+        TrieNode node = ROOT;
+        for (int i = fileName.length() - 1; i >= 0; i--) {
+            char c = fileName.charAt(i);
+            node = node.child(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            if (node == null) {
+                return null;
+            }
+            if (node.extension != null) {
+                return node.extension;              // innermost extension wins: "notes.txt.gz" is a gzip
+            }
+        }
+        return node.name;
+    }
+
+    public Kind classify(Path path, BasicFileAttributes attrs) {    // Name first; unknown names are sniffed once per file key + mtime.
+        if (attrs.isDirectory() || attrs.isOther()) {
+            return Kind.BINARY;                     // never read from devices or pipes
+        }
+        Path fileName = path.getFileName();
+        Kind known = fileName == null ? null : byName(fileName.toString());
+        if (known != null) {
+            return known;
+        }
+        if (attrs.size() == 0) {
+            return Kind.TEXT;                       // an empty file can become anything: let it be edited
+        }
+        Object key = attrs.fileKey() != null ? attrs.fileKey() : path.toAbsolutePath().normalize();
+        long mtime = attrs.lastModifiedTime().toMillis();
+        Sniffed cached = cache.get(key);
+        if (cached != null && cached.mtime() == mtime && cached.size() == attrs.size()) {
+            cacheHits.incrementAndGet();
+            return cached.kind();
+        }
+        Kind kind = sniff(path, attrs.size());
+        if (cache.size() >= MAX_CACHED) {
+            cache.clear();
+        }
+        cache.put(key, new Sniffed(mtime, attrs.size(), kind));
+        return kind;
+    }
+
+    private Kind sniff(Path path, long size) {
+        sniffCount.incrementAndGet();
+        byte[] head = new byte[(int) Math.min(SNIFF_BYTES, size)];
+        int n;
+        try (InputStream in = Files.newInputStream(path)) {
+            n = in.readNBytes(head, 0, head.length);
+        } catch (IOException e) {
+            return Kind.BINARY;                     // unreadable: nothing to preview
+        }
+        return sniff(head, n, size > n);
+    }
+
+    static Kind sniff(byte[] b, int n, boolean truncated) {    // Truncated: the sample ends mid-file, so a split UTF-8 sequence at the end is fine.
+        if (n >= 3 && (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF) {
+            return scan(b, 3, n, truncated);        // UTF-8 BOM: still checked, the rest may not be
+        }
+        if (n >= 4 && ((b[0] == 0 && b[1] == 0 && (b[2] & 0xFF) == 0xFE && (b[3] & 0xFF) == 0xFF)
+                || ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xFE && b[2] == 0 && b[3] == 0))) {
+            return Kind.NON_UTF8_TEXT;              // UTF-32 BOM (checked before UTF-16: FF FE is a prefix of both)
+        }
+        if (n >= 2 && (((b[0] & 0xFF) == 0xFE && (b[1] & 0xFF) == 0xFF) || ((b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xFE))) {
+            return Kind.NON_UTF8_TEXT;              // UTF-16 BOM: full of NULs, but text
+        }
+        return scan(b, 0, n, truncated);
+    }
+
+    // One pass: NUL means binary; stray control bytes over 1% mean binary; otherwise text, UTF-8 if every sequence is valid.
+    // Runs of printable ASCII (the bulk of any text file) are skipped 8 bytes at a time with one word test.
+    private static Kind scan(byte[] b, int from, int n, boolean truncated) {
+        boolean utf8 = true;
+        int controls = 0;
+        int i = from;
+        while (i < n) {
+            if (i + 8 <= n) {
+                long x = (long) LONGS.get(b, i);
+                if ((((x - BYTES_20) | x) & HIGH_BITS) == 0) {     // every byte in 0x20..0x7F: no NUL, control or non-ASCII byte
+                    i += 8;
+                    continue;
+                }
+            }
+            int c = b[i] & 0xFF;
+            if (c < 0x80) {
+                if (c == 0) {
+                    return Kind.BINARY;
+                }
+                if (c < 0x20 && c != '\t' && c != '\n' && c != '\r' && c != '\f' && c != 0x0B && c != 0x1B) {
+                    controls++;                     // ESC stays allowed: colored logs are text
+                }
+                i++;
+                continue;
+            }
+            int length = utf8 ? sequenceLength(b, i, n) : 0;
+            if (length > 0) {
+                i += length;
+            } else if (length < 0 && truncated) {
+                break;                              // a character cut off by the end of the sample
+            } else {
+                utf8 = false;                       // keep scanning: NULs still decide between binary and other-encoding text
+                i++;
+            }
+        }
+        if (controls * 100L > Math.max(1, n - from)) {
+            return Kind.BINARY;
+        }
+        return utf8 ? Kind.TEXT : Kind.NON_UTF8_TEXT;
+    }
+
+    private static int sequenceLength(byte[] b, int i, int n) {    // Length of a valid UTF-8 sequence at i, 0 if invalid, -1 if cut off at n.
+        int c = b[i] & 0xFF;
+        int length;
+        int min = 0x80;                             // allowed range of the second byte (rules out overlongs and surrogates)
+        int max = 0xBF;
+        if (c >= 0xC2 && c <= 0xDF) {
+            length = 2;
+        } else if (c >= 0xE0 && c <= 0xEF) {
+            length = 3;
+            if (c == 0xE0) min = 0xA0;
+            if (c == 0xED) max = 0x9F;
+        } else if (c >= 0xF0 && c <= 0xF4) {
+            length = 4;
+            if (c == 0xF0) min = 0x90;
+            if (c == 0xF4) max = 0x8F;
+        } else {
+            return 0;
+        }
+        for (int k = 1; k < length; k++) {
+            if (i + k >= n) {
+                return -1;
+            }
+            int cont = b[i + k] & 0xFF;
+            if (k == 1 ? cont < min || cont > max : (cont & 0xC0) != 0x80) {
+                return 0;
+            }
+        }
+        return length;
+    }
+
+    // Stats
+
+    public long getSniffCount() {                   // Files whose content had to be read.
+        return sniffCount.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public int getCachedCount() {
+        return cache.size();
+    }
+}
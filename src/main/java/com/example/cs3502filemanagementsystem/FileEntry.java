@@ -0,0 +1,27 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+
+// A directory entry together with the attributes read for it during listing (one stat per entry).
+record FileEntry(Path path, BasicFileAttributes attributes) {
+
+    // Folders first, then files, each group by case-insensitive name
+    static final Comparator<FileEntry> FOLDERS_FIRST = (e1, e2) -> {
+        boolean d1 = e1.isDirectory();
+        boolean d2 = e2.isDirectory();
+        if (d1 && !d2) return -1;
+        if (!d1 && d2) return 1;
+        return e1.name().compareToIgnoreCase(e2.name());
+    };
+
+    boolean isDirectory() {
+        return attributes != null && attributes.isDirectory();
+    }
+
+    String name() {
+        Path name = path.getFileName();
+        return name == null ? path.toString() : name.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class FileFinderDialog extends Dialog<Path> {      // "Go to File": type part of a name, pick from the best fuzzy matches.
+
+    private static final int MAX_RESULTS = 50;
+
+    private final TextField queryField = new TextField();
+    private final ListView<PathIndex.Result> results = new ListView<>();
+    private final Label statusLabel = new Label();
+    private PathIndex index;
+
+    public FileFinderDialog(FileService fileService, Path root) {
+        setTitle("Go to File");
+        setHeaderText(null);
+        setResizable(true);
+
+        queryField.setPromptText("File name (fuzzy, e.g. fmapp for FileManagerApp.java)");
+        queryField.textProperty().addListener((obs, old, text) -> runQuery());
+        queryField.setOnKeyPressed(e -> {                       // arrows move through the results while typing
+            int selected = results.getSelectionModel().getSelectedIndex();
+            if (e.getCode() == KeyCode.DOWN) {
+                results.getSelectionModel().select(Math.min(selected + 1, results.getItems().size() - 1));
+                e.consume();
+            } else if (e.getCode() == KeyCode.UP) {
+                results.getSelectionModel().select(Math.max(selected - 1, 0));
+                e.consume();
+            }
+        });
+
+        results.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(PathIndex.Result item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null
+                        : item.path().getFileName() + "    " + root.relativize(item.path()));
+            }
+        });
+        results.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && results.getSelectionModel().getSelectedItem() != null) {
+                setResult(results.getSelectionModel().getSelectedItem().path());
+                close();
+            }
+        });
+
+        VBox content = new VBox(6, queryField, results, statusLabel);
+        content.setPadding(new Insets(8));
+        content.setPrefSize(640, 420);
+        getDialogPane().setContent(content);
+        getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        getDialogPane().lookupButton(ButtonType.OK).disableProperty()
+                .bind(results.getSelectionModel().selectedItemProperty().isNull());
+        setResultConverter(button -> {
+            PathIndex.Result selected = results.getSelectionModel().getSelectedItem();
+            return button == ButtonType.OK && selected != null ? selected.path() : null;
+        });
+        setOnShown(e -> Platform.runLater(queryField::requestFocus));
+
+        // The index is walked in the background the first time; show how far it got until it's ready
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(250),
+                e -> statusLabel.setText("Indexing... " + fileService.getPathIndexProgress() + " path(s)")));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+        setOnHidden(e -> progress.stop());
+
+        fileService.pathIndex(root).whenComplete((built, err) -> Platform.runLater(() -> {
+            progress.stop();
+            if (err != null) {
+                statusLabel.setText("Indexing failed: " + err.getMessage());
+                return;
+            }
+            index = built;
+            statusLabel.setText(built.size() + " path(s) indexed");
+            runQuery();
+        }));
+    }
+
+    private void runQuery() {                  // Cheap enough to run on every keystroke on the FX thread.
+        if (index == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<PathIndex.Result> found = index.find(queryField.getText(), MAX_RESULTS);
+        double millis = (System.nanoTime() - start) / 1e6;
+        results.getItems().setAll(found);
+        if (!found.isEmpty()) {
+            results.getSelectionModel().select(0);
+        }
+        statusLabel.setText(String.format("%d match(es) in %.2f ms  |  %d path(s) indexed", found.size(), millis, index.size()));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class FileFollower {          // Tails a growing file ("tail -f"): keeps the channel position and only reads bytes appended since.
+
+    private static final long POLL_MILLIS = 200;
+
+    public interface Listener {                         // Callbacks are always invoked on the FX thread.
+        void onAppend(String text);
+        void onReset(String reason);                    // File was truncated or rotated; the view should be cleared
+    }
+
+    private final Path path;
+    private final Listener listener;
+    private final int maxPendingChars;                 // more than this waiting for the FX thread: the oldest is dropped
+    private long position;
+    private Object fileKey;
+    private Future<?> task;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CharBuffer charBuffer = CharBuffer.allocate(64 * 1024);
+
+    // UI coalescing: text accumulates here and is flushed by at most one pending Platform.runLater
+    private final StringBuilder pending = new StringBuilder();
+    private boolean pendingReset;
+    private String resetReason;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public FileFollower(Path path, long startPosition, int maxPendingChars, Listener listener) {
+        this.path = path;
+        this.position = startPosition;
+        this.maxPendingChars = maxPendingChars;
+        this.listener = listener;
+    }
+
+    public void start(FileService service) {
+        task = service.submitBackground(this::run);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Background loop
+
+    private void run() {
+        FileChannel channel = null;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    // Mid-rotation: the old file was moved away and the new one isn't there yet
+                    Thread.sleep(POLL_MILLIS);
+                    continue;
+                }
+
+                if (channel == null) {
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                    fileKey = attrs.fileKey();
+                } else if (attrs.fileKey() != null && !Objects.equals(attrs.fileKey(), fileKey)) {
+                    channel.close();                    // Rotated: a new file now lives at this path
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                    fileKey = attrs.fileKey();
+                    restart("rotated");
+                }
+
+                long size = channel.size();
+                if (size < position) {
+                    restart("truncated");               // Truncated in place (e.g. copytruncate)
+                }
+                if (size > position) {
+                    readFrom(channel);
+                } else {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+        } catch (InterruptedException | IOException e) {
+            // Stopped (interrupting a channel read closes it) or the file became unreadable
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void restart(String reason) {
+        position = 0;
+        decoder.reset();
+        readBuffer.clear();
+        synchronized (pending) {
+            pending.setLength(0);
+            pendingReset = true;
+            resetReason = reason;
+        }
+        scheduleFlush();
+    }
+
+    private void readFrom(FileChannel channel) throws IOException {       // Reads everything appended since the last position.
+        int n;
+        while ((n = channel.read(readBuffer, position)) > 0) {
+            position += n;
+            readBuffer.flip();
+            decoder.decode(readBuffer, charBuffer, false);
+            readBuffer.compact();                     // keep a trailing partial UTF-8 sequence for the next read
+            charBuffer.flip();
+            synchronized (pending) {
+                pending.append(charBuffer);
+                trimPending();
+            }
+            charBuffer.clear();
+            scheduleFlush();
+        }
+    }
+
+    private void trimPending() {                     // The writer outpaces the FX thread: keep only the newest text, as the view does.
+        int excess = pending.length() - maxPendingChars;
+        if (excess <= 0) {
+            return;
+        }
+        int newline = pending.indexOf("\n", excess);
+        int cut = newline >= 0 && newline < pending.length() - 1 ? newline + 1 : excess;    // from a line start when there is one
+        if (cut < pending.length() && Character.isLowSurrogate(pending.charAt(cut))) {
+            cut++;
+        }
+        pending.delete(0, cut);
+        pendingReset = true;                         // what is shown no longer runs on into what follows
+        resetReason = "growing faster than it could be shown; older lines were skipped";
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {                           // Runs on the FX thread; delivers everything gathered since the last frame.
+        flushScheduled.set(false);
+        String text;
+        boolean reset;
+        String reason;
+        synchronized (pending) {
+            text = pending.toString();
+            pending.setLength(0);
+            reset = pendingReset;
+            reason = resetReason;
+            pendingReset = false;
+        }
+        if (task == null) {
+            return;                                  // stopped while the flush was queued
+        }
+        if (reset) {
+            listener.onReset(reason);
+        }
+        if (!text.isEmpty()) {
+            listener.onAppend(text);
+        }
+    }
+}
@@ -1,20 +1,37 @@
 package com.example.cs3502filemanagementsystem;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.*;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class FileManagerApp extends Application{
 
@@ -22,10 +39,36 @@ public class FileManagerApp extends Application{
     private TreeView<Path> fileTreeView;        // File/Directory Display
     private TextArea fileContentArea;           // File Content Area (Read/Update)
     private Label statusLabel;                  // Status / Feedback Area
+    private Label cacheLabel;                   // Content cache hits/misses and footprint, right side of the status bar
+    private Button btnCancelOperation;          // Shown in the status bar while a long-running operation can be cancelled
+    private CheckMenuItem persistentIndexItem;  // View > Remember Folder Listings
+    private TabPane toolTabs;                   // Tool panels below the tree/editor
+    private Tab searchTab;
+    private Tab operationsTab;
+    private Tab diskUsageTab;
+    private Tab duplicatesTab;
+    private Tab detailsTab;
+    private Tab diagnosticsTab;
+    private DetailsPane detailsPane;            // Flat columnar listing of the selected folder (for folders too big for the tree)
     private TextField currentPathField;         // Current Path Display
+    private VBox rightPane;                     // Holds either the editor or the large-file viewer
+    private LargeFileEditor largeFileEditor;    // Paged piece-table editor for files above the size threshold (null when not shown)
 
     // Track which file is currently loaded into the editor
     private Path currentOpenFile = null;
+    private long openFileBytes;                 // Bytes of currentOpenFile the editor was loaded from (or last saved)
+    private Job<?> openJob;                     // The open in flight (a newer open cancels it)
+
+    // Follow ("tail -f") mode for the open file
+    private static final int FOLLOW_MAX_CHARS = 4_000_000;    // Oldest text is dropped beyond this so the editor stays bounded
+    private ToggleButton btnFollow;
+    private FileFollower follower;
+
+    // Copy/cut/paste: paths go on the system clipboard as files; this marks the current ones as cut (moved on paste)
+    private static final KeyCombination COPY_KEYS = new KeyCodeCombination(KeyCode.C, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination CUT_KEYS = new KeyCodeCombination(KeyCode.X, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination PASTE_KEYS = new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN);
+    private List<Path> cutPaths = List.of();
 
     // Non-GUI logic
     private final FileService fileService = new FileService();
@@ -33,6 +76,8 @@ public class FileManagerApp extends Application{
     @Override
     public void start(Stage primaryStage){
         primaryStage.setTitle("OwlTech File Manager");
+        fileService.getMetrics().setUiThread(Thread.currentThread());
+        fileService.getMetrics().registerMBean();
 
         BorderPane root = new BorderPane();
 
@@ -58,12 +103,17 @@ public class FileManagerApp extends Application{
 
         fileTreeView = new TreeView<>();
         fileTreeView.setShowRoot(true);
+        fileTreeView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);    // Ctrl/Shift-click for batch delete, rename and cut/copy
         // Custom cell so we only display the file/folder name (not full path)
         fileTreeView.setCellFactory(tv -> new TreeCell<>(){
             @Override
             protected void updateItem(Path item, boolean empty){
                 super.updateItem(item, empty);
-                if (empty || item == null){
+                if (empty){
+                    setText(null);
+                } else if (FileTreeItem.isPlaceholder(getTreeItem())){
+                    setText("Loading...");
+                } else if (item == null){
                     setText(null);
                 } else {
                     Path name = item.getFileName();
@@ -75,32 +125,52 @@ public class FileManagerApp extends Application{
         // When the user selects a node, reflect it in the "Current Path" field
 
         fileTreeView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, selected) -> {
-            if (selected != null){
+            if (selected != null && selected.getValue() != null){
                 Path path = selected.getValue();
-                currentPathField.setText(path.toAbsolutePath().toString());
+                currentPathField.setText(fileService.describePath(path));
+                if (toolTabs.getSelectionModel().getSelectedItem() == detailsTab) {
+                    detailsPane.show(getCurrentDirectory());
+                }
             }
         });
 
+        // Clipboard shortcuts act on the tree only (the editor keeps its own text copy/paste)
+
+        fileTreeView.setOnKeyPressed(timed("treeKey", event -> {
+            if (COPY_KEYS.match(event)) {
+                copySelected(false);
+            } else if (CUT_KEYS.match(event)) {
+                copySelected(true);
+            } else if (PASTE_KEYS.match(event)) {
+                pasteIntoCurrentDirectory();
+            } else {
+                return;
+            }
+            event.consume();
+        }));
+
         // Double-click a regular file to open it in the editor
 
-        fileTreeView.setOnMouseClicked(event -> {
+        fileTreeView.setOnMouseClicked(timed("treeClick", event -> {
            if (event.getClickCount() == 2){
                TreeItem<Path> selected = fileTreeView.getSelectionModel().getSelectedItem();
-               if (selected != null){
-                   Path path = selected.getValue();
-                   if (Files.isRegularFile(path)){
-                       openFile(path);
+               if (selected != null && selected.getValue() != null){
+                   BasicFileAttributes attrs = FileTree.attributesOf(fileService, selected);
+                   if (fileService.isBrowsableArchive(selected.getValue(), attrs)) {
+                       selected.setExpanded(!selected.isExpanded());    // zip/jar: browse it like a folder
+                   } else if (attrs != null && attrs.isRegularFile()){
+                       openFile(selected.getValue(), attrs);
                    }
                }
            }
-        });
+        }));
 
         // Right side: basic text editor area for text files
 
         fileContentArea = new TextArea();
         fileContentArea.setWrapText(false);
         fileContentArea.setPromptText("File content will appear here...");
-        VBox rightPane = new VBox(new Label("File Contents:"), fileContentArea);
+        rightPane = new VBox(new Label("File Contents:"), fileContentArea);
         rightPane.setSpacing(5);
         rightPane.setPadding(new Insets(5));
         VBox.setVgrow(fileContentArea, Priority.ALWAYS);
@@ -110,15 +180,56 @@ public class FileManagerApp extends Application{
         splitPane.getItems().addAll(fileTreeView, rightPane);
         splitPane.setDividerPositions(0.3);
 
-        VBox centerBox = new VBox(pathBox, splitPane);
-        VBox.setVgrow(splitPane, Priority.ALWAYS);
+        // Bottom of the center area: tool panels (search results, ...)
+
+        SearchPane searchPane = new SearchPane(fileService,
+                () -> fileTreeView.getRoot() == null ? null : fileTreeView.getRoot().getValue(),
+                file -> {
+                    selectPathInTree(file);
+                    openFile(file);
+                });
+        searchTab = new Tab("Search", searchPane);
+        operationsTab = new Tab("Operations", new OperationsPane(fileService.getJobs()));
+        diskUsageTab = new Tab("Disk Usage", new DiskUsagePane(fileService, this::getCurrentDirectory, this::selectPathInTree));
+        duplicatesTab = new Tab("Duplicates", new DuplicatesPane(fileService,
+                () -> fileTreeView.getRoot() == null ? null : fileTreeView.getRoot().getValue(), this::selectPathInTree));
+        detailsPane = new DetailsPane(fileService, this::openFile);
+        detailsTab = new Tab("Details", detailsPane);
+        detailsTab.setOnSelectionChanged(e -> {
+            if (detailsTab.isSelected()) {
+                detailsPane.show(getCurrentDirectory());
+            }
+        });
+        diagnosticsTab = new Tab("Diagnostics", new DiagnosticsPane(fileService.getMetrics()));
+        toolTabs = new TabPane(searchTab, detailsTab, diskUsageTab, duplicatesTab, operationsTab, diagnosticsTab);
+        toolTabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+
+        SplitPane workArea = new SplitPane(splitPane, toolTabs);
+        workArea.setOrientation(Orientation.VERTICAL);
+        workArea.setDividerPositions(0.7);
+
+        VBox centerBox = new VBox(pathBox, workArea);
+        VBox.setVgrow(workArea, Priority.ALWAYS);
         root.setCenter(centerBox);
 
         // Bottom: status bar for feedback messages
 
         statusLabel = new Label("Ready");
         statusLabel.setPadding(new Insets(3, 8, 3, 8));
-        root.setBottom(statusLabel);
+        btnCancelOperation = new Button("Cancel");
+        btnCancelOperation.setVisible(false);
+        btnCancelOperation.managedProperty().bind(btnCancelOperation.visibleProperty());
+        cacheLabel = new Label();
+        cacheLabel.setPadding(new Insets(3, 8, 3, 8));
+        Timeline cacheStats = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateCacheStats()));
+        cacheStats.setCycleCount(Timeline.INDEFINITE);
+        cacheStats.play();
+        updateCacheStats();
+        Region statusSpacer = new Region();
+        HBox.setHgrow(statusSpacer, Priority.ALWAYS);
+        HBox statusBar = new HBox(statusLabel, statusSpacer, cacheLabel, btnCancelOperation);
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+        root.setBottom(statusBar);
 
         // Initial load: start from the user's home directory
 
@@ -126,6 +237,10 @@ public class FileManagerApp extends Application{
         loadRootDirectory(initialRoot);
 
         Scene scene = new Scene(root, 1000, 600);
+        OperationMetrics.Op layoutOp = fileService.getMetrics().op("fx.layout", OperationMetrics.Unit.NONE, false);    // CSS + layout per pulse
+        long[] layoutStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> layoutStart[0] = layoutOp.begin());
+        scene.addPostLayoutPulseListener(() -> layoutOp.end(layoutStart[0]));
         primaryStage.setScene(scene);
         primaryStage.show();
     }
@@ -136,52 +251,144 @@ public class FileManagerApp extends Application{
         Menu fileMenu = new Menu("File");
 
         MenuItem chooseRoot = new MenuItem("Open Root Folder");
-        chooseRoot.setOnAction(e -> chooseRootDirectory(stage));
+        chooseRoot.setOnAction(timed("openRoot", e -> chooseRootDirectory(stage)));
         chooseRoot.setAccelerator(new KeyCodeCombination(KeyCode.O, KeyCombination.CONTROL_DOWN));
 
         MenuItem saveItem = new MenuItem("Save Current File");
-        saveItem.setOnAction(e -> updateCurrentFile());
+        saveItem.setOnAction(timed("save", e -> updateCurrentFile()));
         saveItem.setAccelerator(new KeyCodeCombination(KeyCode.S, KeyCombination.CONTROL_DOWN));
 
+        MenuItem fromTemplate = new MenuItem("New Files from Template...");
+        fromTemplate.setOnAction(timed("createFromTemplate", e -> createFromTemplate()));
+
+        MenuItem zipItem = new MenuItem("Compress to Zip...");
+        zipItem.setOnAction(timed("zip", e -> zipSelected()));
+
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> stage.close());
         exitItem.setAccelerator(new KeyCodeCombination(KeyCode.Q, KeyCombination.CONTROL_DOWN));
 
-        fileMenu.getItems().addAll(chooseRoot, saveItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(chooseRoot, saveItem, fromTemplate, zipItem, new SeparatorMenuItem(), exitItem);
+
+        Menu searchMenu = new Menu("Search");
+
+        MenuItem findInFiles = new MenuItem("Find in Files");
+        findInFiles.setOnAction(e -> toolTabs.getSelectionModel().select(searchTab));
+        findInFiles.setAccelerator(new KeyCodeCombination(KeyCode.F, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN));
+
+        MenuItem goToFile = new MenuItem("Go to File...");
+        goToFile.setOnAction(timed("goToFile", e -> showFileFinder()));
+        goToFile.setAccelerator(new KeyCodeCombination(KeyCode.P, KeyCombination.CONTROL_DOWN));
+
+        searchMenu.getItems().addAll(findInFiles, goToFile);
+
+        Menu viewMenu = new Menu("View");
+
+        CheckMenuItem backgroundLoading = new CheckMenuItem("Load Folders in Background");
+        backgroundLoading.setSelected(true);
+        fileService.setAsyncLoading(true);
+        backgroundLoading.selectedProperty().addListener((obs, was, enabled) -> fileService.setAsyncLoading(enabled));
+
+        MenuItem thresholdItem = new MenuItem("Large File Threshold...");
+        thresholdItem.setOnAction(timed("largeFileThreshold", e -> changeLargeFileThreshold()));
+
+        CheckMenuItem persistentIndex = new CheckMenuItem("Remember Folder Listings");
+        persistentIndex.setSelected(false);
+        persistentIndex.selectedProperty().addListener((obs, was, enabled) -> {
+            try {
+                if (enabled) {
+                    TreeItem<Path> root = fileTreeView.getRoot();
+                    if (root != null) {
+                        fileService.openIndex(root.getValue());
+                    }
+                } else {
+                    fileService.closeIndex();
+                }
+            } catch (IOException e) {
+                showError(e.getMessage(), e);
+            }
+        });
+        this.persistentIndexItem = persistentIndex;
 
-        return new MenuBar(fileMenu);
+        CheckMenuItem deltaSave = new CheckMenuItem("Patch Large Files in Place");
+        deltaSave.setSelected(fileService.isDeltaSave());
+        deltaSave.selectedProperty().addListener((obs, was, enabled) -> fileService.setDeltaSave(enabled));
+
+        CheckMenuItem prefetchItem = new CheckMenuItem("Prefetch Text Files in Opened Folders");
+        prefetchItem.setSelected(fileService.isPrefetchText());
+        prefetchItem.selectedProperty().addListener((obs, was, enabled) -> fileService.setPrefetchText(enabled));
+
+        MenuItem detailsItem = new MenuItem("Folder Details");
+        detailsItem.setOnAction(e -> toolTabs.getSelectionModel().select(detailsTab));
+
+        MenuItem diskUsageItem = new MenuItem("Disk Usage");
+        diskUsageItem.setOnAction(e -> toolTabs.getSelectionModel().select(diskUsageTab));
+
+        MenuItem duplicatesItem = new MenuItem("Duplicates");
+        duplicatesItem.setOnAction(e -> toolTabs.getSelectionModel().select(duplicatesTab));
+
+        MenuItem operationsItem = new MenuItem("Operations");
+        operationsItem.setOnAction(e -> toolTabs.getSelectionModel().select(operationsTab));
+
+        MenuItem diagnosticsItem = new MenuItem("Diagnostics");
+        diagnosticsItem.setOnAction(e -> toolTabs.getSelectionModel().select(diagnosticsTab));
+
+        viewMenu.getItems().addAll(backgroundLoading, persistentIndex, thresholdItem, deltaSave, prefetchItem,
+                new SeparatorMenuItem(), detailsItem, diskUsageItem, duplicatesItem, operationsItem, diagnosticsItem);
+
+        return new MenuBar(fileMenu, viewMenu, searchMenu);
     }
 
     // Tool Bar
 
     private ToolBar createToolBar (){                   // Creates the toolbar with common actions (new, open, save, rename, delete, refresh).
         Button btnNewFile = new Button("New File");
-        btnNewFile.setOnAction(e -> createNewFile());
+        btnNewFile.setOnAction(timed("newFile", e -> createNewFile()));
 
         Button btnNewFolder = new Button("New Folder");
-        btnNewFolder.setOnAction(e -> createNewFolder());
+        btnNewFolder.setOnAction(timed("newFolder", e -> createNewFolder()));
 
         Button btnOpenFile = new Button("Open");
-        btnOpenFile.setOnAction(e -> {
-            Path selected = getSelectedPath();
-            if (selected != null && Files.isRegularFile(selected)) {
-                openFile(selected);
+        btnOpenFile.setOnAction(timed("open", e -> {
+            TreeItem<Path> selected = fileTreeView.getSelectionModel().getSelectedItem();
+            BasicFileAttributes attrs = selected == null || selected.getValue() == null ? null : FileTree.attributesOf(fileService, selected);
+            if (attrs != null && attrs.isRegularFile()) {
+                openFile(selected.getValue(), attrs);
             } else {
                 showInfo("Select a file to open.");
             }
-        });
+        }));
 
         Button btnSave = new Button("Save");
-        btnSave.setOnAction(e -> updateCurrentFile());
+        btnSave.setOnAction(timed("save", e -> updateCurrentFile()));
+
+        Button btnCopy = new Button("Copy");
+        btnCopy.setOnAction(timed("copy", e -> copySelected(false)));
+
+        Button btnCut = new Button("Cut");
+        btnCut.setOnAction(timed("cut", e -> copySelected(true)));
+
+        Button btnPaste = new Button("Paste");
+        btnPaste.setOnAction(timed("paste", e -> pasteIntoCurrentDirectory()));
 
         Button btnRename = new Button("Rename");
-        btnRename.setOnAction(e -> renameSelected());
+        btnRename.setOnAction(timed("rename", e -> renameSelected()));
 
         Button btnDelete = new Button("Delete");
-        btnDelete.setOnAction(e -> deleteSelected());
+        btnDelete.setOnAction(timed("delete", e -> deleteSelected()));
+
+        btnFollow = new ToggleButton("Follow");
+        btnFollow.setTooltip(new Tooltip("Keep appending new lines as the open file grows (like tail -f)"));
+        btnFollow.setOnAction(timed("follow", e -> {
+            if (btnFollow.isSelected()) {
+                startFollowing();
+            } else {
+                stopFollowing();
+            }
+        }));
 
         Button btnRefresh = new Button("Refresh");
-        btnRefresh.setOnAction(e -> refreshTree());
+        btnRefresh.setOnAction(timed("refresh", e -> refreshTree()));
 
         return new ToolBar(
                 btnNewFile,
@@ -189,6 +396,11 @@ public class FileManagerApp extends Application{
                 new Separator(),
                 btnOpenFile,
                 btnSave,
+                btnFollow,
+                new Separator(),
+                btnCopy,
+                btnCut,
+                btnPaste,
                 new Separator(),
                 btnRename,
                 btnDelete,
@@ -196,6 +408,41 @@ public class FileManagerApp extends Application{
                 btnRefresh);
     }
 
+    // Records each action handler under "ui.<name>". Handlers run on the FX thread, so this is time the UI could not respond
+    // (dialogs shown with showAndWait count too); the file work they start is timed separately by FileService.
+    private <T extends Event> EventHandler<T> timed(String name, EventHandler<T> handler) {
+        OperationMetrics.Op op = fileService.getMetrics().op("ui." + name);
+        return event -> {
+            long start = op.begin();
+            try {
+                handler.handle(event);
+            } finally {
+                op.end(start);
+            }
+        };
+    }
+
+    private void changeLargeFileThreshold() {     // Asks for the size (in MB) above which files open in the read-only viewer.
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(fileService.getLargeFileThreshold() >> 20));
+        dialog.setTitle("Large File Threshold");
+        dialog.setHeaderText("Files at or above this size open read-only in the paged viewer.");
+        dialog.setContentText("Threshold (MB):");
+
+        dialog.showAndWait().ifPresent(value -> {
+            try {
+                long mb = Long.parseLong(value.trim());
+                if (mb <= 0) {
+                    showInfo("Threshold must be a positive number of megabytes.");
+                    return;
+                }
+                fileService.setLargeFileThreshold(mb << 20);
+                setStatus("Large file threshold set to " + mb + " MB");
+            } catch (NumberFormatException ex) {
+                showInfo("Threshold must be a whole number of megabytes.");
+            }
+        });
+    }
+
     // Navigation
 
     private void chooseRootDirectory(Stage stage) {              // Lets the user pick a root folder to browse in the tree.
@@ -215,12 +462,26 @@ public class FileManagerApp extends Application{
                 showError("Selected path is not a directory: " + rootPath, null);
                 return;
             }
-            TreeItem<Path> rootItem = fileService.createNode(rootPath);
+            TreeItem<Path> oldRoot = fileTreeView.getRoot();
+            if (oldRoot != null) {
+                FileTree.cancelLoading(oldRoot);         // Abandon listings still running for the previous root
+            }
+            if (persistentIndexItem.isSelected()) {
+                try {
+                    fileService.openIndex(rootPath);    // serve children from the on-disk index, revalidating in the background
+                } catch (IOException e) {
+                    showError(e.getMessage(), e);       // only the previous root's index was lost: keep loading
+                }
+            }
+            TreeItem<Path> rootItem = FileTree.createNode(fileService, rootPath);
             rootItem.setExpanded(true);
             fileTreeView.setRoot(rootItem);
+            fileTreeView.getSelectionModel().clearSelection();
             fileTreeView.getSelectionModel().select(rootItem);
             currentPathField.setText(rootPath.toAbsolutePath().toString());
+            stopFollowing();
             currentOpenFile = null;
+            showEditor();
             fileContentArea.clear();
             setStatus("Loaded root directory: " + rootPath.toAbsolutePath());
         } catch (Exception ex) {
@@ -228,7 +489,7 @@ public class FileManagerApp extends Application{
         }
     }
 
-    private void refreshTree() {             // Rebuilds the tree for the current root selection (mostly used after changes).
+    private void refreshTree() {             // Rebuilds the tree for the current root selection (Refresh button; changes are otherwise applied incrementally).
         TreeItem<Path> root = fileTreeView.getRoot();
         if (root != null) {
             loadRootDirectory(root.getValue());
@@ -254,15 +515,13 @@ public class FileManagerApp extends Application{
                 showInfo("File name cannot be empty.");
                 return;
             }
-            try {
-                Path newFile = fileService.createFile(dir, name.trim());
+            String trimmed = name.trim();
+            runJob("Create " + trimmed, Job.Priority.NORMAL, job -> fileService.createFile(dir, trimmed), (Path newFile) -> {
                 setStatus("Created file: " + newFile.getFileName());
-                refreshTree();
+                fileService.applyChange(newFile);
                 selectPathInTree(newFile);
                 openFile(newFile);
-            } catch (IOException ex) {
-                showError("Failed to create file: " + name, ex);
-            }
+            }, "Failed to create file: " + trimmed);
         });
     }
 
@@ -283,38 +542,81 @@ public class FileManagerApp extends Application{
                 showInfo("Folder name cannot be empty.");
                 return;
             }
-            try {
-                Path newFolder = fileService.createDirectory(dir, name.trim());
+            String trimmed = name.trim();
+            runJob("Create " + trimmed, Job.Priority.NORMAL, job -> fileService.createDirectory(dir, trimmed), (Path newFolder) -> {
                 setStatus("Created folder: " + newFolder.getFileName());
-                refreshTree();
+                fileService.applyChange(newFolder);
                 selectPathInTree(newFolder);
-            } catch (IOException ex) {
-                showError("Failed to create folder: " + name, ex);
-            }
+            }, "Failed to create folder: " + trimmed);
         });
     }
 
-    private void openFile(Path file) {                // Opens a text file into the editor (if considered a text file by FileService).
-        try {
-            if (!Files.isRegularFile(file)) {
-                showInfo("Selected path is not a regular file.");
-                return;
-            }
-            if (!fileService.isTextFile(file)) {
-                fileContentArea.setText("Preview not available for this file type.\n\n"
-                        + "Path: " + file.toAbsolutePath()
-                        + "\nSize: " + fileService.safeFileSize(file) + " bytes");
-                currentOpenFile = null;
-                setStatus("Selected non-text file: " + file.getFileName());
-                return;
-            }
-            String content = fileService.readFileContent(file);
-            fileContentArea.setText(content);
-            currentOpenFile = file;
-            setStatus("Opened file: " + file.toAbsolutePath());
-        } catch (IOException ex) {
-            showError("Failed to open file: " + file.getFileName(), ex);
+    private void openFile(Path file) {
+        openFile(file, null);
+    }
+
+    private void openFile(Path file, BasicFileAttributes attrs) {      // Opens a text file into the editor (if considered a text file by FileService).
+        stopFollowing();
+        if (openJob != null) {
+            openJob.cancel();                      // only the latest open is shown
+        }
+        if (attrs != null ? !attrs.isRegularFile() : !Files.isRegularFile(file)) {
+            showInfo("Selected path is not a regular file.");
+            return;
+        }
+        if (!(attrs != null ? fileService.isTextFile(file, attrs) : fileService.isTextFile(file))) {
+            showEditor();
+            fileContentArea.setText("Preview not available for this file type.\n\n"
+                    + "Path: " + fileService.describePath(file)
+                    + "\nSize: " + fileService.safeFileSize(file, attrs) + " bytes");
+            currentOpenFile = null;
+            setStatus("Selected non-text file: " + file.getFileName());
+            return;
         }
+        boolean inArchive = fileService.isInArchive(file);
+        // Listing attributes are only revalidated by the folder's mtime, so a log may have grown a lot since: stat it again
+        // before choosing between a String and a mapping (archive entries cannot change while browsed)
+        long size = inArchive ? fileService.safeFileSize(file, attrs) : fileService.safeFileSize(file);
+        String failure = "Failed to open file: " + file.getFileName();
+        setStatus("Opening " + file.getFileName() + "...");
+        if (fileService.isLargeFile(size) && inArchive) {
+            showEditor();                                   // entries can't be mapped; inflating one this big into a String would not fit
+            fileContentArea.setText("Too large to preview from inside an archive.\n\n"
+                    + "Path: " + fileService.describePath(file)
+                    + "\nSize: " + size + " bytes");
+            currentOpenFile = null;
+            setStatus("Archive entry too large to preview: " + file.getFileName());
+            return;
+        }
+        if (fileService.isLargeFile(size)) {
+            Job<MappedTextFile> job = runJob("Open " + file.getFileName(), Job.Priority.INTERACTIVE,
+                    j -> fileService.openMapped(file), (MappedTextFile mapped) -> {
+                        showLargeFile(new LargeFileEditor(mapped));
+                        currentOpenFile = file;
+                        setStatus("Opened large file (editable once indexed): " + file.toAbsolutePath());
+                    }, failure);
+            openJob = job;
+            job.completion().thenAccept(mapped -> {
+                if (job.isCancelled()) {
+                    try {
+                        mapped.close();                // superseded by a later open after the file was mapped
+                    } catch (IOException ignored) {
+                        // Nothing was shown from it
+                    }
+                }
+            });
+            return;
+        }
+        openJob = runJob("Open " + file.getFileName(), Job.Priority.INTERACTIVE,
+                j -> fileService.readTextContent(file), (FileService.TextContent content) -> {
+                    showEditor();
+                    fileContentArea.setText(content.text());
+                    openFileBytes = content.bytes();
+                    fileContentArea.setEditable(!fileService.isInArchive(file));    // archive entries are read-only
+                    currentOpenFile = file;
+                    setStatus((fileService.isInArchive(file) ? "Opened archive entry (read-only): " : "Opened file: ")
+                            + fileService.describePath(file));
+                }, failure);
     }
 
     private void updateCurrentFile() {                 // Saves the content of the editor back to the currently open file.
@@ -322,50 +624,284 @@ public class FileManagerApp extends Application{
             showInfo("No file is currently open to save.");
             return;
         }
+        if (follower != null) {
+            showInfo("Stop following the file before saving it.");
+            return;
+        }
         try {
+            if (largeFileEditor != null) {
+                SaveOperation op = fileService.saveFileAsync(currentOpenFile, largeFileEditor.prepareSave());   // streams the pieces, no full String
+                largeFileEditor.saveStarted(op);
+                trackSave(op);
+                return;
+            }
             String newContent = fileContentArea.getText();
-            fileService.writeFileContent(currentOpenFile, newContent);
-            setStatus("Saved changes to: " + currentOpenFile.getFileName());
+            trackSave(fileService.saveFileAsync(currentOpenFile, newContent));
         } catch (IOException ex) {
             showError("Failed to save file: " + currentOpenFile.getFileName(), ex);
         }
     }
 
-    private void deleteSelected() {                    // Deletes the selected file or folder (recursively for folders).
-        Path target = getSelectedPath();
-        if (target == null) {
+    private void trackSave(SaveOperation op) {          // Shows save progress in the status bar; the editor stays usable meanwhile.
+        String name = op.getTarget().getFileName().toString();
+        setStatus("Saving " + name + "...");
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(200), e -> {
+            long total = Math.max(1, op.getEstimatedSize());
+            setStatus("Saving " + name + ": " + Math.min(100, op.getBytesWritten() * 100 / total) + "%");
+        }));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            progress.stop();
+            if (err != null) {
+                showError("Failed to save file: " + name, err instanceof Exception ex ? ex : null);
+            } else if (op.isPatchedInPlace()) {
+                setStatus("Saved changes to: " + name + " (" + op.getBytesWritten() + " byte(s) patched in place)");
+                reopenLargeFile(op.getTarget());
+            } else {
+                if (largeFileEditor == null && op.getTarget().equals(currentOpenFile)) {
+                    openFileBytes = op.getBytesWritten();   // the file is now exactly what the editor showed
+                }
+                setStatus("Saved changes to: " + name);
+            }
+        }));
+    }
+
+    private void reopenLargeFile(Path file) {          // Re-maps a file patched in place (its line index changed), keeping the scroll position.
+        if (largeFileEditor == null || !file.equals(currentOpenFile)) {
+            return;
+        }
+        long line = largeFileEditor.getFirstLine();
+        try {
+            LargeFileEditor reopened = new LargeFileEditor(fileService.openMapped(file));
+            showLargeFile(reopened);
+            reopened.scrollTo(line);
+        } catch (IOException ex) {
+            showError("Failed to reopen file: " + file.getFileName(), ex);
+        }
+    }
+
+    private void startFollowing() {                    // Tails the open file from where the editor's copy of it ended.
+        if (currentOpenFile == null || largeFileEditor != null) {
+            btnFollow.setSelected(false);
+            showInfo("Open a text file in the editor to follow it.");
+            return;
+        }
+        if (fileService.isInArchive(currentOpenFile)) {
+            btnFollow.setSelected(false);
+            showInfo("Entries inside an archive cannot be followed.");
+            return;
+        }
+        fileContentArea.setEditable(false);         // the editor mirrors the file while following
+        follower = new FileFollower(currentOpenFile, openFileBytes, FOLLOW_MAX_CHARS, new FileFollower.Listener() {
+            @Override
+            public void onAppend(String text) {
+                fileContentArea.appendText(text);
+                int excess = fileContentArea.getLength() - FOLLOW_MAX_CHARS;
+                if (excess > 0) {
+                    fileContentArea.deleteText(0, excess);
+                }
+            }
+
+            @Override
+            public void onReset(String reason) {
+                fileContentArea.clear();
+                setStatus("Following " + follower.getPath().getFileName() + " (file was " + reason + ")");
+            }
+        });
+        follower.start(fileService);
+        setStatus("Following: " + currentOpenFile.toAbsolutePath());
+    }
+
+    private void stopFollowing() {
+        if (follower == null) {
+            return;
+        }
+        follower.stop();
+        follower = null;
+        btnFollow.setSelected(false);
+        fileContentArea.setEditable(true);
+        setStatus("Stopped following");
+    }
+
+    private void copySelected(boolean cut) {           // Puts the selected files and folders on the clipboard (cut: moved on paste).
+        List<Path> targets = getSelectedPaths();
+        if (targets.isEmpty()) {
+            showInfo("Select a file or folder to " + (cut ? "cut." : "copy."));
+            return;
+        }
+        if (targets.stream().anyMatch(fileService::isInArchive)) {
+            showInfo("Entries inside an archive cannot be put on the clipboard.");
+            return;
+        }
+        ClipboardContent content = new ClipboardContent();
+        content.putFiles(targets.stream().map(Path::toFile).toList());
+        Clipboard.getSystemClipboard().setContent(content);
+        cutPaths = cut ? targets : List.of();
+        setStatus((cut ? "Cut: " : "Copied: ") + describe(targets) + " (paste into a folder to " + (cut ? "move" : "copy")
+                + (targets.size() == 1 ? " it)" : " them)"));
+    }
+
+    private void pasteIntoCurrentDirectory() {         // Copies (or moves, after a cut) the clipboard files into the selected folder.
+        Clipboard clipboard = Clipboard.getSystemClipboard();
+        if (!clipboard.hasFiles()) {
+            showInfo("Nothing to paste: copy or cut a file or folder first.");
+            return;
+        }
+        List<Path> sources = new ArrayList<>();
+        clipboard.getFiles().forEach(f -> sources.add(f.toPath()));
+        boolean move = !cutPaths.isEmpty() && cutPaths.equals(sources);
+        Path targetDir = getCurrentDirectory();
+
+        CopyOperation.ConflictPolicy policy = CopyOperation.ConflictPolicy.KEEP_BOTH;
+        boolean conflict = sources.stream().anyMatch(p -> Files.exists(targetDir.resolve(p.getFileName()), LinkOption.NOFOLLOW_LINKS)
+                && !(move && targetDir.equals(p.getParent())));
+        if (conflict) {
+            ChoiceDialog<String> dialog = new ChoiceDialog<>("Keep both", "Keep both", "Overwrite", "Skip");
+            dialog.setTitle("Paste");
+            dialog.setHeaderText("Some items already exist in:\n" + targetDir.toAbsolutePath());
+            dialog.setContentText("When a name is taken:");
+            String choice = dialog.showAndWait().orElse(null);
+            if (choice == null) {
+                return;
+            }
+            policy = switch (choice) {
+                case "Overwrite" -> CopyOperation.ConflictPolicy.OVERWRITE;
+                case "Skip" -> CopyOperation.ConflictPolicy.SKIP;
+                default -> CopyOperation.ConflictPolicy.KEEP_BOTH;
+            };
+        }
+        try {
+            CopyOperation op = move ? fileService.moveAsync(sources, targetDir, policy)
+                    : fileService.copyAsync(sources, targetDir, policy);
+            if (move) {
+                cutPaths = List.of();                      // a cut pastes once
+                clipboard.clear();
+            }
+            trackCopy(op);
+        } catch (IOException ex) {
+            showError("Failed to paste into: " + targetDir.getFileName(), ex);
+        }
+    }
+
+    private void trackCopy(CopyOperation op) {          // Live progress and throughput with a Cancel button; updates the tree when done.
+        String verb = op.isMove() ? "Moving" : "Copying";
+        Path targetDir = op.getTargetDir();
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(200), e ->
+                setStatus(verb + " to " + targetDir.getFileName() + ": " + (!op.isStarted() ? "queued behind other operations"
+                        : op.getFilesCopied() + " file(s), " + (op.getBytesCopied() >> 20) + " MB (" + op.getThroughput() + ")"))));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        btnCancelOperation.setOnAction(e -> op.cancel());
+        btnCancelOperation.setVisible(true);
+
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            progress.stop();
+            btnCancelOperation.setVisible(false);
+            List<Path> changed = new ArrayList<>(op.getCreated());
+            if (op.isMove()) {
+                changed.addAll(op.getSources());
+            }
+            fileService.applyChanges(changed);             // one tree update per affected folder
+            String summary = op.getFilesCopied() + " file(s), " + (op.getBytesCopied() >> 20) + " MB in "
+                    + String.format("%.1f s", op.getElapsedSeconds()) + " (" + op.getThroughput() + ")"
+                    + (op.getSkippedCount() > 0 ? ", " + op.getSkippedCount() + " skipped" : "");
+            if (err != null) {
+                showError("Failed to paste into: " + targetDir.getFileName(), err instanceof Exception ex ? ex : null);
+            } else if (op.getFailedCount() > 0) {
+                StringBuilder msg = new StringBuilder("Could not " + (op.isMove() ? "move " : "copy ") + op.getFailedCount()
+                        + " item(s) to " + targetDir.getFileName() + ":");
+                op.getFailures().stream().limit(10).forEach(f ->
+                        msg.append("\n").append(f.path()).append(" (").append(f.error().getMessage()).append(")"));
+                showError(msg.toString(), null);
+            } else if (op.isCancelled()) {
+                setStatus(verb + " cancelled after " + summary);
+            } else {
+                setStatus((op.isMove() ? "Moved: " : "Copied: ") + summary);
+            }
+        }));
+    }
+
+    private void deleteSelected() {                    // Deletes the selected files and folders (recursively for folders) as one job.
+        List<Path> targets = getSelectedPaths();
+        if (targets.isEmpty()) {
             showInfo("Select a file or folder to delete.");
             return;
         }
 
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Delete Confirmation");
-        confirm.setHeaderText("Are you sure you want to delete?");
-        confirm.setContentText(target.toAbsolutePath().toString());
+        confirm.setHeaderText(targets.size() == 1 ? "Are you sure you want to delete?"
+                : "Are you sure you want to delete these " + targets.size() + " items?");
+        confirm.setContentText(listPaths(targets));
 
         confirm.showAndWait().ifPresent(result -> {
             if (result == ButtonType.OK) {
-                try {
-                    fileService.deleteFile(target);
-                    setStatus("Deleted: " + target.getFileName());
-                    if (target.equals(currentOpenFile)) {
+                for (Path target : targets) {
+                    if (currentOpenFile != null && currentOpenFile.startsWith(target)) {
+                        stopFollowing();
                         currentOpenFile = null;
                         fileContentArea.clear();
                     }
-                    refreshTree();
+                    if (largeFileEditor != null && largeFileEditor.getFile().getPath().startsWith(target)) {
+                        showEditor();
+                    }
+                }
+                try {
+                    DeleteOperation op = fileService.deleteFilesAsync(targets);
+                    trackDelete(op);
                 } catch (IOException ex) {
-                    showError("Failed to delete: " + target.getFileName(), ex);
+                    showError("Failed to delete: " + describe(targets), ex);
                 }
             }
         });
     }
 
-    private void renameSelected() {                 // Renames the selected file or folder.
-        Path target = getSelectedPath();
-        if (target == null) {
+    private void trackDelete(DeleteOperation op) {      // Shows live progress with a Cancel button, then refreshes once the delete finishes.
+        String target = describe(op.getRoots());
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(200), e ->
+                setStatus("Deleting " + target + ": " + (!op.isStarted() ? "queued behind other operations"
+                        : op.getDeletedCount() + " item(s) removed"
+                        + (op.getFailedCount() > 0 ? ", " + op.getFailedCount() + " failed" : "")))));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        btnCancelOperation.setOnAction(e -> op.cancel());
+        btnCancelOperation.setVisible(true);
+
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            progress.stop();
+            btnCancelOperation.setVisible(false);
+            fileService.applyChanges(op.getRoots());
+            if (err != null) {
+                showError("Failed to delete: " + target, err instanceof Exception ex ? ex : null);
+            } else if (op.getFailedCount() > 0) {
+                StringBuilder msg = new StringBuilder("Could not delete " + op.getFailedCount() + " item(s) under "
+                        + target + ":");
+                op.getFailures().stream().limit(10).forEach(f ->
+                        msg.append("\n").append(f.path()).append(" (").append(f.error().getMessage()).append(")"));
+                showError(msg.toString(), null);
+            } else if (op.isCancelled()) {
+                setStatus("Delete cancelled after " + op.getDeletedCount() + " item(s): " + target);
+            } else {
+                setStatus("Deleted: " + target + " (" + op.getDeletedCount() + " item(s))");
+            }
+        }));
+    }
+
+    private void renameSelected() {                 // Renames the selected file or folder; several selected items get a name pattern.
+        List<Path> targets = getSelectedPaths();
+        if (targets.isEmpty()) {
             showInfo("Select a file or folder to renameFile.");
             return;
         }
+        if (targets.size() > 1) {
+            renameAll(targets);
+            return;
+        }
+        Path target = targets.get(0);
 
         TextInputDialog dialog = new TextInputDialog(target.getFileName().toString());
         dialog.setTitle("Rename");
@@ -378,27 +914,254 @@ public class FileManagerApp extends Application{
                 showInfo("New name cannot be empty.");
                 return;
             }
+            runJob("Rename " + target.getFileName() + " to " + trimmed, Job.Priority.NORMAL,
+                    job -> fileService.renameFile(target, trimmed), (Path renamed) -> {
+                        setStatus("Renamed to: " + renamed.getFileName());
+                        if (currentOpenFile != null && currentOpenFile.equals(target)) {
+                            currentOpenFile = renamed;
+                        }
+                        fileService.applyChange(target);
+                        fileService.applyChange(renamed);
+                        selectPathInTree(renamed);
+                    }, "Failed to renameFile: " + target.getFileName());
+        });
+    }
+
+    private void renameAll(List<Path> targets) {    // Renames many items at once with one pattern; each keeps its folder.
+        TextInputDialog dialog = new TextInputDialog("{name}-{n}{ext}");
+        dialog.setTitle("Rename " + targets.size() + " Items");
+        dialog.setHeaderText("{name} = current name without extension, {ext} = extension (with its dot),\n"
+                + "{n} = 1, 2, 3... in tree order ({n:3} = 001, 002...)");
+        dialog.setContentText("New names:");
+
+        dialog.showAndWait().ifPresent(text -> {
             try {
-                Path renamed = fileService.renameFile(target, trimmed);
-                setStatus("Renamed to: " + renamed.getFileName());
-                if (currentOpenFile != null && currentOpenFile.equals(target)) {
-                    currentOpenFile = renamed;
-                }
-                refreshTree();
-                selectPathInTree(renamed);
+                BatchOperation op = fileService.renameAllAsync(targets, NamePattern.parse(text.trim()), 1);
+                trackBatch(op);
+            } catch (IllegalArgumentException ex) {
+                showInfo("Invalid name pattern: " + ex.getMessage());
+            } catch (IOException ex) {
+                showError("Cannot rename " + targets.size() + " items", ex);
+            }
+        });
+    }
+
+    private void createFromTemplate() {             // Creates numbered files in the current folder: copies of the selected file, or empty ones.
+        Path dir = getCurrentDirectory();
+        Path selected = getSelectedPath();
+        Path template = selected != null && Files.isRegularFile(selected) ? selected : null;
+
+        TextField patternField = new TextField(template == null ? "file-{n:2}.txt" : "{name}-{n:2}{ext}");
+        TextField countField = new TextField("10");
+        TextField firstField = new TextField("1");
+        GridPane grid = new GridPane();
+        grid.setHgap(8);
+        grid.setVgap(8);
+        grid.addRow(0, new Label("Names:"), patternField);
+        grid.addRow(1, new Label("How many:"), countField);
+        grid.addRow(2, new Label("First number:"), firstField);
+        grid.add(new Label("{n} is the counter ({n:3} = 001); {name} and {ext} come from the template file."), 0, 3, 2, 1);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("New Files from Template");
+        dialog.setHeaderText((template == null ? "Create empty files in:\n" : "Create copies of " + template.getFileName() + " in:\n")
+                + dir.toAbsolutePath());
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) {
+            return;
+        }
+
+        int count;
+        long first;
+        try {
+            count = Integer.parseInt(countField.getText().trim());
+            first = Long.parseLong(firstField.getText().trim());
+        } catch (NumberFormatException ex) {
+            showInfo("How many and the first number must be whole numbers.");
+            return;
+        }
+        if (count < 1 || count > 100_000) {
+            showInfo("Create between 1 and 100000 files at a time.");
+            return;
+        }
+        try {
+            BatchOperation op = fileService.createFromTemplateAsync(dir, template, NamePattern.parse(patternField.getText().trim()), first, count);
+            trackBatch(op);
+        } catch (IllegalArgumentException ex) {
+            showInfo("Invalid name pattern: " + ex.getMessage());
+        } catch (IOException ex) {
+            showError("Cannot create files in: " + dir.getFileName(), ex);
+        }
+    }
+
+    private void zipSelected() {                    // Packs the selected files and folders into a new zip next to them.
+        List<Path> sources = getSelectedPaths();
+        if (sources.isEmpty()) {
+            showInfo("Select files or folders to compress.");
+            return;
+        }
+        Path first = sources.get(0);
+        Path dir = fileService.isInArchive(first) ? null : first.toAbsolutePath().getParent();
+        if (dir == null) {
+            dir = fileTreeView.getRoot() == null ? Paths.get(System.getProperty("user.home")) : fileTreeView.getRoot().getValue();
+        }
+        TextInputDialog dialog = new TextInputDialog((sources.size() == 1 ? first.getFileName() : "Archive") + ".zip");
+        dialog.setTitle("Compress to Zip");
+        dialog.setHeaderText("Compress " + describe(sources) + " into a new zip in:\n" + dir.toAbsolutePath());
+        dialog.setContentText("Zip name:");
+        Path targetDir = dir;
+        dialog.showAndWait().ifPresent(name -> {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || NamePattern.checkName(trimmed) != null) {
+                showInfo("Enter a file name for the zip.");
+                return;
+            }
+            try {
+                trackZip(fileService.zipAsync(sources, targetDir.resolve(trimmed)));
             } catch (IOException ex) {
-                showError("Failed to renameFile: " + target.getFileName(), ex);
+                showError("Cannot create zip: " + trimmed, ex);
             }
         });
     }
 
+    private void trackZip(ZipOperation op) {        // Progress with a Cancel button; the new zip shows up in the tree when done.
+        String name = op.getTarget().getFileName().toString();
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(200), e ->
+                setStatus("Compressing to " + name + ": " + (!op.isStarted() ? "queued behind other operations"
+                        : op.getEntriesWritten() + " entries, " + (op.getBytesWritten() >> 20) + " MB (" + op.getThroughput() + ")"))));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        btnCancelOperation.setOnAction(e -> op.cancel());
+        btnCancelOperation.setVisible(true);
+
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            progress.stop();
+            btnCancelOperation.setVisible(false);
+            fileService.applyChange(op.getTarget());
+            String summary = op.getEntriesWritten() + " entries, " + DiskUsagePane.formatSize(op.getBytesWritten()) + " in "
+                    + String.format("%.1f s", op.getElapsedSeconds()) + " (" + op.getThroughput() + ")"
+                    + (op.getSkippedCount() > 0 ? ", " + op.getSkippedCount() + " links/special files skipped" : "");
+            if (err != null) {
+                showError("Failed to create zip: " + name, err instanceof Exception ex ? ex : null);
+            } else if (op.getFailedCount() > 0) {
+                StringBuilder msg = new StringBuilder("Could not add " + op.getFailedCount() + " item(s) to " + name + ":");
+                op.getFailures().stream().limit(10).forEach(f ->
+                        msg.append("\n").append(f.path()).append(" (").append(f.error().getMessage()).append(")"));
+                showError(msg.toString(), null);
+            } else if (op.isCancelled()) {
+                setStatus("Zip cancelled: " + name);
+            } else {
+                setStatus("Created " + name + ": " + summary);
+            }
+        }));
+    }
+
+    private void trackBatch(BatchOperation op) {    // Progress with a Cancel button; one tree update for everything the batch touched.
+        Timeline progress = new Timeline(new KeyFrame(Duration.millis(200), e ->
+                setStatus(op.getVerb() + ": " + (!op.isStarted() ? "queued behind other operations"
+                        : op.getDoneCount() + " of " + op.getTotalCount() + " done"
+                        + (op.getFailedCount() > 0 ? ", " + op.getFailedCount() + " failed" : "")))));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        btnCancelOperation.setOnAction(e -> op.cancel());
+        btnCancelOperation.setVisible(true);
+
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            progress.stop();
+            btnCancelOperation.setVisible(false);
+            fileService.applyChanges(op.getChanged());
+            if (currentOpenFile != null && op.getResult(currentOpenFile) != null) {
+                currentOpenFile = op.getResult(currentOpenFile);    // the open file was renamed
+            }
+            String summary = op.getDoneCount() + " of " + op.getTotalCount() + " in " + String.format("%.1f s", op.getElapsedSeconds());
+            if (err != null) {
+                showError("Failed: " + op.getVerb(), err instanceof Exception ex ? ex : null);
+            } else if (op.getFailedCount() > 0) {
+                StringBuilder msg = new StringBuilder(op.getVerb() + ": " + op.getFailedCount() + " of " + op.getTotalCount()
+                        + " item(s) failed:");
+                op.getFailures().stream().limit(10).forEach(f ->
+                        msg.append("\n").append(f.path()).append(" (").append(f.error().getMessage()).append(")"));
+                showError(msg.toString(), null);
+            } else if (op.isCancelled()) {
+                setStatus(op.getVerb() + " cancelled after " + summary);
+            } else {
+                setStatus(op.getVerb() + ": " + summary);
+            }
+        }));
+    }
+
     // Helpers
 
+    private <T> Job<T> runJob(String name, Job.Priority priority, Job.Work<T> work, Consumer<T> onSuccess, String failure) {
+        Job<T> job = fileService.getJobs().submit(name, priority, work);    // Runs off the FX thread; the outcome is applied back on it.
+        job.completion().whenComplete((result, err) -> Platform.runLater(() -> {
+            if (job.isCancelled()) {
+                return;                                     // superseded or cancelled from the operations panel
+            }
+            if (err != null) {
+                showError(failure, err instanceof Exception ex ? ex : null);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+        return job;
+    }
+
+    private void showEditor() {                              // Puts the regular text editor back in the right pane, closing any large-file editor.
+        if (largeFileEditor != null) {
+            largeFileEditor.close();
+            rightPane.getChildren().set(1, fileContentArea);
+            largeFileEditor = null;
+        }
+    }
+
+    private void showLargeFile(LargeFileEditor viewer) {     // Swaps the editor for the paged large-file editor.
+        showEditor();
+        largeFileEditor = viewer;
+        VBox.setVgrow(viewer, Priority.ALWAYS);
+        rightPane.getChildren().set(1, viewer);
+    }
+
     private Path getSelectedPath() {                         // Returns the Path of the currently selected tree node (or null).
         TreeItem<Path> selectedItem = fileTreeView.getSelectionModel().getSelectedItem();
         return selectedItem == null ? null : selectedItem.getValue();
     }
 
+    private List<Path> getSelectedPaths() {                  // All selected paths in tree order, minus those inside another selected folder.
+        List<TreeItem<Path>> items = new ArrayList<>(fileTreeView.getSelectionModel().getSelectedItems());
+        items.removeIf(item -> item == null || item.getValue() == null || FileTreeItem.isPlaceholder(item));
+        items.sort(Comparator.comparingInt(fileTreeView::getRow));
+        Set<Path> selected = new HashSet<>();
+        items.forEach(item -> selected.add(item.getValue()));
+        List<Path> paths = new ArrayList<>();
+        for (TreeItem<Path> item : items) {
+            Path ancestor = item.getValue().getParent();
+            while (ancestor != null && !selected.contains(ancestor)) {
+                ancestor = ancestor.getParent();
+            }
+            if (ancestor == null) {
+                paths.add(item.getValue());                 // deleting or moving the folder already covers its contents
+            }
+        }
+        return paths;
+    }
+
+    private static String describe(List<Path> paths) {      // "notes.txt" for one item, "5 items" for several.
+        return paths.size() == 1 ? String.valueOf(paths.get(0).getFileName()) : paths.size() + " items";
+    }
+
+    private static String listPaths(List<Path> paths) {     // Up to 10 full paths, one per line, for confirmations.
+        StringBuilder sb = new StringBuilder();
+        paths.stream().limit(10).forEach(p -> sb.append(sb.isEmpty() ? "" : "\n").append(p.toAbsolutePath()));
+        if (paths.size() > 10) {
+            sb.append("\n... and ").append(paths.size() - 10).append(" more");
+        }
+        return sb.toString();
+    }
+
     private Path getCurrentDirectory() {                 // Returns the directory that should be used as the target for create operations.
         Path selected = getSelectedPath();               // If a file is selected, its parent directory is returned.
         if (selected == null) {
@@ -412,6 +1175,18 @@ public class FileManagerApp extends Application{
         }
     }
 
+    private void showFileFinder() {                         // Ctrl+P: fuzzy-find a file anywhere under the root and jump to it.
+        TreeItem<Path> root = fileTreeView.getRoot();
+        if (root == null) return;
+        FileFinderDialog finder = new FileFinderDialog(fileService, root.getValue().toAbsolutePath().normalize());
+        finder.showAndWait().ifPresent(path -> {
+            selectPathInTree(path);
+            if (Files.isRegularFile(path)) {
+                openFile(path);
+            }
+        });
+    }
+
     private void selectPathInTree(Path path) {              // Selects and expands the tree to the given path.
         TreeItem<Path> root = fileTreeView.getRoot();
         if (root == null || path == null) return;
@@ -424,31 +1199,27 @@ public class FileManagerApp extends Application{
         }
 
         root.setExpanded(true);
-        TreeItem<Path> current = root;
-
         Path rel = rootPath.relativize(target);
-        Path running = rootPath;
-
-        for (Path part : rel) {
-            running = running.resolve(part);
-            current.getChildren().size();
-
-            TreeItem<Path> next = null;
-            for (TreeItem<Path> child : current.getChildren()) {
-                Path childPath = child.getValue().toAbsolutePath().normalize();
-                if (childPath.equals(running)) {
-                    next = child;
-                    break;
-                }
-            }
-            if (next == null) {
-                return;
-            }
-            next.setExpanded(true);
-            current = next;
+        selectPathStep(root, rel.iterator(), rootPath);
+    }
+
+    private void selectPathStep(TreeItem<Path> current, Iterator<Path> parts, Path running) {    // Walks one level down once that level's children are loaded.
+        if (!parts.hasNext()) {
+            fileTreeView.getSelectionModel().clearSelection();    // MULTIPLE mode: select() alone adds to what was selected
+            fileTreeView.getSelectionModel().select(current);
+            return;
         }
+        Path next = running.resolve(parts.next());
+        Path childPath = current.getValue().resolve(next.getFileName());    // the key the node was created with
 
-        fileTreeView.getSelectionModel().select(current);
+        FileTree.whenChildrenLoaded(current, () -> {
+            TreeItem<Path> match = FileTree.findChild(current, childPath);
+            if (match == null) {
+                return;
+            }
+            match.setExpanded(true);
+            selectPathStep(match, parts, next);
+        });
     }
 
     // Status and errors
@@ -458,6 +1229,12 @@ public class FileManagerApp extends Application{
         statusLabel.setStyle("-fx-text-fill: -fx-text-base-color; -fx-padding: 3 8 3 8;");
     }
 
+    private void updateCacheStats() {              // e.g. "Cache: 12 hits, 3 misses, 4.2 MB / 64.0 MB"
+        ContentCache cache = fileService.getContentCache();
+        cacheLabel.setText("Cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, "
+                + DiskUsagePane.formatSize(cache.getFootprint()) + " / " + DiskUsagePane.formatSize(cache.getBudget()));
+    }
+
     private void showError(String msg, Exception ex) {   // Displays an error both in the status bar and via an alert dialog.
         System.err.println(msg);
         if (ex != null) {
@@ -484,6 +1261,17 @@ public class FileManagerApp extends Application{
         alert.showAndWait();
     }
 
+    @Override
+    public void stop() {                               // Persists the listing index (if enabled) when the window closes.
+        try {
+            fileService.closeIndex();
+        } catch (IOException e) {
+            System.err.println(e.getMessage());         // the window is gone: nowhere else to report it
+        }
+        fileService.closeArchives();
+        fileService.getMetrics().unregisterMBean();
+    }
+
     // Main
 
     public static void main(String[] args) {
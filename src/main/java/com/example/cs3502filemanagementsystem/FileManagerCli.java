@@ -0,0 +1,408 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless entry point: newline-delimited JSON commands on stdin, one JSON result per command on stdout.
+// Never touches a JavaFX class (FileService does not either), so it runs on machines without a display or JavaFX at all.
+public final class FileManagerCli {
+
+    private static final String USAGE = """
+            Usage: FileManagerCli [--jobs N] [--input FILE]
+            Reads one JSON command per line (stdin, or FILE) and writes one JSON result per line to stdout.
+              {"id":1,"op":"list","path":"/data"}
+              {"id":2,"op":"read","path":"notes.txt"}
+              {"id":3,"op":"write","path":"notes.txt","content":"hello\\n"}
+              {"id":4,"op":"delete","paths":["old","tmp/cache"]}
+              {"id":5,"op":"rename","path":"draft.txt","name":"final.txt"}
+              {"id":6,"op":"search","path":"src","query":"TODO","regex":false,"caseSensitive":false,"maxResults":1000}
+              {"id":7,"op":"du","path":"/var/log","depth":1}
+            Commands run concurrently unless they touch the same tree and one of them changes it; those run in input order.
+            Results: {"id":..,"op":..,"ok":true,"ms":..,"result":{..}} or {"id":..,"op":..,"ok":false,"error":{"type":..,"message":..}}
+            (search also streams {"id":..,"event":"match",..} lines). Exit status: 0 when every command succeeded, 1 otherwise.""";
+
+    private static final int MAX_PENDING_PER_JOB = 64;      // commands read ahead per worker before reading blocks
+
+    // One input line; paths are the trees it reads (or changes, when writes is set)
+    private record Command(Object id, String op, Map<String, Object> args, List<Path> paths, boolean writes,
+                           CompletableFuture<Void> done) {
+    }
+
+    private final FileService service = new FileService();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore running;                        // commands executing at once
+    private final Semaphore pending;                        // commands read but not finished (bounds the read-ahead)
+    private final List<Command> inFlight = new ArrayList<>();    // reader thread only
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Writer out;
+
+    private FileManagerCli(int jobs, Writer out) {
+        this.running = new Semaphore(jobs);
+        this.pending = new Semaphore(jobs * MAX_PENDING_PER_JOB);
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int jobs = Runtime.getRuntime().availableProcessors();
+        Path input = null;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("-h") || option.equals("--help")) {
+                System.out.println(USAGE);
+                return;
+            }
+            boolean jobsOption = option.equals("-j") || option.equals("--jobs");
+            boolean inputOption = option.equals("-i") || option.equals("--input");
+            if (!(jobsOption || inputOption) || i + 1 == args.length) {
+                usageError();
+            }
+            String value = args[++i];
+            if (jobsOption) {
+                jobs = parseJobs(value);
+            } else {
+                input = Path.of(value);
+            }
+        }
+        // stdout without System.out's per-write locking and platform charset: JSON is always UTF-8
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16);
+        FileManagerCli cli = new FileManagerCli(jobs, out);
+        int status;
+        try (BufferedReader in = input == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            status = cli.run(in);
+        }
+        out.flush();
+        System.exit(status);                                // search workers and job threads are daemons, but do not wait on them
+    }
+
+    private static int parseJobs(String s) {
+        try {
+            int jobs = Integer.parseInt(s);
+            if (jobs > 0) {
+                return jobs;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        usageError();
+        return 0;
+    }
+
+    private static void usageError() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    private int run(BufferedReader in) throws IOException {
+        long lineNumber = 0;
+        for (String line; (line = in.readLine()) != null; ) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Object id = lineNumber;                         // results are matched to commands by id (default: the line number)
+            Command command;
+            try {
+                if (!(Json.parse(line) instanceof Map<?, ?> parsed)) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> args = (Map<String, Object>) parsed;
+                id = args.getOrDefault("id", lineNumber);
+                command = command(id, args);
+            } catch (IllegalArgumentException e) {
+                failed.incrementAndGet();
+                emit(error(id, null, 0, "InvalidCommand", e.getMessage()));
+                continue;
+            }
+            schedule(command);
+        }
+        CompletableFuture.allOf(inFlight.stream().map(Command::done).toArray(CompletableFuture[]::new)).join();
+        service.closeArchives();
+        return failed.get() == 0 ? 0 : 1;
+    }
+
+    // Scheduling: a command waits only for earlier commands whose trees overlap its own when either one writes
+
+    private void schedule(Command command) {
+        pending.acquireUninterruptibly();
+        inFlight.removeIf(c -> c.done().isDone());
+        List<CompletableFuture<Void>> before = new ArrayList<>();
+        for (Command earlier : inFlight) {
+            if (conflicts(earlier, command)) {
+                before.add(earlier.done());
+            }
+        }
+        inFlight.add(command);
+        CompletableFuture.allOf(before.toArray(CompletableFuture[]::new))
+                .whenComplete((v, err) -> executor.execute(() -> execute(command)));    // a failed predecessor does not block it
+    }
+
+    private static boolean conflicts(Command a, Command b) {
+        if (!a.writes() && !b.writes()) {
+            return false;                                   // readers never wait for each other
+        }
+        for (Path p : a.paths()) {
+            for (Path q : b.paths()) {
+                if (p.startsWith(q) || q.startsWith(p)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void execute(Command command) {
+        running.acquireUninterruptibly();
+        long start = System.nanoTime();
+        try {
+            Object result = dispatch(command);
+            Map<String, Object> line = header(command.id(), command.op(), true, start);
+            line.put("result", result);
+            emit(line);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            emit(error(command.id(), command.op(), start, cause.getClass().getSimpleName(), cause.getMessage()));
+        } finally {
+            running.release();
+            command.done().complete(null);
+            pending.release();
+        }
+    }
+
+    // Commands
+
+    private static Command command(Object id, Map<String, Object> args) {
+        String op = string(args, "op");
+        List<Path> paths = new ArrayList<>();
+        boolean writes = switch (op) {
+            case "list", "read", "search", "du" -> {
+                paths.add(path(args, "path"));
+                yield false;
+            }
+            case "write" -> {
+                paths.add(path(args, "path"));
+                yield true;
+            }
+            case "delete" -> {
+                if (args.get("paths") instanceof List<?> list && !list.isEmpty()) {
+                    for (Object p : list) {
+                        paths.add(toPath(p));
+                    }
+                } else {
+                    paths.add(path(args, "path"));
+                }
+                yield true;
+            }
+            case "rename" -> {
+                Path source = path(args, "path");
+                paths.add(source);
+                paths.add(source.resolveSibling(string(args, "name")));
+                yield true;
+            }
+            default -> throw new IllegalArgumentException("Unknown op: " + op);
+        };
+        return new Command(id, op, args, List.copyOf(paths), writes, new CompletableFuture<>());
+    }
+
+    private Object dispatch(Command c) throws IOException {
+        Map<String, Object> args = c.args();
+        Path path = c.paths().get(0);
+        return switch (c.op()) {
+            case "list" -> list(path);
+            case "read" -> {
+                String content = service.readFileContent(path);
+                yield object("path", service.describePath(path), "content", content);
+            }
+            case "write" -> write(path, string(args, "content"), bool(args, "create", true));
+            case "delete" -> {
+                DeleteOperation op = service.deleteFilesAsync(c.paths());
+                op.await();
+                yield object("deleted", op.getDeletedCount());
+            }
+            case "rename" -> object("path", service.renameFile(path, string(args, "name")).toString());
+            case "search" -> search(c.id(), path, args);
+            case "du" -> {
+                DiskUsageScan scan = service.diskUsageAsync(path, bool(args, "cache", true));
+                scan.await();
+                yield usage(scan.getRoot(), (int) number(args, "depth", 1));
+            }
+            default -> throw new IllegalStateException(c.op());
+        };
+    }
+
+    private Map<String, Object> list(Path dir) throws IOException {
+        BasicFileAttributes attrs = service.readAttributes(dir);
+        if (attrs == null) {
+            throw new NoSuchFileException(dir.toString());
+        }
+        if (!attrs.isDirectory() && !service.isBrowsableArchive(dir, attrs)) {
+            throw new NotDirectoryException(dir.toString());
+        }
+        List<FileEntry> children = service.listSortedChildren(dir);
+        List<Map<String, Object>> entries = new ArrayList<>(children.size());
+        for (FileEntry child : children) {
+            BasicFileAttributes a = child.attributes();
+            entries.add(object("name", child.name(),
+                    "type", a == null ? "unknown" : a.isDirectory() ? "directory" : a.isRegularFile() ? "file" : a.isSymbolicLink() ? "symlink" : "other",
+                    "size", a == null ? 0 : a.size(),
+                    "modified", a == null ? 0 : a.lastModifiedTime().toMillis()));
+        }
+        return object("path", service.describePath(dir), "entries", entries);
+    }
+
+    private Map<String, Object> write(Path file, String content, boolean create) throws IOException {
+        if (create && !Files.exists(file)) {
+            Path parent = file.getParent();
+            if (parent == null) {
+                throw new NoSuchFileException(file.toString());
+            }
+            service.createFile(parent, file.getFileName().toString());
+        }
+        SaveOperation op = service.saveFileAsync(file, content);
+        op.await();
+        return object("path", file.toString(), "bytes", op.getBytesWritten());
+    }
+
+    private Map<String, Object> search(Object id, Path root, Map<String, Object> args) {
+        String query = string(args, "query");
+        if (query.isEmpty()) {
+            throw new IllegalArgumentException("Empty query");
+        }
+        ContentSearch.Options options = new ContentSearch.Options(query, bool(args, "regex", false),
+                bool(args, "caseSensitive", false), (int) number(args, "maxResults", 1000),
+                Runtime.getRuntime().availableProcessors());
+        ContentSearch search = service.searchContent(root, options, match -> {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("id", id);
+            line.put("event", "match");
+            line.put("file", match.file().toString());
+            line.put("line", match.line());
+            line.put("preview", match.preview());
+            emit(line);
+        });
+        search.completion().join();
+        return object("matches", search.getResultCount(), "truncated", search.hitResultLimit(),
+                "files", search.getFilesScanned(), "bytes", search.getBytesScanned());
+    }
+
+    private static Map<String, Object> usage(DiskUsageScan.Node node, int depth) {    // Totals, with subfolders (largest first) down to depth.
+        Map<String, Object> result = object("path", node.getPath().toString(), "bytes", node.getBytes(),
+                "files", node.getFiles(), "folders", node.getFolders());
+        if (depth > 0) {
+            List<DiskUsageScan.Node> children = new ArrayList<>(node.getChildren());
+            children.sort(Comparator.comparingLong(DiskUsageScan.Node::getBytes).reversed());
+            List<Map<String, Object>> rows = new ArrayList<>(children.size());
+            for (DiskUsageScan.Node child : children) {
+                rows.add(usage(child, depth - 1));
+            }
+            result.put("children", rows);
+        }
+        return result;
+    }
+
+    // Arguments
+
+    private static String string(Map<String, Object> args, String key) {
+        if (!(args.get(key) instanceof String s)) {
+            throw new IllegalArgumentException("Missing string field \"" + key + "\"");
+        }
+        return s;
+    }
+
+    private static Path path(Map<String, Object> args, String key) {
+        return toPath(args.get(key) == null ? null : string(args, key));
+    }
+
+    private static Path toPath(Object value) {              // Relative paths resolve against the working directory.
+        if (!(value instanceof String s) || s.isEmpty()) {
+            throw new IllegalArgumentException("Missing path");
+        }
+        return Path.of(s).toAbsolutePath().normalize();
+    }
+
+    private static boolean bool(Map<String, Object> args, String key, boolean defaultValue) {
+        Object value = args.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Boolean b)) {
+            throw new IllegalArgumentException("Field \"" + key + "\" must be true or false");
+        }
+        return b;
+    }
+
+    private static long number(Map<String, Object> args, String key, long defaultValue) {
+        Object value = args.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Long n) || n < 0 || n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Field \"" + key + "\" must be a non-negative integer");
+        }
+        return n;
+    }
+
+    // Output
+
+    private static Map<String, Object> object(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static Map<String, Object> header(Object id, String op, boolean ok, long startNanos) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", id);
+        line.put("op", op);
+        line.put("ok", ok);
+        line.put("ms", startNanos == 0 ? 0.0 : Math.round((System.nanoTime() - startNanos) / 1e3) / 1e3);
+        return line;
+    }
+
+    private static Map<String, Object> error(Object id, String op, long startNanos, String type, String message) {
+        Map<String, Object> line = header(id, op, false, startNanos);
+        line.put("error", object("type", type, "message", message));
+        return line;
+    }
+
+    private void emit(Map<String, Object> line) {           // One line per result, flushed so consumers see results as they complete.
+        String json = Json.write(line);
+        synchronized (out) {
+            try {
+                out.write(json);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // stdout is gone (e.g. the reading end of a pipe exited): keep running so the exit status is still right
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.cs3502filemanagementsystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// One finished file manager operation, emitted only while a JFR recording has it enabled.
+// The time taken is a field (elapsed) because the operation was timed before anyone knew a recording would want it.
+@Name("com.example.filemanager.FileOperation")
+@Label("File Operation")
+@Category({"File Manager"})
+@Description("A FileService call or UI action handler, with its duration and data volume")
+@StackTrace(false)
+class FileOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("FX Thread")
+    @Description("Whether the operation ran on the JavaFX application thread")
+    boolean fxThread;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    @Label("Entries")
+    long entries;
+}
@@ -1,169 +1,1140 @@
 package com.example.cs3502filemanagementsystem;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.scene.control.TreeItem;
-
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.util.Comparator;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class FileService {
 
-    // Tree building
+    // Directory listings run on virtual threads so a slow (e.g. network) directory never blocks the FX thread
+    private final ExecutorService listingExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public TreeItem<Path> createNode(Path path) {            // Creates a TreeItem<Path> that lazily loads its children.
-        return new TreeItem<>(path){                         // Directories are expanded only when needed to keep the UI responsive
-            private boolean isFirstTimeChildren = true;
-            private boolean isFirstTimeLeaf = true;
-            private boolean leaf;
+    // User-visible operations (open, save, create, rename, delete, copy) run as prioritized jobs
+    private final JobScheduler jobs = new JobScheduler(Math.min(4, Runtime.getRuntime().availableProcessors()));
 
-            @Override
-            // Lazily compute the children once
-            public ObservableList<TreeItem<Path>> getChildren() {
-                if (isFirstTimeChildren) {
-                    isFirstTimeChildren = false;
-                    super.getChildren().setAll(buildChildren(this));
-                }
-                return super.getChildren();
-            }
+    // Latency and volume per operation (Diagnostics tab, JMX, JFR); handles are looked up once so recording never allocates
+    private final OperationMetrics metrics = new OperationMetrics();
+    private final OperationMetrics.Op statOp = metrics.op("stat", OperationMetrics.Unit.NONE, false);    // per entry: too many for JFR
+    private final OperationMetrics.Op listOp = metrics.op("listChildren", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op listColumnsOp = metrics.op("listColumns", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op readOp = metrics.op("readFileContent", OperationMetrics.Unit.BYTES_READ);
+    private final OperationMetrics.Op prefetchOp = metrics.op("prefetch", OperationMetrics.Unit.BYTES_READ);
+    private final OperationMetrics.Op openMappedOp = metrics.op("openMapped");
+    private final OperationMetrics.Op saveOp = metrics.op("save", OperationMetrics.Unit.BYTES_WRITTEN);
+    private final OperationMetrics.Op createFileOp = metrics.op("createFile");
+    private final OperationMetrics.Op createDirectoryOp = metrics.op("createDirectory");
+    private final OperationMetrics.Op renameOp = metrics.op("renameFile");
+    private final OperationMetrics.Op deleteOp = metrics.op("delete", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op copyOp = metrics.op("copy", OperationMetrics.Unit.BYTES_WRITTEN);
+    private final OperationMetrics.Op moveOp = metrics.op("move", OperationMetrics.Unit.BYTES_WRITTEN);
+    private final OperationMetrics.Op diskUsageOp = metrics.op("diskUsage", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op searchOp = metrics.op("searchContent", OperationMetrics.Unit.BYTES_READ);
+    private final OperationMetrics.Op pathIndexOp = metrics.op("pathIndex", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op classifyOp = metrics.op("classify", OperationMetrics.Unit.NONE, false);
+    private final OperationMetrics.Op batchRenameOp = metrics.op("batchRename", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op batchCreateOp = metrics.op("batchCreate", OperationMetrics.Unit.ENTRIES);
+    private final OperationMetrics.Op openArchiveOp = metrics.op("openArchive");
+    private final OperationMetrics.Op zipOp = metrics.op("zip", OperationMetrics.Unit.BYTES_WRITTEN);
+    private final OperationMetrics.Op duplicatesOp = metrics.op("findDuplicates", OperationMetrics.Unit.BYTES_READ);
+
+    // Text/binary verdicts: by name (trie) when conclusive, else sniffed and cached per file key + mtime
+    private final FileClassifier classifier = new FileClassifier();
+    private volatile boolean asyncLoading = false;
+
+    // Files at or above this size open in the read-only memory-mapped viewer instead of being read into a String
+    private volatile long largeFileThreshold = Long.getLong("filemanager.largeFileThreshold", 16L << 20);
+
+    // Worker count for recursive deletes (directory deletes are mostly metadata I/O, so a few workers go a long way)
+    private volatile int deleteParallelism = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+    // Worker count for batch renames/creates (one small metadata call per item)
+    private volatile int batchParallelism = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+    // Worker count for tree copies (each worker streams one file at a time with transferTo)
+    private volatile int copyParallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    // Worker count for zip creation (deflate is CPU-bound: one entry per core)
+    private volatile int zipParallelism = Runtime.getRuntime().availableProcessors();
+
+    // Zip/jar archives browsed as folders: open zipfs file systems, a few at a time (entries are read-only)
+    private final ArchiveCache archives = new ArchiveCache(Integer.getInteger("filemanager.openArchives", 8));
 
-            @Override
-            public boolean isLeaf() {         //Compute leaf-ness only once (files are leaves, directories aren't)
-                if (isFirstTimeLeaf) {
-                    isFirstTimeLeaf = false;
-                    leaf = !Files.isDirectory(getValue());
+    // Worker count for disk usage scans (like deletes: metadata I/O, one listing per worker)
+    private volatile int diskUsageParallelism = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+    // Folder listings from earlier disk usage scans, keyed by path and checked against the folder's mtime;
+    // least recently used folders are dropped past the limit (shared by the scan workers, hence synchronized)
+    private static final int DISK_USAGE_CACHE_ENTRIES = Integer.getInteger("filemanager.diskUsageCacheEntries", 100_000);
+    private final Map<Path, DiskUsageScan.CachedDirectory> diskUsageCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, DiskUsageScan.CachedDirectory> eldest) {
+                    return size() > DISK_USAGE_CACHE_ENTRIES;
                 }
-                return leaf;
+            });
+
+    // Decoded text of recently opened files, served while size and mtime are unchanged
+    private final ContentCache contentCache = new ContentCache(Long.getLong("filemanager.contentCacheBytes", 64L << 20));
+    private volatile boolean prefetchText = false;
+    private static final int PREFETCH_MAX_FILES = 32;            // per expanded folder
+    private static final long PREFETCH_MAX_SIZE = 1L << 20;      // larger files are only read when opened
+
+    // Optional persistent listing cache for the current root (null when disabled)
+    private volatile MetadataIndex metadataIndex;
+
+    // Watches expanded directories so external changes show up without a full refresh (created on first use)
+    private DirectoryWatcher directoryWatcher;
+    private boolean watcherUnavailable;
+
+    // Inverted index for repeat content searches (one root at a time, loaded lazily)
+    private FullTextIndex fullTextIndex;
+
+    // Content hashes from earlier duplicate scans, so a re-run only reads new or changed files (one root at a time)
+    private HashCache hashCache;
+
+    // Worker count for duplicate scans (one size group per task; full hashes of a group's members also run in parallel)
+    private volatile int duplicateParallelism = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+    // Every path under the root, for the "Go to File" finder (built in the background on first use)
+    private CompletableFuture<PathIndex> pathIndex;
+    private Path pathIndexRoot;
+    private volatile boolean pathIndexStale;
+    private final AtomicLong pathIndexProgress = new AtomicLong();
+
+    // Saves per file: at most one running and one queued; further saves while queued just replace its content
+    private final Map<Path, SaveOperation> runningSaves = new HashMap<>();
+    private final Map<Path, SaveOperation> queuedSaves = new HashMap<>();
+
+    // When a large-file edit keeps the byte length, patch the changed ranges in place (journaled) instead of rewriting
+    private volatile boolean deltaSave = true;
+
+    // Tree loading (the nodes themselves are built by FileTree, so nothing here needs JavaFX)
+
+    public boolean isAsyncLoading() {
+        return asyncLoading;
+    }
+
+    public void setAsyncLoading(boolean asyncLoading) {       // When enabled, children are listed in the background behind a "Loading..." placeholder.
+        this.asyncLoading = asyncLoading;
+    }
+
+    public JobScheduler getJobs() {
+        return jobs;
+    }
+
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    Future<?> submitBackground(Runnable task) {             // Runs a task on the shared virtual-thread executor.
+        return listingExecutor.submit(task);
+    }
+
+    // Lists and sorts children so that folders come first, then files.
+    // Each entry is stat'ed exactly once; the attributes then drive sorting, leaf checks and sizes.
+    // An archive file lists the root inside it; entries of archives are never put in the persistent index.
+    List<FileEntry> listSortedChildren(Path f) {
+        if (f == null) {
+            return List.of();
+        }
+        boolean archive = ArchiveCache.isInArchive(f) || ArchiveCache.isArchiveName(f);
+        MetadataIndex index = archive ? null : metadataIndex;
+        BasicFileAttributes dirAttrs = index == null ? null : readAttributes(f);   // mtime taken before listing, so a racing change shows up as stale
+
+        List<FileEntry> children = new ArrayList<>();
+        long start = listOp.begin();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(archive ? archiveDirectory(f) : f)) {
+            for (Path child : stream) {
+                children.add(new FileEntry(child, readAttributes(child)));
             }
+        } catch (IOException | DirectoryIteratorException | ClosedFileSystemException e) {    // includes NotDirectoryException for files
+            return List.of();                                       // (closed: the archive was evicted mid-listing; re-listed on next expand)
+        } finally {
+            listOp.end(start, f, children.size());
+        }
+        children.sort(FileEntry.FOLDERS_FIRST);
+        if (index != null && dirAttrs != null) {
+            index.put(f, dirAttrs.lastModifiedTime().toMillis(), children);
+        }
+        return children;
+    }
 
-            // Lists and sorts children so that folders come first, then files
-            private ObservableList<TreeItem<Path>> buildChildren(TreeItem<Path> treeItem) {
-                Path f = treeItem.getValue();
-                if (f == null || !Files.isDirectory(f)) {
-                    return FXCollections.emptyObservableList();
-                }
+    private Path archiveDirectory(Path f) throws IOException {    // The folder to list for an archive file or an entry inside one.
+        if (ArchiveCache.isInArchive(f)) {
+            return archives.live(f);
+        }
+        if (!Files.isRegularFile(f)) {
+            return f;                                               // a folder that happens to be named like an archive
+        }
+        long start = openArchiveOp.begin();
+        try {
+            return archives.rootOf(f);                              // reads the central directory on first use only
+        } finally {
+            openArchiveOp.end(start, f, 0);
+        }
+    }
 
-                try (Stream<Path> stream = Files.list(f)) {
-                    List<Path> children = stream
-                            .sorted((p1, p2) -> {
-                                try {
-                                    boolean d1 = Files.isDirectory(p1);
-                                    boolean d2 = Files.isDirectory(p2);
-                                    if (d1 && !d2) return -1;
-                                    if (!d1 && d2) return 1;
-                                    return p1.getFileName().toString()
-                                            .compareToIgnoreCase(p2.getFileName().toString());
-                                } catch (Exception e) {
-                                    return 0;
-                                }
-                            })
-                            .collect(Collectors.toList());
-
-                    ObservableList<TreeItem<Path>> items = FXCollections.observableArrayList();
-                    for (Path child : children) {
-                        items.add(createNode(child));
+    boolean isBrowsableArchive(Path path, BasicFileAttributes attrs) {    // Shown as an expandable folder (decided by name: nothing is opened yet).
+        return attrs != null && attrs.isRegularFile() && attrs.size() > 0 && !ArchiveCache.isInArchive(path)
+                && ArchiveCache.isArchiveName(path);
+    }
+
+    public boolean isInArchive(Path path) {                     // True for entries inside a browsed zip/jar (read-only).
+        return path != null && ArchiveCache.isInArchive(path);
+    }
+
+    public String describePath(Path path) {                     // Absolute path for display, "lib.jar!/META-INF/..." for archive entries.
+        return archives.describe(path);
+    }
+
+    public ArchiveCache getArchives() {
+        return archives;
+    }
+
+    public void closeArchives() {                               // Closes every open archive (they reopen on demand).
+        archives.closeAll();
+    }
+
+    private static void requireWritable(Path path) throws IOException {    // Archive entries are browse-only.
+        if (ArchiveCache.isInArchive(path)) {
+            throw new AccessDeniedException(path.toString(), null, "entries inside an archive are read-only");
+        }
+    }
+
+    public Job<DirectoryColumns> listColumnsAsync(Path dir) {    // Lists a directory into a columnar store (details view) as an interactive job.
+        AtomicLong listed = new AtomicLong();
+        Job<DirectoryColumns> job = new Job<>("List " + dir.getFileName(), Job.Priority.INTERACTIVE, true,
+                j -> {
+                    long start = listColumnsOp.begin();
+                    try {
+                        DirectoryColumns columns = DirectoryColumns.load(dir, this, listed);
+                        j.checkCancelled();             // superseded while listing: drop it
+                        return columns;
+                    } finally {
+                        listColumnsOp.end(start, dir, listed.get());
                     }
-                    return items;
-                } catch (IOException e) {
-                    return FXCollections.emptyObservableList();
+                });
+        job.setProgress(null, () -> listed.get() + " entries");
+        return jobs.submit(job);
+    }
+
+    // Live updates
+
+    boolean watch(FileTreeItem item) {                         // Starts watching an expanded directory node (FX thread).
+        BasicFileAttributes attrs = item.getAttributes();
+        if (ArchiveCache.isInArchive(item.getValue()) || attrs == null || !attrs.isDirectory()) {
+            return false;                                       // archives (and their entries) have no watch support
+        }
+        if (directoryWatcher == null && !watcherUnavailable) {
+            try {
+                directoryWatcher = new DirectoryWatcher(this);
+            } catch (IOException | UnsupportedOperationException e) {
+                watcherUnavailable = true;
+            }
+        }
+        return directoryWatcher != null && directoryWatcher.register(item);
+    }
+
+    void unwatch(FileTreeItem item) {
+        if (directoryWatcher != null) {
+            directoryWatcher.unregister(item);
+        }
+    }
+
+    public void applyChange(Path path) {                        // Updates the parent's node for a path the app just created, renamed or deleted.
+        applyChanges(List.of(path));                            // (Same incremental update the watcher applies, just without waiting for the event.)
+    }
+
+    public void applyChanges(Collection<Path> paths) {          // Same for many paths at once: one update per parent folder, not one per path.
+        if (directoryWatcher == null) {
+            return;
+        }
+        Map<Path, List<Path>> byParent = new HashMap<>();
+        for (Path path : paths) {
+            Path dir = path.getParent();
+            if (dir != null) {
+                byParent.computeIfAbsent(dir, d -> new ArrayList<>()).add(path);
+            }
+        }
+        byParent.forEach((dir, changed) -> {
+            FileTreeItem parent = directoryWatcher.itemFor(dir);
+            if (parent == null) {
+                return;                                         // not shown, or not watched: it is re-listed when expanded
+            }
+            List<FileEntry> upserts = new ArrayList<>();
+            Set<Path> removed = new HashSet<>();
+            for (Path path : changed) {
+                BasicFileAttributes attrs = readAttributes(path);
+                if (attrs != null) {
+                    upserts.add(new FileEntry(path, attrs));
+                } else {
+                    removed.add(path);
                 }
             }
-        };
+            parent.applyChanges(upserts, removed);
+        });
+    }
+
+    // Persistent index
+
+    // Switches the persistent index to the given root (saving the previous one); the new index opens even if that save fails
+    public void openIndex(Path root) throws IOException {
+        MetadataIndex current = metadataIndex;
+        if (current != null && current.getRoot().equals(root.toAbsolutePath().normalize())) {
+            return;
+        }
+        try {
+            closeIndex();
+        } finally {
+            metadataIndex = MetadataIndex.open(root);
+        }
+    }
+
+    void invalidateIndex(Path dir) {                 // Drops a directory from the index after the app itself changed it.
+        MetadataIndex index = metadataIndex;
+        if (index != null && dir != null) {
+            index.remove(dir);
+        }
+        if (dir != null) {
+            diskUsageCache.remove(dir.toAbsolutePath().normalize());
+        }
+        pathIndexStale = true;
+    }
+
+    private void forgetContent(Path path) {                   // Drops cached text for a path (and anything under it) the app is about to change.
+        if (path != null) {
+            contentCache.removeTree(path.toAbsolutePath().normalize());
+        }
+    }
+
+    public void closeIndex() throws IOException {             // Saves and detaches the current index, if any (detached even if the save fails).
+        MetadataIndex index = metadataIndex;
+        metadataIndex = null;
+        if (index != null) {
+            try {
+                index.save();
+            } catch (IOException e) {
+                throw new IOException("Failed to save the folder index for " + index.getRoot() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isIndexEnabled() {
+        return metadataIndex != null;
+    }
+
+    List<FileEntry> cachedChildren(Path dir) {                // Children served straight from the index (null if not indexed).
+        MetadataIndex index = metadataIndex;
+        MetadataIndex.DirectoryRecord record = index == null ? null : index.get(dir);
+        return record == null ? null : record.children();
+    }
+
+    boolean isIndexStale(Path dir) {                          // True when the directory's mtime no longer matches the indexed one.
+        MetadataIndex index = metadataIndex;                  // (A directory's mtime changes when entries are added, removed or renamed.)
+        MetadataIndex.DirectoryRecord record = index == null ? null : index.get(dir);
+        if (record == null) {
+            return true;
+        }
+        BasicFileAttributes attrs = readAttributes(dir);
+        if (attrs == null || !attrs.isDirectory()) {
+            index.remove(dir);
+            return true;
+        }
+        return attrs.lastModifiedTime().toMillis() != record.mtime();
+    }
+
+    BasicFileAttributes readAttributes(Path path) {            // Reads attributes following links; falls back to the link itself when it is broken.
+        long start = statOp.begin();
+        try {
+            if (ArchiveCache.isInArchive(path)) {
+                return Files.readAttributes(archives.live(path), BasicFileAttributes.class);
+            }
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (ClosedFileSystemException e) {
+            return null;
+        } catch (IOException e) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException ignored) {
+                return null;
+            }
+        } finally {
+            statOp.end(start);
+        }
     }
 
     // Create
 
     public Path createFile(Path directory, String filename) throws IOException {     // Creates an empty file with the given name inside the provided directory.
+        requireWritable(directory);
         Path newFile = directory.resolve(filename);
-        if (Files.exists(newFile)){
-            throw new FileAlreadyExistsException("File already exists: " + newFile);
+        long start = createFileOp.begin();
+        try {
+            if (Files.exists(newFile)){
+                throw new FileAlreadyExistsException("File already exists: " + newFile);
+            }
+            invalidateIndex(directory);
+            return Files.createFile(newFile);
+        } finally {
+            createFileOp.end(start, newFile, 0);
         }
-        return Files.createFile(newFile);
     }
 
     public Path createDirectory(Path directory, String folderName) throws IOException {   // Creates a new directory with the given name inside the provided directory.
+        requireWritable(directory);
         Path newDir = directory.resolve(folderName);
-        if (Files.exists(newDir)) {
-            throw new FileAlreadyExistsException("Directory already exists: " + newDir);
+        long start = createDirectoryOp.begin();
+        try {
+            if (Files.exists(newDir)) {
+                throw new FileAlreadyExistsException("Directory already exists: " + newDir);
+            }
+            invalidateIndex(directory);
+            return Files.createDirectory(newDir);
+        } finally {
+            createDirectoryOp.end(start, newDir, 0);
         }
-        return Files.createDirectory(newDir);
     }
 
     // Read
 
+    public record TextContent(String text, long bytes) {   // A file's decoded text and the number of bytes it was decoded from.
+    }
+
     public String readFileContent(Path path) throws IOException {      // Reads the entire file as a UTF-8 string. Throws if path is missing or is a directory.
+        return readTextContent(path).text();
+    }
+
+    public TextContent readTextContent(Path path) throws IOException {  // Same, plus the byte length read (where a follower picks up, whatever the text became).
+        long start = readOp.begin();
+        long read = 0;
+        try {
+            TextContent content = readTextContentUntimed(path);
+            read = content.bytes();                                 // cache hits included
+            return content;
+        } finally {
+            readOp.end(start, path, read);
+        }
+    }
+
+    private TextContent readTextContentUntimed(Path path) throws IOException {
+        boolean inArchive = ArchiveCache.isInArchive(path);
+        if (inArchive) {
+            path = archives.live(path);                            // same read path: zipfs inflates the entry in memory
+        }
         if (!Files.exists(path)) {
             throw new NoSuchFileException("File not found: " + path);
         }
         if (Files.isDirectory(path)) {
             throw new IOException("Cannot read a directory as a file: " + path);
         }
-        return Files.readString(path, StandardCharsets.UTF_8);
+        if (!inArchive) {
+            DeltaPatch.recover(path);                              // finish a patch a crash interrupted, if any
+        }
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);    // taken before reading: a racing write only makes the entry stale
+        String cached = contentCache.get(key, attrs);
+        if (cached != null) {
+            return new TextContent(cached, attrs.size());          // entries only match while the size is unchanged
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        String content = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();    // malformed input throws, as Files.readString does
+        if (bytes.length == attrs.size()) {
+            contentCache.put(key, attrs, content);                 // (not when it grew or shrank while being read)
+        }
+        return new TextContent(content, bytes.length);
+    }
+
+    public ContentCache getContentCache() {
+        return contentCache;
+    }
+
+    public boolean isPrefetchText() {
+        return prefetchText;
+    }
+
+    public void setPrefetchText(boolean prefetchText) {        // When enabled, small text files in an expanded folder are read ahead into the cache.
+        this.prefetchText = prefetchText;
+    }
+
+    void prefetch(List<FileEntry> children) {                   // Reads a folder's small text files into the cache in the background (FX thread).
+        if (!prefetchText) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        for (FileEntry child : children) {
+            BasicFileAttributes attrs = child.attributes();
+            if (attrs != null && attrs.isRegularFile() && attrs.size() <= PREFETCH_MAX_SIZE && !isLargeFile(attrs.size())
+                    && isTextFile(child.path(), attrs) && !contentCache.contains(child.path().toAbsolutePath().normalize(), attrs)) {
+                files.add(child.path());
+                if (files.size() == PREFETCH_MAX_FILES) break;
+            }
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+        listingExecutor.submit(() -> {
+            for (Path file : files) {
+                long start = prefetchOp.begin();
+                long read = 0;
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    String text = Files.readString(file, StandardCharsets.UTF_8);
+                    read = attrs.size();
+                    if (!contentCache.offer(file.toAbsolutePath().normalize(), attrs, text)) {
+                        return;                                     // cache full: stop guessing
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Not decodable or gone: it is read (and reported) normally if it is ever opened
+                } finally {
+                    prefetchOp.end(start, file, read);
+                }
+            }
+        });
+    }
+
+    public MappedTextFile openMapped(Path path) throws IOException {     // Maps a large text file read-only and starts indexing its lines in the background.
+        if (Files.isDirectory(path)) {
+            throw new IOException("Cannot read a directory as a file: " + path);
+        }
+        if (ArchiveCache.isInArchive(path)) {
+            throw new IOException("Cannot map an entry inside an archive: " + describePath(path));
+        }
+        long start = openMappedOp.begin();
+        try {
+            DeltaPatch.recover(path);
+            MappedTextFile file = new MappedTextFile(path);
+            file.startIndexing(this);
+            return file;
+        } finally {
+            openMappedOp.end(start, path, 0);
+        }
+    }
+
+    public boolean isLargeFile(long size) {
+        return size >= largeFileThreshold;
+    }
+
+    public long getLargeFileThreshold() {
+        return largeFileThreshold;
+    }
+
+    public void setLargeFileThreshold(long bytes) {
+        this.largeFileThreshold = bytes;
     }
 
     // Update
 
-    public void writeFileContent(Path path, String content) throws IOException {      // Overwrites the file with the provided string content using UTF-8.
+    public void writeFileContent(Path path, String content) throws IOException {      // Atomically replaces the file with the provided string content using UTF-8.
+        saveFileAsync(path, content).await();
+    }
+
+    public SaveOperation saveFileAsync(Path path, CharSequence content) throws IOException {    // Saves in the background; see saveFileAsync(Path, Content).
+        return saveFileAsync(path, SaveOperation.Content.of(content));
+    }
+
+    public SaveOperation saveFileAsync(Path path, SaveOperation.Content content) throws IOException {   // Temp file + fsync + atomic rename (or a journaled in-place patch), off the calling thread.
+        requireWritable(path);
         if (!Files.exists(path)) {
             throw new NoSuchFileException("File not found: " + path);
         }
         if (Files.isDirectory(path)) {
             throw new IOException("Cannot write to a directory: " + path);
         }
-        Files.writeString(path, content, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING);
+        Path key = path.toAbsolutePath().normalize();
+        synchronized (runningSaves) {
+            SaveOperation queued = queuedSaves.get(key);
+            if (queued != null && queued.replaceContent(content)) {
+                return queued;                              // repeated Ctrl+S while a save runs: one more write, with the latest text
+            }
+            SaveOperation op = new SaveOperation(path, content, deltaSave);
+            if (runningSaves.containsKey(key)) {
+                queuedSaves.put(key, op);
+            } else {
+                startSave(key, op);
+            }
+            return op;
+        }
+    }
+
+    public boolean isDeltaSave() {
+        return deltaSave;
+    }
+
+    public void setDeltaSave(boolean deltaSave) {
+        this.deltaSave = deltaSave;
+    }
+
+    private void startSave(Path key, SaveOperation op) {     // Caller holds the runningSaves lock.
+        runningSaves.put(key, op);
+        contentCache.remove(key);
+        op.afterWrite(() -> contentCache.remove(key));      // a read that raced the write may have cached the old text
+        Job<Void> job = new Job<>("Save " + key.getFileName(), Job.Priority.NORMAL, false, j -> {    // a started save always finishes
+            long start = saveOp.begin();
+            try {
+                op.run();
+                op.await();
+                return null;
+            } finally {
+                saveOp.end(start, key, op.getBytesWritten());
+                invalidateIndex(key.getParent());
+                synchronized (runningSaves) {
+                    runningSaves.remove(key);
+                    SaveOperation next = queuedSaves.remove(key);
+                    if (next != null) {
+                        startSave(key, next);
+                    }
+                }
+            }
+        });
+        job.setProgress(() -> (double) op.getBytesWritten() / Math.max(1, op.getEstimatedSize()),
+                () -> (op.getBytesWritten() >> 10) + " KB written" + (op.isPatchedInPlace() ? " (patched in place)" : ""));
+        jobs.submit(job);
     }
 
     // Delete
 
     public void deleteFile(Path path) throws IOException {              // Deletes a file or a directory tree (children first, then the root).
-        if (!Files.exists(path)) {
-            throw new NoSuchFileException("Path not found: " + path);
+        requireWritable(path);
+        if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+                throw new NoSuchFileException("Path not found: " + path);
+            }
+            long start = deleteOp.begin();
+            long deleted = 0;
+            try {
+                invalidateIndex(path.getParent());
+                forgetContent(path);
+                archives.release(path);
+                Files.delete(path);                                 // a file or link: no pool or job needed for one unlink
+                deleted = 1;
+            } finally {
+                deleteOp.end(start, path, deleted);
+            }
+            return;
+        }
+        deleteFileAsync(path).await();
+    }
+
+    public DeleteOperation deleteFileAsync(Path path) throws IOException {    // Starts a parallel delete and returns a progress/cancel handle.
+        return deleteFilesAsync(List.of(path));
+    }
+
+    public DeleteOperation deleteFilesAsync(List<Path> paths) throws IOException {    // Deletes several files/trees as one job sharing the workers.
+        for (Path path : paths) {
+            requireWritable(path);
+            if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+                throw new NoSuchFileException("Path not found: " + path);
+            }
         }
-        // Delete children first, then the root
-        Files.walk(path)
-                .sorted(Comparator.reverseOrder())
-                .forEach(p -> {
+        for (Path path : paths) {
+            invalidateIndex(path.getParent());
+            invalidateIndex(path);
+            forgetContent(path);
+            archives.release(path);                             // an open archive keeps its file open
+        }
+        DeleteOperation op = DeleteOperation.create(paths, deleteParallelism);
+        Path path = paths.size() == 1 ? paths.get(0) : commonParent(paths);
+        String name = paths.size() == 1 ? "Delete " + path.getFileName() : "Delete " + paths.size() + " items";
+        Job<Void> job = new Job<>(name, Job.Priority.BULK, true, j -> {
+            long start = deleteOp.begin();
+            try {
+                op.run();
+                if (op.isCancelled()) {
+                    throw new CancellationException();
+                }
+                op.await();
+                return null;
+            } finally {
+                paths.forEach(this::forgetContent);
+                deleteOp.end(start, path, op.getDeletedCount());
+            }
+        });
+        job.setProgress(null, () -> op.getDeletedCount() + " item(s) removed"
+                + (op.getFailedCount() > 0 ? ", " + op.getFailedCount() + " failed" : ""));
+        job.onCancel(op::cancel);                                   // cancelling either one cancels both
+        op.onCancel(job::cancel);
+        jobs.submit(job);
+        return op;
+    }
+
+    // Batches: validated as a whole before anything is touched, then run in parallel with per-item failures
+
+    public BatchOperation renameAllAsync(List<Path> paths, NamePattern pattern, long firstNumber) throws IOException {    // Bulk rename, each item within its own folder.
+        List<Path> sources = new ArrayList<>();
+        List<Path> targets = new ArrayList<>();
+        Set<Path> sourceSet = new HashSet<>(paths);
+        Set<Path> targetSet = new HashSet<>();
+        long n = firstNumber;
+        for (Path source : paths) {
+            requireWritable(source);
+            Path parent = source.getParent();
+            if (parent == null) {
+                throw new IOException("Cannot rename a root: " + source);
+            }
+            String newName = pattern.apply(source.getFileName().toString(), n++);
+            String problem = NamePattern.checkName(newName);
+            if (problem != null) {
+                throw new IOException("Cannot rename " + source.getFileName() + ": " + problem);
+            }
+            Path target = parent.resolve(newName);
+            if (!targetSet.add(target)) {
+                throw new FileAlreadyExistsException("Two items would both be named " + newName + " (add {n} to the pattern)");
+            }
+            if (target.equals(source)) {
+                continue;                                       // already has that name
+            }
+            if (!sourceSet.contains(target) && Files.exists(target, LinkOption.NOFOLLOW_LINKS) && !Files.isSameFile(source, target)) {
+                throw new FileAlreadyExistsException("Target name already exists: " + target);    // (same file: a case-only rename)
+            }
+            sources.add(source);
+            targets.add(target);
+        }
+        for (Path source : sources) {
+            invalidateIndex(source.getParent());
+            invalidateIndex(source);
+            forgetContent(source);
+            archives.release(source);
+        }
+        targets.forEach(this::forgetContent);
+
+        // When a new name is another item's old name (a -> b, b -> c), everything moves aside to a temporary name first;
+        // a two-phase batch cannot be cancelled once running, so no item is stranded under its temporary name
+        List<BatchOperation.Step> phases = new ArrayList<>();
+        if (targets.stream().anyMatch(sourceSet::contains)) {
+            String tag = Long.toHexString(System.nanoTime());
+            phases.add((i, current) -> Files.move(current, current.resolveSibling(".rename-" + tag + "-" + i)));
+            phases.add((i, current) -> {
+                try {
+                    return Files.move(current, targets.get(i));
+                } catch (IOException e) {
                     try {
-                        Files.delete(p);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                        Files.move(current, sources.get(i));    // put it back under its old name
+                    } catch (IOException restore) {
+                        e.addSuppressed(restore);
                     }
+                    throw e;
+                }
+            });
+        } else {
+            phases.add((i, current) -> Files.move(current, targets.get(i)));
+        }
+        BatchOperation op = BatchOperation.create("Rename " + sources.size() + " item(s)", sources, batchParallelism, phases);
+        submitBatch(op, Job.Priority.NORMAL, batchRenameOp, sources.isEmpty() ? null : commonParent(sources));
+        return op;
+    }
+
+    public BatchOperation createFromTemplateAsync(Path dir, Path template, NamePattern pattern, long firstNumber, int count) throws IOException {    // Creates count files named by the pattern; each is a copy of the template file (or empty).
+        requireWritable(dir);
+        if (!Files.isDirectory(dir)) {
+            throw new NotDirectoryException("Not a directory: " + dir);
+        }
+        if (template != null && !Files.isRegularFile(template)) {
+            throw new IOException("Template is not a regular file: " + template);
+        }
+        String templateName = template == null ? "" : template.getFileName().toString();
+        List<Path> targets = new ArrayList<>(count);
+        Set<Path> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            String newName = pattern.apply(templateName, firstNumber + i);
+            String problem = NamePattern.checkName(newName);
+            if (problem != null) {
+                throw new IOException("Cannot create " + newName + ": " + problem);
+            }
+            Path target = dir.resolve(newName);
+            if (!seen.add(target)) {
+                throw new FileAlreadyExistsException("Two files would both be named " + newName + " (add {n} to the pattern)");
+            }
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                throw new FileAlreadyExistsException("File already exists: " + target);
+            }
+            targets.add(target);
+        }
+        invalidateIndex(dir);
+        BatchOperation.Step create = template == null
+                ? (i, target) -> Files.createFile(target)
+                : (i, target) -> Files.copy(template, target);  // fails rather than overwrite if the name got taken meanwhile
+        BatchOperation op = BatchOperation.create("Create " + count + " file(s)", targets, batchParallelism, List.of(create));
+        submitBatch(op, Job.Priority.NORMAL, batchCreateOp, dir);
+        return op;
+    }
+
+    private void submitBatch(BatchOperation op, Job.Priority priority, OperationMetrics.Op timing, Path where) {
+        Job<Void> job = new Job<>(op.getVerb(), priority, true, j -> {
+            long start = timing.begin();
+            try {
+                op.run();
+                if (op.isCancelled()) {
+                    throw new CancellationException();
+                }
+                op.await();
+                return null;
+            } finally {
+                timing.end(start, where, op.getDoneCount());
+            }
+        });
+        job.setProgress(() -> (double) (op.getDoneCount() + op.getFailedCount()) / Math.max(1, op.getTotalCount()),
+                () -> op.getDoneCount() + " of " + op.getTotalCount() + " done"
+                        + (op.getFailedCount() > 0 ? ", " + op.getFailedCount() + " failed" : ""));
+        job.onCancel(op::cancel);
+        op.onCancel(job::cancel);
+        jobs.submit(job);
+    }
+
+    private static Path commonParent(List<Path> paths) {        // Deepest folder containing every path (for names and events).
+        Path common = paths.get(0).getParent();
+        for (Path p : paths) {
+            while (common != null && !p.startsWith(common)) {
+                common = common.getParent();
+            }
+        }
+        return common;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int parallelism) {         // Number of fork/join workers used per batch rename/create.
+        this.batchParallelism = Math.max(1, parallelism);
+    }
+
+    public int getDeleteParallelism() {
+        return deleteParallelism;
+    }
+
+    public void setDeleteParallelism(int parallelism) {         // Number of fork/join workers used per delete.
+        this.deleteParallelism = Math.max(1, parallelism);
+    }
+
+    // Copy / move
+
+    public CopyOperation copyAsync(List<Path> sources, Path targetDir, CopyOperation.ConflictPolicy policy) throws IOException {   // Copies files/trees into targetDir in the background.
+        return startTransfer(sources, targetDir, false, policy);
+    }
+
+    public CopyOperation moveAsync(List<Path> sources, Path targetDir, CopyOperation.ConflictPolicy policy) throws IOException {   // Renames when possible, otherwise copies then deletes.
+        return startTransfer(sources, targetDir, true, policy);
+    }
+
+    private CopyOperation startTransfer(List<Path> sources, Path targetDir, boolean move, CopyOperation.ConflictPolicy policy) throws IOException {
+        requireWritable(targetDir);
+        if (move) {
+            for (Path source : sources) {
+                requireWritable(source);
+                forgetContent(source);
+                archives.release(source);
+            }
+        }
+        if (!Files.isDirectory(targetDir)) {
+            throw new NotDirectoryException("Target is not a directory: " + targetDir);
+        }
+        for (Path source : sources) {
+            if (!Files.exists(source, LinkOption.NOFOLLOW_LINKS)) {
+                throw new NoSuchFileException("File not found: " + source);
+            }
+        }
+        CopyOperation op = CopyOperation.create(sources, targetDir, move, policy, copyParallelism);
+        String name = (move ? "Move " : "Copy ") + (sources.size() == 1 ? sources.get(0).getFileName() : sources.size() + " items")
+                + " to " + targetDir.getFileName();
+        OperationMetrics.Op timing = move ? moveOp : copyOp;
+        Job<Void> job = new Job<>(name, Job.Priority.BULK, true, j -> {
+            long start = timing.begin();
+            try {
+                op.run();
+                if (op.isCancelled()) {
+                    throw new CancellationException();
+                }
+                op.await();
+                return null;
+            } finally {
+                timing.end(start, targetDir, op.getBytesCopied());
+            }
+        });
+        job.setProgress(null, () -> op.getFilesCopied() + " file(s), " + (op.getBytesCopied() >> 20) + " MB (" + op.getThroughput() + ")");
+        job.onCancel(op::cancel);
+        op.onCancel(job::cancel);
+        jobs.submit(job);
+        op.completion().whenComplete((v, err) -> {
+            invalidateIndex(targetDir);
+            sources.forEach(p -> forgetContent(targetDir.resolve(p.getFileName().toString())));    // overwritten targets
+            if (move) {
+                sources.forEach(p -> {
+                    invalidateIndex(p.getParent());
+                    forgetContent(p);
                 });
+            }
+        });
+        return op;
+    }
+
+    public int getCopyParallelism() {
+        return copyParallelism;
+    }
+
+    public void setCopyParallelism(int parallelism) {           // Number of fork/join workers used per copy.
+        this.copyParallelism = Math.max(1, parallelism);
+    }
+
+    // Zip
+
+    public ZipOperation zipAsync(List<Path> sources, Path target) throws IOException {    // Packs files/trees into a new zip in the background.
+        requireWritable(target);
+        if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            throw new FileAlreadyExistsException("File already exists: " + target);
+        }
+        for (Path source : sources) {
+            if (!Files.exists(source, LinkOption.NOFOLLOW_LINKS)) {
+                throw new NoSuchFileException("File not found: " + source);
+            }
+        }
+        ZipOperation op = ZipOperation.create(sources, target, zipParallelism);
+        Job<Void> job = new Job<>("Zip to " + target.getFileName(), Job.Priority.BULK, true, j -> {
+            long start = zipOp.begin();
+            try {
+                op.run();
+                if (op.isCancelled()) {
+                    throw new CancellationException();
+                }
+                op.await();
+                return null;
+            } finally {
+                zipOp.end(start, target, op.getBytesWritten());
+            }
+        });
+        job.setProgress(null, () -> op.getEntriesWritten() + " entries, " + (op.getBytesWritten() >> 20) + " MB (" + op.getThroughput() + ")");
+        job.onCancel(op::cancel);
+        op.onCancel(job::cancel);
+        jobs.submit(job);
+        op.completion().whenComplete((v, err) -> invalidateIndex(target.getParent()));
+        return op;
+    }
+
+    public int getZipParallelism() {
+        return zipParallelism;
+    }
+
+    public void setZipParallelism(int parallelism) {            // Number of workers compressing entries per zip.
+        this.zipParallelism = Math.max(1, parallelism);
+    }
+
+    // Disk usage
+
+    public DiskUsageScan diskUsageAsync(Path root, boolean useCache) throws IOException {    // Starts a recursive size scan; partial totals are readable at once.
+        if (!Files.isDirectory(root)) {
+            throw new NotDirectoryException("Not a directory: " + root);
+        }
+        Path normalized = root.toAbsolutePath().normalize();
+        if (!useCache) {
+            diskUsageCache.keySet().removeIf(p -> p.startsWith(normalized));
+        }
+        DiskUsageScan scan = DiskUsageScan.create(normalized, diskUsageCache, diskUsageParallelism);
+        Job<Void> job = new Job<>("Disk usage of " + normalized.getFileName(), Job.Priority.BULK, true, j -> {
+            long start = diskUsageOp.begin();
+            try {
+                scan.run();
+                if (scan.isCancelled()) {
+                    throw new CancellationException();
+                }
+                scan.await();
+                return null;
+            } finally {
+                diskUsageOp.end(start, normalized, scan.getRoot().getFiles() + scan.getRoot().getFolders());
+            }
+        });
+        job.setProgress(null, () -> scan.getFoldersScanned() + " folder(s), " + (scan.getRoot().getBytes() >> 20) + " MB"
+                + (scan.getCacheHits() > 0 ? ", " + scan.getCacheHits() + " unchanged" : ""));
+        job.onCancel(scan::cancel);
+        scan.onCancel(job::cancel);
+        jobs.submit(job);
+        return scan;
+    }
+
+    public int getDiskUsageParallelism() {
+        return diskUsageParallelism;
+    }
+
+    public void setDiskUsageParallelism(int parallelism) {      // Number of fork/join workers used per scan.
+        this.diskUsageParallelism = Math.max(1, parallelism);
+    }
+
+    // Duplicates
+
+    // Groups reach the sink on worker threads as soon as each is confirmed; hashes are saved for the next run even when cancelled
+    public DuplicateScan findDuplicatesAsync(Path root, long minSize, Consumer<DuplicateScan.Group> sink) throws IOException {
+        if (!Files.isDirectory(root) || isInArchive(root)) {
+            throw new NotDirectoryException("Not a directory: " + root);
+        }
+        HashCache cache = hashCache(root);
+        DuplicateScan scan = DuplicateScan.create(cache.getRoot(), minSize, cache, duplicateParallelism, sink);
+        Job<Void> job = new Job<>("Duplicates in " + cache.getRoot().getFileName(), Job.Priority.BULK, true, j -> {
+            long start = duplicatesOp.begin();
+            Throwable failure = null;
+            try {
+                scan.run();
+                if (scan.isCancelled()) {
+                    throw new CancellationException();
+                }
+                scan.await();
+                return null;
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                duplicatesOp.end(start, cache.getRoot(), scan.getBytesHashed());
+                try {
+                    cache.save();
+                } catch (IOException e) {
+                    IOException error = new IOException("Failed to save duplicate hashes for " + cache.getRoot() + ": " + e.getMessage(), e);
+                    if (failure == null) {
+                        throw error;                        // the job fails with it, so the status line shows it
+                    }
+                    failure.addSuppressed(error);           // a cancel or scan error is reported first
+                }
+            }
+        });
+        job.setProgress(null, () -> switch (scan.getStage()) {
+            case QUEUED, WALKING -> scan.getFilesSeen() + " file(s) found";
+            case HASHING, DONE -> scan.getGroupsFound() + " group(s), " + (scan.getBytesHashed() >> 20) + " MB hashed";
+        });
+        job.onCancel(scan::cancel);
+        scan.onCancel(job::cancel);
+        jobs.submit(job);
+        return scan;
+    }
+
+    public synchronized HashCache hashCache(Path root) {        // Duplicate-scan hashes for the root (loaded from disk on first use).
+        Path normalized = root.toAbsolutePath().normalize();
+        if (hashCache == null || !hashCache.getRoot().equals(normalized)) {
+            hashCache = HashCache.open(normalized);
+        }
+        return hashCache;
+    }
+
+    public int getDuplicateParallelism() {
+        return duplicateParallelism;
+    }
+
+    public void setDuplicateParallelism(int parallelism) {      // Number of fork/join workers used per duplicate scan.
+        this.duplicateParallelism = Math.max(1, parallelism);
+    }
+
+    // Search
+
+    public ContentSearch searchContent(Path root, ContentSearch.Options options, Consumer<ContentSearch.Match> sink) {   // Greps file contents under root in parallel; matches stream to the sink.
+        long start = searchOp.begin();
+        ContentSearch search = ContentSearch.start(root, options, sink, this);
+        search.completion().whenComplete((v, err) -> searchOp.end(start, root, search.getBytesScanned()));    // timed until the last worker finishes
+        return search;
+    }
+
+    public synchronized FullTextIndex fullTextIndex(Path root) {      // Full-text index for the root (loaded from disk on first use).
+        Path normalized = root.toAbsolutePath().normalize();
+        if (fullTextIndex == null || !fullTextIndex.getRoot().equals(normalized)) {
+            fullTextIndex = FullTextIndex.open(normalized, this);
+        }
+        return fullTextIndex;
+    }
+
+    public synchronized CompletableFuture<PathIndex> pathIndex(Path root) {     // Path index for the root; a stale one is still answered while its rebuild runs.
+        Path normalized = root.toAbsolutePath().normalize();
+        if (pathIndex == null || !normalized.equals(pathIndexRoot)) {
+            pathIndexRoot = normalized;
+            pathIndex = buildPathIndex(normalized);
+        } else if (pathIndexStale && pathIndex.isDone() && !pathIndex.isCompletedExceptionally()) {
+            CompletableFuture<PathIndex> previous = pathIndex;
+            pathIndex = buildPathIndex(normalized);
+            return previous;
+        }
+        return pathIndex;
+    }
+
+    public long getPathIndexProgress() {                         // Entries walked so far by the running path index build.
+        return pathIndexProgress.get();
+    }
+
+    private CompletableFuture<PathIndex> buildPathIndex(Path root) {
+        pathIndexStale = false;
+        pathIndexProgress.set(0);
+        CompletableFuture<PathIndex> future = new CompletableFuture<>();
+        listingExecutor.submit(() -> {
+            long start = pathIndexOp.begin();
+            try {
+                future.complete(PathIndex.build(root, pathIndexProgress));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                pathIndexOp.end(start, root, pathIndexProgress.get());
+            }
+        });
+        return future;
     }
 
     // Rename
 
     public Path renameFile(Path path, String newName) throws IOException {       // Renames a file or directory within the same parent folder.
+        requireWritable(path);
         Path parent = path.getParent();
         if (parent == null) {
             throw new IOException("Cannot renameFile root path: " + path);
         }
         Path target = parent.resolve(newName);
-        if (Files.exists(target)) {
-            throw new FileAlreadyExistsException("Target name already exists: " + target);
+        long start = renameOp.begin();
+        try {
+            if (Files.exists(target)) {
+                throw new FileAlreadyExistsException("Target name already exists: " + target);
+            }
+            invalidateIndex(parent);
+            invalidateIndex(path);
+            forgetContent(path);
+            archives.release(path);
+            return Files.move(path, target);
+        } finally {
+            renameOp.end(start, target, 0);
         }
-        return Files.move(path, target);
     }
 
     // Helpers
 
-    public boolean isTextFile(Path path) {                            // File type check based on extension; used to decide if we can preview/edit.
-        if (path == null || Files.isDirectory(path)) return false;
-        String name = path.getFileName().toString().toLowerCase();
+    public boolean isTextFile(Path path) {                            // True if the file can be previewed/edited as UTF-8 text (known name, or sniffed).
+        if (path == null || path.getFileName() == null) return false;
+        if (classifier.byName(path.getFileName().toString()) == FileClassifier.Kind.BINARY) return false;    // .png, .jar, ...: no I/O at all
+        return isTextFile(path, readAttributes(path));
+    }
 
-        String[] text = {
-                ".txt", ".md", ".java", ".c", ".cpp", ".h", ".hpp", ".py",
-                ".log", ".json", ".xml", ".html", ".htm", ".css", ".js",
-                ".csv", ".properties"
-        };
-        for (String i : text) {
-            if (name.endsWith(i)) return true;
+    public boolean isTextFile(Path path, BasicFileAttributes attrs) {    // Same, with attributes the caller already has.
+        return attrs != null && !attrs.isDirectory() && classify(path, attrs) == FileClassifier.Kind.TEXT;
+    }
+
+    public FileClassifier.Kind classify(Path path, BasicFileAttributes attrs) {    // Text, text in another encoding, or binary.
+        long start = classifyOp.begin();
+        try {
+            return classifier.classify(ArchiveCache.isInArchive(path) ? archives.live(path) : path, attrs);
+        } catch (IOException | ClosedFileSystemException e) {
+            return FileClassifier.Kind.BINARY;                     // its archive is gone: nothing to preview
+        } finally {
+            classifyOp.end(start);
         }
-        return false;
+    }
+
+    public FileClassifier getClassifier() {
+        return classifier;
     }
 
     public long safeFileSize(Path path) {         // Returns the file size, or 0 on error (for non-fatal UI display).
@@ -174,4 +1145,8 @@ public class FileService {
         }
     }
 
+    public long safeFileSize(Path path, BasicFileAttributes attributes) {     // Uses already-known attributes when available instead of another stat.
+        return attributes != null ? attributes.size() : safeFileSize(path);
+    }
+
 }
@@ -0,0 +1,50 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.scene.control.TreeItem;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+public final class FileTree {        // The JavaFX side of FileService: lazily loaded tree nodes (kept out of FileService so it runs headless).
+
+    private FileTree() {
+    }
+
+    public static TreeItem<Path> createNode(FileService service, Path path) {    // Creates a TreeItem<Path> that lazily loads its children.
+        return new FileTreeItem(path, null, service);        // Directories are expanded only when needed to keep the UI responsive
+    }
+
+    public static BasicFileAttributes attributesOf(FileService service, TreeItem<Path> item) {   // Attributes carried on a tree node (read once if the node has none yet).
+        if (item instanceof FileTreeItem fileItem) {
+            return fileItem.getAttributes();
+        }
+        return item == null ? null : service.readAttributes(item.getValue());
+    }
+
+    public static void cancelLoading(TreeItem<Path> root) {   // Cancels any in-flight listings under the given (old) root.
+        if (root instanceof FileTreeItem item) {
+            item.cancelLoadingTree();
+        }
+    }
+
+    public static void whenChildrenLoaded(TreeItem<Path> item, Runnable action) {    // Runs the action on the FX thread once the item's children are listed.
+        if (item instanceof FileTreeItem fileItem) {
+            fileItem.whenChildrenLoaded(action);
+        } else {
+            item.getChildren();
+            action.run();
+        }
+    }
+
+    public static TreeItem<Path> findChild(TreeItem<Path> parent, Path path) {    // Loaded child node for a path (a map lookup for nodes built here).
+        if (parent instanceof FileTreeItem item) {
+            return item.findChild(path);
+        }
+        for (TreeItem<Path> child : parent.getChildren()) {
+            if (path.equals(child.getValue())) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+class FileTreeItem extends TreeItem<Path> {        // TreeItem<Path> that lazily loads its children, either inline or on a background thread.
+
+    private static final int BATCH_SIZE = 500;      // Children published to the tree per Platform.runLater call
+    private static final int MERGE_THRESHOLD = 32;  // More new entries than this are merged into the list in one change
+
+    private final FileService service;
+
+    private boolean isFirstTimeChildren = true;
+    private BasicFileAttributes attributes;         // Read during the parent's listing; only the root has to stat itself
+
+    // Background loading state (only touched on the FX thread)
+    private Future<?> loadTask;
+    private boolean refreshing;                     // loadTask is a re-list of already-shown children (not a first load)
+    private int loadGeneration;
+    private final List<Runnable> onLoaded = new ArrayList<>();
+
+    // Loaded children by path, kept in sync with the child list (used for incremental updates and lookups)
+    private final Map<Path, FileTreeItem> childIndex = new HashMap<>();
+    private boolean watched;                        // Registered with the DirectoryWatcher (only while expanded)
+
+    FileTreeItem(Path path, BasicFileAttributes attributes, FileService service) {
+        super(path);
+        this.attributes = attributes;
+        this.service = service;
+        // Collapsing a node abandons any listing still in flight and stops watching it; it is refreshed on the next expand
+        expandedProperty().addListener((obs, wasExpanded, expanded) -> {
+            if (expanded) {
+                onExpanded();
+            } else {
+                cancelLoading();
+                unwatch();
+            }
+        });
+        super.getChildren().addListener((ListChangeListener<TreeItem<Path>>) change -> {
+            while (change.next()) {
+                for (TreeItem<Path> removed : change.getRemoved()) {
+                    if (removed instanceof FileTreeItem item) childIndex.remove(item.getValue(), item);
+                }
+                for (TreeItem<Path> added : change.getAddedSubList()) {
+                    if (added instanceof FileTreeItem item) childIndex.put(item.getValue(), item);
+                }
+            }
+        });
+    }
+
+    @Override
+    // Lazily compute the children once
+    public ObservableList<TreeItem<Path>> getChildren() {
+        if (isFirstTimeChildren) {
+            isFirstTimeChildren = false;
+            List<FileEntry> cached = service.cachedChildren(getValue());
+            if (cached != null) {
+                super.getChildren().setAll(toItems(cached));      // instant, from the persistent index
+                onChildrenLoaded();
+                revalidate();
+            } else if (service.isAsyncLoading()) {
+                startAsyncLoad();
+            } else {
+                super.getChildren().setAll(toItems(service.listSortedChildren(getValue())));
+                onChildrenLoaded();
+            }
+        }
+        return super.getChildren();
+    }
+
+    @Override
+    public boolean isLeaf() {         // Files are leaves, directories and zip/jar archives aren't (answered from the cached attributes)
+        BasicFileAttributes attrs = getAttributes();
+        return attrs == null || !(attrs.isDirectory() || service.isBrowsableArchive(getValue(), attrs));
+    }
+
+    BasicFileAttributes getAttributes() {
+        if (attributes == null) {
+            attributes = service.readAttributes(getValue());
+        }
+        return attributes;
+    }
+
+    // Background loading
+
+    private void startAsyncLoad() {              // Shows a placeholder, then lists on a virtual thread and publishes children in batches.
+        ObservableList<TreeItem<Path>> children = super.getChildren();
+        TreeItem<Path> placeholder = new Placeholder();
+        children.setAll(List.of(placeholder));
+
+        int generation = ++loadGeneration;
+        Path dir = getValue();
+        loadTask = service.submitBackground(() -> {
+            List<FileEntry> sorted = service.listSortedChildren(dir);
+            for (int from = 0; from < sorted.size(); from += BATCH_SIZE) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                List<TreeItem<Path>> batch = new ArrayList<>(Math.min(BATCH_SIZE, sorted.size() - from));
+                for (FileEntry child : sorted.subList(from, Math.min(from + BATCH_SIZE, sorted.size()))) {
+                    batch.add(node(child));
+                }
+                Platform.runLater(() -> {
+                    if (generation == loadGeneration) {
+                        children.addAll(children.size() - 1, batch);    // keep the placeholder last until done
+                    }
+                });
+            }
+            Platform.runLater(() -> {
+                if (generation == loadGeneration) {
+                    children.remove(placeholder);
+                    loadTask = null;
+                    onChildrenLoaded();
+                }
+            });
+        });
+    }
+
+    private void revalidate() {                  // Re-lists in the background only if the directory changed since it was indexed.
+        int generation = loadGeneration;
+        Path dir = getValue();
+        service.submitBackground(() -> {
+            if (!service.isIndexStale(dir)) {
+                return;
+            }
+            List<FileEntry> fresh = service.listSortedChildren(dir);
+            Platform.runLater(() -> {
+                if (generation == loadGeneration && !isFirstTimeChildren) {
+                    mergeChildren(fresh);
+                }
+            });
+        });
+    }
+
+    private void onExpanded() {                  // Children loaded while unwatched may be stale: re-list them once, then watch.
+        if (isFirstTimeChildren || loadTask != null || watched) {
+            return;
+        }
+        int generation = ++loadGeneration;
+        Path dir = getValue();
+        refreshing = true;
+        loadTask = service.submitBackground(() -> {
+            List<FileEntry> fresh = service.listSortedChildren(dir);
+            Platform.runLater(() -> {
+                if (generation == loadGeneration) {
+                    mergeChildren(fresh);
+                    loadTask = null;
+                    refreshing = false;
+                    onChildrenLoaded();
+                }
+            });
+        });
+    }
+
+    private void onChildrenLoaded() {
+        if (isExpanded()) {
+            watched = service.watch(this);
+            service.prefetch(childEntries());
+        }
+        runLoadedCallbacks();
+    }
+
+    private List<FileEntry> childEntries() {
+        List<FileEntry> entries = new ArrayList<>(super.getChildren().size());
+        for (TreeItem<Path> child : super.getChildren()) {
+            if (child instanceof FileTreeItem item) {
+                entries.add(new FileEntry(item.getValue(), item.getAttributes()));
+            }
+        }
+        return entries;
+    }
+
+    private void unwatch() {
+        if (watched) {
+            service.unwatch(this);
+            watched = false;
+        }
+    }
+
+    // Incremental updates
+
+    void applyChanges(List<FileEntry> upserts, Set<Path> removed) {    // Applies created/modified/deleted entries in place, keeping sort order.
+        if (isFirstTimeChildren || (loadTask != null && !refreshing)) {
+            return;                              // not loaded yet (or mid first load): the listing will include these changes
+        }
+        ObservableList<TreeItem<Path>> children = super.getChildren();
+        if (!removed.isEmpty()) {
+            Set<TreeItem<Path>> gone = new HashSet<>();      // removeAll probes this per child
+            for (Path p : removed) {
+                FileTreeItem item = childIndex.get(p);
+                if (item != null) {
+                    item.cancelLoadingTree();
+                    gone.add(item);
+                }
+            }
+            children.removeAll(gone);            // one change event for the whole batch
+        }
+        List<FileEntry> inserts = new ArrayList<>();
+        for (FileEntry entry : upserts) {
+            FileTreeItem existing = childIndex.get(entry.path());
+            if (existing != null) {
+                BasicFileAttributes before = existing.getAttributes();
+                if (before != null && before.isDirectory() == entry.isDirectory()) {
+                    existing.attributes = entry.attributes();
+                    continue;
+                }
+                existing.cancelLoadingTree();
+                children.remove(existing);       // file <-> folder: re-insert at its new position
+            }
+            inserts.add(entry);
+        }
+        if (inserts.size() <= MERGE_THRESHOLD) {
+            for (FileEntry entry : inserts) {
+                children.add(insertionPoint(children, entry), node(entry));
+            }
+            return;
+        }
+        inserts.sort(FileEntry.FOLDERS_FIRST);   // a batch (e.g. thousands of created files): one sorted merge, one change event
+        List<TreeItem<Path>> merged = new ArrayList<>(children.size() + inserts.size());
+        int next = 0;
+        for (TreeItem<Path> child : children) {
+            FileEntry shown = new FileEntry(child.getValue(), child instanceof FileTreeItem item ? item.getAttributes() : null);
+            while (next < inserts.size() && FileEntry.FOLDERS_FIRST.compare(inserts.get(next), shown) < 0) {
+                merged.add(node(inserts.get(next++)));
+            }
+            merged.add(child);
+        }
+        while (next < inserts.size()) {
+            merged.add(node(inserts.get(next++)));
+        }
+        children.setAll(merged);
+    }
+
+    private int insertionPoint(List<TreeItem<Path>> children, FileEntry entry) {     // Binary search using the same folders-first order as listings.
+        int lo = 0;
+        int hi = children.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            TreeItem<Path> child = children.get(mid);
+            BasicFileAttributes attrs = child instanceof FileTreeItem item ? item.getAttributes() : null;
+            if (FileEntry.FOLDERS_FIRST.compare(new FileEntry(child.getValue(), attrs), entry) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    FileTreeItem findChild(Path path) {           // Loaded child with the given path, or null (O(1)).
+        return childIndex.get(path);
+    }
+
+    void mergeChildren(List<FileEntry> entries) {   // Replaces the children with a new listing, reusing nodes that still exist (keeps their expansion).
+        Map<Path, FileTreeItem> existing = new HashMap<>();
+        for (TreeItem<Path> child : super.getChildren()) {
+            if (child instanceof FileTreeItem item) {
+                existing.put(item.getValue(), item);
+            }
+        }
+        List<TreeItem<Path>> merged = new ArrayList<>(entries.size());
+        for (FileEntry entry : entries) {
+            FileTreeItem item = existing.remove(entry.path());
+            if (item != null) {
+                item.attributes = entry.attributes();
+                merged.add(item);
+            } else {
+                merged.add(node(entry));
+            }
+        }
+        for (FileTreeItem dropped : existing.values()) {
+            dropped.cancelLoadingTree();
+        }
+        super.getChildren().setAll(merged);
+    }
+
+    private FileTreeItem node(FileEntry entry) {  // A child node, reusing the attributes read during listing.
+        return new FileTreeItem(entry.path(), entry.attributes(), service);
+    }
+
+    private List<TreeItem<Path>> toItems(List<FileEntry> entries) {
+        List<TreeItem<Path>> items = new ArrayList<>(entries.size());
+        for (FileEntry entry : entries) {
+            items.add(node(entry));
+        }
+        return items;
+    }
+
+    void cancelLoading() {                     // Stops an in-flight listing and resets the node so it reloads next time.
+        if (loadTask == null) {
+            return;
+        }
+        loadTask.cancel(true);
+        loadTask = null;
+        loadGeneration++;
+        onLoaded.clear();
+        if (refreshing) {
+            refreshing = false;                  // keep the (possibly stale) children; the next expand refreshes again
+            return;
+        }
+        isFirstTimeChildren = true;
+        super.getChildren().clear();
+    }
+
+    void cancelLoadingTree() {                 // Cancels listings and watches for this node and every already-loaded descendant.
+        cancelLoading();
+        unwatch();
+        for (TreeItem<Path> child : super.getChildren()) {
+            if (child instanceof FileTreeItem item) {
+                item.cancelLoadingTree();
+            }
+        }
+    }
+
+    void whenChildrenLoaded(Runnable action) {  // Runs the action once the children are available (immediately in synchronous mode).
+        if (!isFirstTimeChildren && loadTask == null) {
+            action.run();
+            return;
+        }
+        onLoaded.add(action);
+        getChildren();
+    }
+
+    private void runLoadedCallbacks() {
+        List<Runnable> callbacks = new ArrayList<>(onLoaded);
+        onLoaded.clear();
+        for (Runnable r : callbacks) {
+            r.run();
+        }
+    }
+
+    static boolean isPlaceholder(TreeItem<?> item) {
+        return item instanceof Placeholder;
+    }
+
+    private static class Placeholder extends TreeItem<Path> {      // "Loading..." row shown while children are being listed
+    }
+}
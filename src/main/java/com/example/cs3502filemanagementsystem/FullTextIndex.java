@@ -0,0 +1,606 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class FullTextIndex {         // Inverted index (term -> files, token positions, byte offsets) over the text files under a root.
+
+    private static final int MAGIC = 0x4F574C46;            // "OWLF"
+    private static final int VERSION = 1;
+    private static final long MAX_FILE_SIZE = 256L << 20;   // Larger files are left to the scanning search
+    private static final int MAX_TOKEN_BYTES = 64;          // Longer runs are truncated (keeps the dictionary sane on minified files)
+    private static final double COMPACT_RATIO = 0.3;        // Renumber files and rewrite postings once this share of file ids are stale
+
+    public record Hit(Path file, int count, long firstOffset) implements SearchResult {
+        @Override
+        public String toString() {
+            return file + " (" + count + " hit(s), first at byte " + firstOffset + ")";
+        }
+    }
+
+    public record UpdateStats(int added, int updated, int removed, int unchanged, double seconds) {
+    }
+
+    // One indexed file; a changed file gets a new id and the old one is tombstoned (path == null)
+    private static final class FileRecord {
+        String path;
+        final long size;
+        final long mtime;
+
+        FileRecord(String path, long size, long mtime) {
+            this.path = path;
+            this.size = size;
+            this.mtime = mtime;
+        }
+    }
+
+    private final Path root;
+    private final Path indexFile;
+    private final FileService service;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<FileRecord> files = new ArrayList<>();          // index = file id
+    private final Map<String, Integer> liveIds = new HashMap<>();      // path -> current file id
+    private final TreeMap<String, PostingList> terms = new TreeMap<>(); // sorted for prefix queries
+    private int staleIds;
+
+    private FullTextIndex(Path root, FileService service) {
+        this.root = root;
+        this.service = service;
+        String name = Integer.toHexString(root.toString().hashCode()) + ".fti";
+        this.indexFile = Paths.get(System.getProperty("user.home"), ".owltech-filemanager", "fulltext", name);
+    }
+
+    public static FullTextIndex open(Path root, FileService service) {    // Loads the stored index for root (empty if none or unreadable).
+        FullTextIndex index = new FullTextIndex(root.toAbsolutePath().normalize(), service);
+        if (Files.isRegularFile(index.indexFile)) {
+            try {
+                index.load();
+            } catch (IOException e) {
+                index.clear();
+            }
+        }
+        return index;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Incremental update
+
+    // Re-indexes files whose size or mtime changed, drops deleted ones, then saves. One update at a time: two would index
+    // the same files twice and write the same temp file (queries only take the read lock, so they still run meanwhile)
+    public synchronized UpdateStats update() throws IOException {
+        long start = System.nanoTime();
+        Map<String, BasicFileAttributes> current = new HashMap<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && attrs.size() <= MAX_FILE_SIZE && service.isTextFile(file, attrs)) {
+                    current.put(root.relativize(file).toString(), attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        List<String> toIndex = new ArrayList<>();
+        int unchanged = 0;
+        int updated = 0;
+        Set<String> removed = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, BasicFileAttributes> e : current.entrySet()) {
+                Integer id = liveIds.get(e.getKey());
+                FileRecord record = id == null ? null : files.get(id);
+                if (record != null && record.size == e.getValue().size()
+                        && record.mtime == e.getValue().lastModifiedTime().toMillis()) {
+                    unchanged++;
+                } else {
+                    if (record != null) updated++;
+                    toIndex.add(e.getKey());
+                }
+            }
+            for (String path : liveIds.keySet()) {
+                if (!current.containsKey(path)) removed.add(path);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String path : removed) {
+                tombstone(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Tokenize in parallel; merging into the shared postings is serialized (file ids must stay increasing)
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String rel : toIndex) {
+                BasicFileAttributes attrs = current.get(rel);
+                futures.add(pool.submit(() -> {
+                    Map<String, TermOccurrences> tokens = tokenize(root.resolve(rel));
+                    if (tokens != null) {
+                        merge(rel, attrs, tokens);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (Exception e) {
+                    // A file that failed to tokenize is simply absent from the index
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (staleIds > files.size() * COMPACT_RATIO) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        save();
+        return new UpdateStats(toIndex.size() - updated, updated, removed.size(), unchanged,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    private void merge(String rel, BasicFileAttributes attrs, Map<String, TermOccurrences> tokens) {
+        lock.writeLock().lock();
+        try {
+            tombstone(rel);
+            int id = files.size();
+            files.add(new FileRecord(rel, attrs.size(), attrs.lastModifiedTime().toMillis()));
+            liveIds.put(rel, id);
+            for (Map.Entry<String, TermOccurrences> e : tokens.entrySet()) {
+                terms.computeIfAbsent(e.getKey(), k -> new PostingList()).append(id, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void tombstone(String rel) {
+        Integer old = liveIds.remove(rel);
+        if (old != null) {
+            files.get(old).path = null;
+            staleIds++;
+        }
+    }
+
+    private void compact() {                                  // Drops tombstoned files and renumbers the live ones densely (order kept, so postings stay sorted).
+        int[] newIds = new int[files.size()];
+        List<FileRecord> live = new ArrayList<>(liveIds.size());
+        for (int id = 0; id < files.size(); id++) {
+            FileRecord record = files.get(id);
+            if (record.path == null) {
+                newIds[id] = -1;
+            } else {
+                newIds[id] = live.size();
+                liveIds.put(record.path, live.size());
+                live.add(record);
+            }
+        }
+        for (Map.Entry<String, PostingList> e : new ArrayList<>(terms.entrySet())) {
+            PostingList compacted = new PostingList();
+            PostingList.Cursor c = e.getValue().cursor();
+            while (c.next()) {
+                if (newIds[c.fileId] >= 0) {
+                    compacted.append(newIds[c.fileId], new TermOccurrences(c.positions, c.offsets, c.count));
+                }
+            }
+            if (compacted.docCount == 0) {
+                terms.remove(e.getKey());
+            } else {
+                terms.put(e.getKey(), compacted);
+            }
+        }
+        files.clear();
+        files.addAll(live);
+        staleIds = 0;
+    }
+
+    // Tokenizer: runs of ASCII letters/digits (lower-cased) and non-ASCII bytes, straight from the mapped file
+
+    private static Map<String, TermOccurrences> tokenize(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > MAX_FILE_SIZE) {
+                return null;
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Map<String, TermOccurrences> out = new HashMap<>();
+            byte[] token = new byte[MAX_TOKEN_BYTES];
+            int len = 0;
+            int tokenStart = 0;
+            int position = 0;
+            int limit = (int) size;
+            for (int i = 0; i <= limit; i++) {
+                int b = i < limit ? buf.get(i) & 0xFF : ' ';
+                boolean word = (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b >= 0x80 || (b >= 'A' && b <= 'Z');
+                if (word) {
+                    if (len == 0) tokenStart = i;
+                    if (len < MAX_TOKEN_BYTES) token[len] = (byte) (b >= 'A' && b <= 'Z' ? b + 32 : b);
+                    len++;
+                } else if (len > 0) {
+                    String term = new String(token, 0, Math.min(len, MAX_TOKEN_BYTES), StandardCharsets.UTF_8);
+                    out.computeIfAbsent(term, k -> new TermOccurrences()).add(position++, tokenStart);
+                    len = 0;
+                }
+            }
+            return out;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static List<String> tokenizeQuery(String text) {
+        List<String> out = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c == '*' || Character.isLetterOrDigit(c) || c >= 0x80) {
+                sb.append(c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+            } else if (!sb.isEmpty()) {
+                out.add(sb.toString());
+                sb.setLength(0);
+            }
+        }
+        return out;
+    }
+
+    // Queries (never touch the source files)
+
+    public List<Hit> query(String query, int limit) {       // "a phrase" in quotes, pre* for prefixes, otherwise all terms (AND).
+        String q = query.strip();
+        lock.readLock().lock();
+        try {
+            if (q.length() > 1 && q.startsWith("\"") && q.endsWith("\"")) {
+                return phrase(tokenizeQuery(q.substring(1, q.length() - 1)), limit);
+            }
+            Map<Integer, long[]> acc = null;                      // file id -> {count, firstOffset}
+            for (String term : tokenizeQuery(q)) {
+                Map<Integer, long[]> hits = term.endsWith("*") ? prefix(term.substring(0, term.length() - 1)) : term(term);
+                if (acc == null) {
+                    acc = hits;
+                } else {
+                    acc.keySet().retainAll(hits.keySet());
+                    for (Map.Entry<Integer, long[]> e : acc.entrySet()) {
+                        long[] other = hits.get(e.getKey());
+                        e.getValue()[0] += other[0];
+                        e.getValue()[1] = Math.min(e.getValue()[1], other[1]);
+                    }
+                }
+            }
+            return toHits(acc == null ? Map.of() : acc, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, long[]> term(String term) {
+        Map<Integer, long[]> out = new HashMap<>();
+        collect(terms.get(term), out);
+        return out;
+    }
+
+    private Map<Integer, long[]> prefix(String prefix) {
+        Map<Integer, long[]> out = new HashMap<>();
+        if (prefix.isEmpty()) {
+            return out;                                       // a bare "*" would match everything
+        }
+        for (PostingList list : terms.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            collect(list, out);
+        }
+        return out;
+    }
+
+    private void collect(PostingList list, Map<Integer, long[]> out) {
+        if (list == null) {
+            return;
+        }
+        PostingList.Cursor c = list.cursor();
+        while (c.next()) {
+            if (files.get(c.fileId).path == null) continue;
+            long[] acc = out.computeIfAbsent(c.fileId, k -> new long[]{0, Long.MAX_VALUE});
+            acc[0] += c.count;
+            acc[1] = Math.min(acc[1], c.offsets[0]);
+        }
+    }
+
+    private List<Hit> phrase(List<String> words, int limit) {   // Files where the words occur at consecutive token positions.
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        List<Map<Integer, int[][]>> perWord = new ArrayList<>();  // word -> file id -> {positions, offsets}
+        for (String w : words) {
+            PostingList list = terms.get(w);
+            if (list == null) {
+                return List.of();
+            }
+            Map<Integer, int[][]> byFile = new HashMap<>();
+            PostingList.Cursor c = list.cursor();
+            while (c.next()) {
+                if (files.get(c.fileId).path != null) {
+                    byFile.put(c.fileId, new int[][]{Arrays.copyOf(c.positions, c.count), Arrays.copyOf(c.offsets, c.count)});
+                }
+            }
+            perWord.add(byFile);
+        }
+        Map<Integer, long[]> out = new HashMap<>();
+        for (Map.Entry<Integer, int[][]> first : perWord.get(0).entrySet()) {
+            int fileId = first.getKey();
+            int[] starts = first.getValue()[0];
+            for (int i = 0; i < starts.length; i++) {
+                boolean all = true;
+                for (int w = 1; w < perWord.size() && all; w++) {
+                    int[][] occ = perWord.get(w).get(fileId);
+                    all = occ != null && Arrays.binarySearch(occ[0], starts[i] + w) >= 0;
+                }
+                if (all) {
+                    long[] acc = out.computeIfAbsent(fileId, k -> new long[]{0, Long.MAX_VALUE});
+                    acc[0]++;
+                    acc[1] = Math.min(acc[1], first.getValue()[1][i]);
+                }
+            }
+        }
+        return toHits(out, limit);
+    }
+
+    private List<Hit> toHits(Map<Integer, long[]> acc, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Integer, long[]> e : acc.entrySet()) {
+            hits.add(new Hit(root.resolve(files.get(e.getKey()).path), (int) e.getValue()[0], e.getValue()[1]));
+        }
+        hits.sort((a, b) -> Integer.compare(b.count(), a.count()));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    public int getFileCount() {
+        lock.readLock().lock();
+        try {
+            return liveIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Persistence
+
+    private void clear() {
+        files.clear();
+        liveIds.clear();
+        terms.clear();
+        staleIds = 0;
+    }
+
+    private void save() throws IOException {
+        lock.readLock().lock();
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(root.toString());
+                out.writeInt(files.size());
+                for (FileRecord f : files) {
+                    out.writeBoolean(f.path != null);
+                    if (f.path != null) {
+                        out.writeUTF(f.path);
+                        out.writeLong(f.size);
+                        out.writeLong(f.mtime);
+                    }
+                }
+                out.writeInt(terms.size());
+                for (Map.Entry<String, PostingList> e : terms.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    e.getValue().writeTo(out);
+                }
+            }
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !root.toString().equals(in.readUTF())) {
+                throw new IOException("Full-text index does not match root: " + root);
+            }
+            int fileCount = in.readInt();
+            for (int id = 0; id < fileCount; id++) {
+                if (in.readBoolean()) {
+                    String path = in.readUTF();
+                    files.add(new FileRecord(path, in.readLong(), in.readLong()));
+                    liveIds.put(path, id);
+                } else {
+                    files.add(new FileRecord(null, 0, 0));
+                    staleIds++;
+                }
+            }
+            int termCount = in.readInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                terms.put(term, PostingList.readFrom(in));
+            }
+        }
+    }
+
+    // Primitive building blocks
+
+    // Occurrences of one term in one file: token positions and byte offsets, in increasing order
+    static final class TermOccurrences {
+        int[] positions;
+        int[] offsets;
+        int count;
+
+        TermOccurrences() {
+            positions = new int[4];
+            offsets = new int[4];
+        }
+
+        TermOccurrences(int[] positions, int[] offsets, int count) {
+            this.positions = positions;
+            this.offsets = offsets;
+            this.count = count;
+        }
+
+        void add(int position, int offset) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            positions[count] = position;
+            offsets[count] = offset;
+            count++;
+        }
+    }
+
+    // Delta + varint encoded postings: [fileId delta][count][position deltas...][offset deltas...] per file
+    static final class PostingList {
+        private byte[] data = new byte[16];
+        private int length;
+        private int lastFileId;
+        private int docCount;
+
+        void append(int fileId, TermOccurrences occ) {
+            writeVarint(fileId - lastFileId);
+            writeVarint(occ.count);
+            int prev = 0;
+            for (int i = 0; i < occ.count; i++) {
+                writeVarint(occ.positions[i] - prev);
+                prev = occ.positions[i];
+            }
+            prev = 0;
+            for (int i = 0; i < occ.count; i++) {
+                writeVarint(occ.offsets[i] - prev);
+                prev = occ.offsets[i];
+            }
+            lastFileId = fileId;
+            docCount++;
+        }
+
+        private void writeVarint(int v) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+            }
+            while ((v & ~0x7F) != 0) {
+                data[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            data[length++] = (byte) v;
+        }
+
+        Cursor cursor() {
+            return new Cursor();
+        }
+
+        final class Cursor {                            // Decodes one file's entry at a time into reusable arrays
+            int fileId;
+            int count;
+            int[] positions = new int[8];
+            int[] offsets = new int[8];
+            private int pos;
+            private int docs;
+
+            boolean next() {
+                if (docs == docCount) {
+                    return false;
+                }
+                fileId += readVarint();
+                count = readVarint();
+                if (positions.length < count) {
+                    positions = new int[count];
+                    offsets = new int[count];
+                }
+                int prev = 0;
+                for (int i = 0; i < count; i++) positions[i] = prev += readVarint();
+                prev = 0;
+                for (int i = 0; i < count; i++) offsets[i] = prev += readVarint();
+                docs++;
+                return true;
+            }
+
+            private int readVarint() {
+                int v = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    v |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                return v;
+            }
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(docCount);
+            out.writeInt(lastFileId);
+            out.writeInt(length);
+            out.write(data, 0, length);
+        }
+
+        static PostingList readFrom(DataInputStream in) throws IOException {
+            PostingList list = new PostingList();
+            list.docCount = in.readInt();
+            list.lastFileId = in.readInt();
+            list.length = in.readInt();
+            list.data = new byte[Math.max(16, list.length)];
+            in.readFully(list.data, 0, list.length);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class HashCache {         // Persistent per-root content hashes for the duplicate finder; an entry is valid while size and mtime match.
+
+    private static final int MAGIC = 0x4F574C48;        // "OWLH"
+    private static final int VERSION = 1;
+    static final int FULL_HASH_BYTES = 32;              // SHA-256
+
+    // Hashes of one file as of its size and mtime; full is null until the file needed a full hash
+    record Hashes(long size, long mtime, long partial, byte[] full) {
+    }
+
+    private final Path root;
+    private final Path cacheFile;
+    private final Map<String, Hashes> entries = new ConcurrentHashMap<>();    // path relative to the root
+    private volatile boolean dirty;
+
+    private HashCache(Path root, Path cacheFile) {
+        this.root = root;
+        this.cacheFile = cacheFile;
+    }
+
+    public static HashCache open(Path root) {               // Loads the hashes stored for this root, or starts an empty cache.
+        Path normalized = root.toAbsolutePath().normalize();
+        String name = Integer.toHexString(normalized.toString().hashCode()) + ".hsh";
+        HashCache cache = new HashCache(normalized, Paths.get(System.getProperty("user.home"), ".owltech-filemanager", "hashes", name));
+        if (Files.isRegularFile(cache.cacheFile)) {
+            try {
+                cache.load();
+            } catch (IOException e) {
+                cache.entries.clear();                       // Corrupt or from another version: rehash as we go
+            }
+        }
+        return cache;
+    }
+
+    // Lookup / update
+
+    Hashes get(Path file, long size, long mtime) {           // Null when unknown or the file changed since it was hashed.
+        Hashes h = entries.get(key(file));
+        return h != null && h.size() == size && h.mtime() == mtime ? h : null;
+    }
+
+    void put(Path file, Hashes hashes) {
+        entries.put(key(file), hashes);
+        dirty = true;
+    }
+
+    // After a complete scan of files of at least minSize: forget those of them that no longer exist (smaller ones were not looked at)
+    void retainOnly(Collection<Path> present, long minSize) {
+        Set<String> keep = new HashSet<>(present.size() * 2);
+        for (Path p : present) {
+            keep.add(key(p));
+        }
+        if (entries.entrySet().removeIf(e -> e.getValue().size() >= minSize && !keep.contains(e.getKey()))) {
+            dirty = true;
+        }
+    }
+
+    private String key(Path file) {
+        return root.relativize(file.toAbsolutePath().normalize()).toString();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Persistence (temp file + atomic move, like the listing index)
+
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;                                      // cleared first so a put() during the write marks it again
+        boolean saved = false;
+        Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            writeTo(tmp);
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            saved = true;
+        } finally {
+            if (!saved) {
+                dirty = true;                               // still unsaved: the next save() tries again
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // the write error is the one to report
+                }
+            }
+        }
+    }
+
+    private void writeTo(Path tmp) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(root.toString());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Hashes> e : entries.entrySet()) {
+                Hashes h = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(h.size());
+                out.writeLong(h.mtime());
+                out.writeLong(h.partial());
+                out.writeBoolean(h.full() != null);
+                if (h.full() != null) {
+                    out.write(h.full());
+                }
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !root.toString().equals(in.readUTF())) {
+                throw new IOException("Hash cache does not match root: " + root);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long mtime = in.readLong();
+                long partial = in.readLong();
+                byte[] full = null;
+                if (in.readBoolean()) {
+                    full = new byte[FULL_HASH_BYTES];
+                    in.readFully(full);
+                }
+                entries.put(path, new Hashes(size, mtime, partial, full));
+            }
+        }
+    }
+}
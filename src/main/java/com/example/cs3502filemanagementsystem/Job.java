@@ -0,0 +1,182 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+public class Job<T> {      // One background operation: queued by priority, run on a virtual thread, cancellable, with live progress.
+
+    public enum Priority {
+        INTERACTIVE,    // the user is waiting on it (opening a file): runs first and never queues behind bulk work
+        NORMAL,         // short writes (save, create, rename)
+        BULK            // long disk-heavy work (delete, copy, move)
+    }
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {      // Throw CancellationException to end as cancelled.
+        T run(Job<T> job) throws Exception;
+    }
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.incrementAndGet();      // creation order (FIFO within a priority)
+    private final String name;
+    private final Priority priority;
+    private final boolean cancellable;
+    private final Work<T> work;
+    private final CompletableFuture<T> completion = new CompletableFuture<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile JobScheduler scheduler;
+    private volatile State state = State.QUEUED;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile DoubleSupplier fraction;                // null while the total is unknown
+    private volatile Supplier<String> detail = () -> "";
+    private volatile Throwable error;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public Job(String name, Priority priority, boolean cancellable, Work<T> work) {
+        this.name = name;
+        this.priority = priority;
+        this.cancellable = cancellable;
+        this.work = work;
+    }
+
+    void attach(JobScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    void run() {                                            // Called once, on the job's own thread, by the scheduler.
+        if (cancelled.get()) {
+            finishCancelled();                              // cancelled between leaving the queue and its thread starting
+            return;
+        }
+        startNanos = System.nanoTime();
+        state = State.RUNNING;
+        try {
+            T result = work.run(this);
+            finish(State.SUCCEEDED, null);
+            completion.complete(result);
+        } catch (CancellationException e) {
+            finish(State.CANCELLED, null);
+            completion.completeExceptionally(e);
+        } catch (Exception e) {
+            finish(State.FAILED, e);
+            completion.completeExceptionally(e);
+        } catch (Throwable e) {
+            finish(State.FAILED, e);                        // an Error (OOM, stack overflow): still release anyone waiting on it
+            completion.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    void finishCancelled() {                                // Cancelled before it ever started.
+        finish(State.CANCELLED, null);
+        completion.completeExceptionally(new CancellationException(name + " was cancelled"));
+    }
+
+    private void finish(State end, Throwable err) {
+        endNanos = System.nanoTime();
+        error = err;
+        state = end;                                        // set before completing, so completion handlers see it
+    }
+
+    // Called by the work
+
+    public void onCancel(Runnable hook) {                   // Runs when the job is cancelled (e.g. to flag the operation it drives).
+        this.cancelHook = hook;
+    }
+
+    public void setProgress(DoubleSupplier fraction, Supplier<String> detail) {    // Polled by the operations panel; fraction may be null.
+        this.fraction = fraction;
+        this.detail = detail;
+    }
+
+    public void checkCancelled() {
+        if (cancelled.get()) {
+            throw new CancellationException(name + " was cancelled");
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {                                  // Queued jobs are dropped; running ones are asked to stop through the hook.
+        if (!cancellable || isDone() || !cancelled.compareAndSet(false, true)) {
+            return;
+        }
+        JobScheduler s = scheduler;
+        if (s != null) {
+            s.cancelQueued(this);
+        }
+        cancelHook.run();
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public boolean isCancellable() {
+        return cancellable && !isDone();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public CompletableFuture<T> completion() {
+        return completion;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public double getProgress() {                           // 0..1, or -1 when running with no known total.
+        DoubleSupplier f = fraction;
+        return switch (state) {
+            case QUEUED -> 0;
+            case SUCCEEDED -> 1;
+            case RUNNING -> f == null ? -1 : Math.max(0, Math.min(1, f.getAsDouble()));
+            default -> f == null ? 0 : Math.max(0, Math.min(1, f.getAsDouble()));
+        };
+    }
+
+    public String getDetail() {                             // Live detail text; the error message once failed.
+        Throwable err = error;
+        if (err != null) {
+            return err.getMessage() != null ? err.getMessage() : err.toString();
+        }
+        return detail.get();
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public double getElapsedSeconds() {                     // Time spent running (0 while queued).
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+}
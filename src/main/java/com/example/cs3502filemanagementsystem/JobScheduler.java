@@ -0,0 +1,135 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+public class JobScheduler {      // Runs jobs on virtual threads, highest priority first, with a cap on concurrent disk-heavy work.
+
+    private static final int MAX_FINISHED = 200;    // Finished jobs kept for the operations panel
+
+    private static final Comparator<Job<?>> ORDER =
+            Comparator.<Job<?>, Job.Priority>comparing(Job::getPriority).thenComparingLong(Job::getId);
+
+    // NORMAL and BULK jobs share the slots, and BULK may take all but one of them, so a save never waits behind two
+    // copies. INTERACTIVE jobs (reads the user is waiting on) have slots of their own and skip the queue entirely
+    // unless that many reads are already running.
+    private final int slots;
+    private final TreeSet<Job<?>> queue = new TreeSet<>(ORDER);
+    private final List<Job<?>> jobs = new ArrayList<>();       // queued, running and recently finished, oldest first
+    private int running;                                        // NORMAL + BULK
+    private int runningBulk;
+    private int runningInteractive;
+    private long version;                                       // bumped on every change, so the panel knows when to re-read
+
+    public JobScheduler(int slots) {
+        this.slots = Math.max(2, slots);
+    }
+
+    public <T> Job<T> submit(String name, Job.Priority priority, Job.Work<T> work) {    // Cancellable job; see submit(Job).
+        return submit(new Job<>(name, priority, true, work));
+    }
+
+    public synchronized <T> Job<T> submit(Job<T> job) {         // Queues the job and starts it as soon as its priority class has a free slot.
+        job.attach(this);
+        jobs.add(job);
+        queue.add(job);
+        version++;
+        dispatch();
+        return job;
+    }
+
+    private void dispatch() {                                   // Caller holds the lock.
+        for (Iterator<Job<?>> it = queue.iterator(); it.hasNext(); ) {
+            Job<?> job = it.next();
+            if (!canStart(job.getPriority())) {
+                continue;                                       // a lower class may still have room
+            }
+            it.remove();
+            acquire(job.getPriority(), 1);
+            Thread.ofVirtual().name("job-" + job.getId()).start(() -> {
+                try {
+                    job.run();
+                } finally {
+                    finished(job);
+                }
+            });
+        }
+    }
+
+    private boolean canStart(Job.Priority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> runningInteractive < slots;
+            case NORMAL -> running < slots;
+            case BULK -> running < slots && runningBulk < slots - 1;
+        };
+    }
+
+    private void acquire(Job.Priority priority, int n) {
+        switch (priority) {
+            case INTERACTIVE -> runningInteractive += n;
+            case NORMAL -> running += n;
+            case BULK -> {
+                running += n;
+                runningBulk += n;
+            }
+        }
+    }
+
+    private synchronized void finished(Job<?> job) {
+        acquire(job.getPriority(), -1);
+        trimFinished();
+        version++;
+        dispatch();
+    }
+
+    synchronized void cancelQueued(Job<?> job) {               // Drops a job that has not started yet (no-op once it runs).
+        if (queue.remove(job)) {
+            job.finishCancelled();
+            trimFinished();
+            version++;
+        }
+    }
+
+    private void trimFinished() {
+        int finished = 0;
+        for (Job<?> job : jobs) {
+            if (job.isDone()) finished++;
+        }
+        for (Iterator<Job<?>> it = jobs.iterator(); finished > MAX_FINISHED && it.hasNext(); ) {
+            if (it.next().isDone()) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    // Panel view
+
+    public synchronized List<Job<?>> getJobs() {               // Snapshot, oldest first.
+        return new ArrayList<>(jobs);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized void clearFinished() {
+        jobs.removeIf(Job::isDone);
+        version++;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running + runningInteractive;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Json {        // Just enough JSON for the command-line mode: one value per line in, one object per line out.
+
+    private Json() {
+    }
+
+    // Reading: objects become LinkedHashMaps, arrays ArrayLists, numbers Long (when integral) or Double
+
+    static Object parse(String text) {                    // Throws IllegalArgumentException (with the column) on malformed input.
+        Reader reader = new Reader(text);
+        reader.skipSpace();
+        Object value = reader.value();
+        reader.skipSpace();
+        if (reader.pos < text.length()) {
+            throw reader.error("Unexpected trailing characters");
+        }
+        return value;
+    }
+
+    private static final class Reader {
+        private final String s;
+        private int pos;
+
+        Reader(String s) {
+            this.s = s;
+        }
+
+        Object value() {
+            if (pos >= s.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = s.charAt(pos);
+            return switch (c) {
+                case '{' -> object();
+                case '[' -> array();
+                case '"' -> string();
+                case 't' -> literal("true", Boolean.TRUE);
+                case 'f' -> literal("false", Boolean.FALSE);
+                case 'n' -> literal("null", null);
+                default -> {
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        yield number();
+                    }
+                    throw error("Unexpected character '" + c + "'");
+                }
+            };
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipSpace();
+                if (peek() != '"') {
+                    throw error("Expected a field name");
+                }
+                String key = string();
+                skipSpace();
+                expect(':');
+                skipSpace();
+                map.put(key, value());
+                skipSpace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipSpace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                skipSpace();
+                list.add(value());
+                skipSpace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            pos++;                                          // opening quote
+            StringBuilder sb = null;                        // only allocated once an escape shows up
+            int start = pos;
+            while (true) {
+                if (pos >= s.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = s.charAt(pos);
+                if (c == '"') {
+                    String tail = s.substring(start, pos++);
+                    return sb == null ? tail : sb.append(tail).toString();
+                }
+                if (c < 0x20) {
+                    throw error("Control character in string");
+                }
+                if (c != '\\') {
+                    pos++;
+                    continue;
+                }
+                if (sb == null) {
+                    sb = new StringBuilder();
+                }
+                sb.append(s, start, pos);
+                if (pos + 1 >= s.length()) {
+                    throw error("Unterminated escape");
+                }
+                char e = s.charAt(pos + 1);
+                pos += 2;
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) {
+                            throw error("Truncated \\u escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(s, pos, pos + 4, 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Invalid \\u escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("Invalid escape '\\" + e + "'");
+                }
+                start = pos;
+            }
+        }
+
+        private Object number() {
+            int start = pos;
+            boolean integral = true;
+            if (peek() == '-') {
+                pos++;
+            }
+            while (pos < s.length()) {
+                char c = s.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                    integral = false;
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            String text = s.substring(start, pos);
+            try {
+                if (integral) {
+                    try {
+                        return Long.parseLong(text);
+                    } catch (NumberFormatException tooBig) {
+                        // falls through to a double
+                    }
+                }
+                return Double.parseDouble(text);
+            } catch (NumberFormatException ex) {
+                pos = start;
+                throw error("Invalid number '" + text + "'");
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!s.startsWith(word, pos)) {
+                throw error("Unexpected token");
+            }
+            pos += word.length();
+            return value;
+        }
+
+        private char peek() {
+            return pos < s.length() ? s.charAt(pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        void skipSpace() {
+            while (pos < s.length() && (s.charAt(pos) == ' ' || s.charAt(pos) == '\t' || s.charAt(pos) == '\r' || s.charAt(pos) == '\n')) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at column " + (pos + 1));
+        }
+    }
+
+    // Writing: maps, collections, strings, numbers, booleans and null; anything else (a Path, say) is written as its toString()
+
+    static String write(Object value) {
+        StringBuilder sb = new StringBuilder(128);
+        write(sb, value);
+        return sb.toString();
+    }
+
+    static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                quote(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                write(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Collection<?> list) {  // not any Iterable: a Path iterates over Paths, forever
+            sb.append('[');
+            boolean first = true;
+            for (Object item : list) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                write(sb, item);
+            }
+            sb.append(']');
+        } else if (value instanceof Double d && (d.isNaN() || d.isInfinite())) {
+            sb.append("null");                              // not representable in JSON
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            quote(sb, value.toString());
+        }
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029' || Character.isSurrogate(c) && !pairedSurrogate(s, i)) {
+                        sb.append(String.format("\\u%04x", (int) c));     // lone surrogates would not survive UTF-8 encoding
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static boolean pairedSurrogate(String s, int i) {
+        char c = s.charAt(i);
+        return Character.isHighSurrogate(c) ? i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))
+                : i > 0 && Character.isHighSurrogate(s.charAt(i - 1));
+    }
+}
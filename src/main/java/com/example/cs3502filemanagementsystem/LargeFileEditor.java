@@ -0,0 +1,201 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+public class LargeFileEditor extends BorderPane {      // Virtualized editor: only the lines on screen live in the TextArea; the document is a PieceTable.
+
+    private static final double LINE_HEIGHT = 17.0;    // Approximate pixel height of one line in the default TextArea font
+
+    private final MappedTextFile file;
+    private PieceTable document;                        // null until the line index is complete (read-only until then)
+    private final TextArea textArea = new TextArea();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private final Label infoLabel = new Label();
+    private final Timeline indexPoller;
+
+    // The byte range of the document currently shown, and the text as rendered (to detect edits)
+    private long windowStart;
+    private long windowEnd;
+    private String rendered = "";
+
+    private CompletableFuture<?> pendingSave = CompletableFuture.completedFuture(null);
+    private SaveOperation.Patch lastSnapshot;
+    private boolean locked;                             // an in-place patch is rewriting the mapped file underneath us
+
+    public LargeFileEditor(MappedTextFile file) {
+        this.file = file;
+
+        textArea.setEditable(false);
+        textArea.setWrapText(false);
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.setMin(0);
+        scrollBar.setUnitIncrement(1);
+
+        setCenter(textArea);
+        setRight(scrollBar);
+        setBottom(infoLabel);
+
+        // Re-render on scroll or resize; edits in the old window are folded into the document first
+        scrollBar.valueProperty().addListener((obs, oldVal, newVal) -> render());
+        textArea.heightProperty().addListener((obs, oldVal, newVal) -> render());
+        textArea.textProperty().addListener((obs, oldVal, newVal) -> updateInfo());
+
+        textArea.addEventFilter(ScrollEvent.SCROLL, e -> {
+            scrollBy(-Math.signum(e.getDeltaY()) * 3);
+            e.consume();
+        });
+        textArea.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            switch (e.getCode()) {
+                case PAGE_DOWN -> scrollBy(visibleLines());
+                case PAGE_UP -> scrollBy(-visibleLines());
+                case HOME -> { if (e.isControlDown()) scrollBar.setValue(0); else return; }
+                case END -> { if (e.isControlDown()) scrollBar.setValue(scrollBar.getMax()); else return; }
+                default -> { return; }
+            }
+            e.consume();
+        });
+
+        // Pick up new lines from the background index; editing starts once it finishes
+        indexPoller = new Timeline(new KeyFrame(Duration.millis(250), e -> updateLineCount()));
+        indexPoller.setCycleCount(Timeline.INDEFINITE);
+        indexPoller.play();
+        updateLineCount();
+    }
+
+    private void updateLineCount() {
+        if (document == null && file.isIndexComplete()) {
+            indexPoller.stop();
+            document = new PieceTable(file);
+        }
+        scrollBar.setMax(Math.max(0, getLineCount() - 1));
+        scrollBar.setVisibleAmount(visibleLines());
+        scrollBar.setBlockIncrement(visibleLines());
+        render();
+    }
+
+    private long getLineCount() {
+        return document != null ? document.getLineCount() : file.getLineCount();
+    }
+
+    private void scrollBy(double lines) {
+        scrollBar.setValue(Math.max(scrollBar.getMin(), Math.min(scrollBar.getMax(), scrollBar.getValue() + lines)));
+    }
+
+    private int visibleLines() {
+        return Math.max(1, (int) (textArea.getHeight() / LINE_HEIGHT));
+    }
+
+    private void render() {
+        long first = (long) scrollBar.getValue();
+        int count = visibleLines();
+        try {
+            commitWindow();
+            String text;
+            if (document == null) {
+                text = file.readLines(first, count);
+            } else {
+                windowStart = document.lineStart(first);
+                long next = document.lineStart(first + count);
+                windowEnd = first + count < document.getLineCount() ? next - 1 : document.length();    // leave the window's last newline out
+                text = document.text(windowStart, windowEnd);
+                textArea.setEditable(!locked && windowEnd - windowStart <= PieceTable.MAX_TEXT_BYTES);    // a truncated window can't be written back
+            }
+            rendered = text;
+            textArea.setText(text);
+        } catch (IOException e) {
+            rendered = null;                                 // never commit an error message into the document
+            textArea.setText("Failed to read " + file.getPath() + ": " + e.getMessage());
+        }
+        updateInfo();
+    }
+
+    private void commitWindow() throws IOException {      // Folds edits made in the visible window into the document.
+        if (document == null || rendered == null) {
+            return;
+        }
+        String text = textArea.getText();
+        if (!text.equals(rendered)) {
+            document.replace(windowStart, windowEnd - windowStart, text);
+            rendered = text;
+            scrollBar.setMax(Math.max(0, document.getLineCount() - 1));
+        }
+    }
+
+    private void updateInfo() {
+        long first = (long) scrollBar.getValue();
+        long lines = getLineCount();
+        String state = document == null
+                ? String.format("read-only while indexing %.0f%%", file.getIndexProgress() * 100)
+                : isModified() ? "modified" : "editable";
+        infoLabel.setText("Lines " + (first + 1) + "-" + Math.min(first + visibleLines(), lines)
+                + " of " + lines + "  |  " + (document != null ? document.length() : file.getSize()) + " bytes, " + state);
+    }
+
+    // Saving
+
+    public boolean isModified() {
+        return document != null && (document.isModified() || !textArea.getText().equals(rendered));
+    }
+
+    public SaveOperation.Content prepareSave() throws IOException {    // Commits pending edits and snapshots the document for a background save.
+        if (document == null) {
+            throw new IOException("The file is still being indexed; try again in a moment.");
+        }
+        commitWindow();
+        lastSnapshot = document.snapshot();
+        return lastSnapshot;
+    }
+
+    public void saveStarted(SaveOperation op) {           // Keeps the mapped original open until the save has streamed it.
+        long version = document.getVersion();
+        pendingSave = op.completion();
+        locked = lastSnapshot != null && lastSnapshot.dirtyRanges() != null;    // may be patched in place: no edits meanwhile
+        textArea.setEditable(!locked);
+        op.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            if (err == null) {
+                document.markSaved(version);
+            }
+            if (!op.isPatchedInPlace()) {               // after a patch the owner reopens the file instead
+                locked = false;
+                render();
+            }
+        }));
+    }
+
+    public long getFirstLine() {
+        return (long) scrollBar.getValue();
+    }
+
+    public void scrollTo(long line) {                   // Applied once the line count allows it (the index may still be building).
+        scrollBar.setMax(Math.max(scrollBar.getMax(), line));
+        scrollBar.setValue(line);
+    }
+
+    public MappedTextFile getFile() {
+        return file;
+    }
+
+    public void close() {                               // Stops polling and releases the file channel (after any save in flight).
+        indexPoller.stop();
+        pendingSave.whenComplete((v, err) -> {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // Nothing useful to report when a view fails to close
+            }
+        });
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+public class MappedTextFile implements Closeable {      // Read-only, memory-mapped view of a (possibly huge) UTF-8 text file, addressed by line.
+
+    static final int LINE_STRIDE = 1024;                 // One index checkpoint every LINE_STRIDE lines
+    private static final long WINDOW_SIZE = 64L << 20;   // Size of each mapped window (mapped memory lives off-heap)
+    private static final int MAX_DECODE_BYTES = 4 << 20; // Upper bound on bytes decoded per request (guards against giant single lines)
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final BasicFileAttributes openedAttributes;   // identity of the file as mapped (to detect outside replacement)
+
+    // Window used by readers on the UI thread; the index builder maps its own windows
+    private MappedByteBuffer window;
+    private long windowStart = -1;
+
+    // Sparse line index: checkpoints[k] is the byte offset where line k * LINE_STRIDE starts.
+    // The builder publishes the array before the count, so readers always see a filled slot.
+    private volatile long[] checkpoints = new long[64];
+    private volatile int checkpointCount = 1;
+    private volatile long indexedLines = 0;             // Newlines seen so far by the builder
+    private volatile long indexedBytes = 0;
+    private volatile boolean indexComplete = false;
+    private Future<?> indexTask;
+
+    MappedTextFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.openedAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    // Index building
+
+    void startIndexing(FileService service) {            // Builds the sparse line index on a background virtual thread.
+        indexTask = service.submitBackground(this::buildIndex);
+    }
+
+    private void buildIndex() {
+        long[] points = checkpoints;
+        int count = 1;
+        long lines = 0;
+        try {
+            for (long start = 0; start < size; start += WINDOW_SIZE) {
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+                int limit = buf.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (buf.get(i) == '\n') {
+                        lines++;
+                        if (lines % LINE_STRIDE == 0) {
+                            if (count == points.length) {
+                                points = Arrays.copyOf(points, count * 2);
+                                checkpoints = points;
+                            }
+                            points[count] = start + i + 1;
+                            checkpointCount = ++count;
+                        }
+                    }
+                }
+                indexedLines = lines;
+                indexedBytes = start + limit;
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Leave the index partial; everything indexed so far stays usable
+        }
+        indexedLines = lines;
+        indexComplete = true;
+    }
+
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    public long getLineCount() {                          // Number of lines reachable so far (grows while indexing runs).
+        return indexedLines + 1;
+    }
+
+    public double getIndexProgress() {
+        return size == 0 ? 1.0 : (double) indexedBytes / size;
+    }
+
+    // Reading
+
+    public synchronized String readLines(long firstLine, int count) throws IOException {     // Decodes only the requested line range.
+        if (count <= 0 || size == 0) {
+            return "";
+        }
+        long start = lineStart(firstLine);
+        long pos = start;
+        int remaining = count;
+        while (pos < size && pos - start < MAX_DECODE_BYTES) {
+            if (byteAt(pos++) == '\n' && --remaining == 0) {
+                break;
+            }
+        }
+        String text = decode(start, (int) (pos - start));
+        return text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    synchronized long lineStart(long line) throws IOException {     // Byte offset where the line starts (size when past the end).
+        int n = checkpointCount;
+        long[] points = checkpoints;
+        int k = (int) Math.min(line / LINE_STRIDE, n - 1);
+
+        // Skip forward from the nearest checkpoint (at most LINE_STRIDE - 1 lines once indexing is done)
+        long pos = points[k];
+        long toSkip = line - (long) k * LINE_STRIDE;
+        while (toSkip > 0 && pos < size) {
+            if (byteAt(pos++) == '\n') {
+                toSkip--;
+            }
+        }
+        return pos;
+    }
+
+    synchronized long lineOf(long offset) throws IOException {       // Number of newlines before the offset.
+        int n = checkpointCount;
+        long[] points = checkpoints;
+        int lo = 0;
+        int hi = n - 1;
+        while (lo < hi) {                                    // last checkpoint at or before offset
+            int mid = (lo + hi + 1) >>> 1;
+            if (points[mid] <= offset) lo = mid; else hi = mid - 1;
+        }
+        long line = (long) lo * LINE_STRIDE;
+        for (long pos = points[lo]; pos < offset; pos++) {
+            if (byteAt(pos) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    synchronized void read(long start, byte[] dst, int off, int length) throws IOException {   // Copies raw bytes out of the mapped windows.
+        int copied = 0;
+        while (copied < length) {
+            long pos = start + copied;
+            byteAt(pos);                                       // make sure the window covers pos
+            int offset = (int) (pos - windowStart);
+            int chunk = Math.min(length - copied, window.limit() - offset);
+            window.get(offset, dst, off + copied, chunk);
+            copied += chunk;
+        }
+    }
+
+    void transferTo(long start, long length, WritableByteChannel target) throws IOException {    // Streams a byte range to another channel (kernel copy where supported).
+        long done = 0;
+        while (done < length) {
+            long n = channel.transferTo(start + done, length - done, target);
+            if (n <= 0 && start + done >= size) {
+                throw new EOFException("Range past the end of " + path);
+            }
+            done += n;
+        }
+    }
+
+    private byte byteAt(long pos) throws IOException {
+        if (window == null || pos < windowStart || pos >= windowStart + window.limit()) {
+            mapWindowAt(pos);
+        }
+        return window.get((int) (pos - windowStart));
+    }
+
+    private void mapWindowAt(long pos) throws IOException {
+        windowStart = (pos / WINDOW_SIZE) * WINDOW_SIZE;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(WINDOW_SIZE, size - windowStart));
+    }
+
+    private String decode(long start, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        read(start, bytes, 0, length);
+        return StandardCharsets.UTF_8.decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    // Helpers
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    boolean isSameFileUnchanged(Path target) throws IOException {     // target is this very file, not modified since it was mapped.
+        BasicFileAttributes now = Files.readAttributes(target, BasicFileAttributes.class);
+        Object key = openedAttributes.fileKey();
+        return (key != null ? key.equals(now.fileKey()) : Files.isSameFile(path, target))
+                && now.size() == size
+                && now.lastModifiedTime().equals(openedAttributes.lastModifiedTime());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (indexTask != null) {
+            indexTask.cancel(true);
+        }
+        channel.close();
+    }
+}
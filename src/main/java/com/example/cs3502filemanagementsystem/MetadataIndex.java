@@ -0,0 +1,239 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MetadataIndex {         // Persistent per-root cache of directory listings (name, size, mtime, file key, isDirectory).
+
+    private static final int MAGIC = 0x4F574C49;        // "OWLI"
+    private static final int VERSION = 1;
+    private static final int DIRECTORY_RECORD_MIN_BYTES = 4 + 8 + 4;        // path length, mtime, child count
+    private static final int CHILD_RECORD_MIN_BYTES = 4 + 1 + 8 + 8 + 4;    // name length, isDirectory, size, mtime, key length
+
+    // Children of one directory as of the directory's recorded mtime
+    record DirectoryRecord(long mtime, List<FileEntry> children) {
+    }
+
+    private final Path root;
+    private final Path indexFile;
+    private final Map<Path, DirectoryRecord> directories = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private MetadataIndex(Path root, Path indexFile) {
+        this.root = root;
+        this.indexFile = indexFile;
+    }
+
+    public static MetadataIndex open(Path root) {           // Loads the index stored for this root, or starts an empty one.
+        Path normalized = root.toAbsolutePath().normalize();
+        MetadataIndex index = new MetadataIndex(normalized, indexFileFor(normalized));
+        if (Files.isRegularFile(index.indexFile)) {
+            try {
+                index.load();
+            } catch (IOException | RuntimeException e) {
+                index.directories.clear();                   // Corrupt or from another version: rebuild as we go
+            }
+        }
+        return index;
+    }
+
+    private static Path indexFileFor(Path root) {
+        String home = System.getProperty("user.home");
+        String name = digest(root.toString()) + ".idx";          // one file per root; a String hash code lets two roots collide
+        return Paths.get(home, ".owltech-filemanager", "index", name);
+    }
+
+    private static String digest(String s) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);    // every Java platform has it
+        }
+    }
+
+    // Lookup / update
+
+    DirectoryRecord get(Path dir) {
+        return directories.get(dir.toAbsolutePath().normalize());
+    }
+
+    void put(Path dir, long mtime, List<FileEntry> children) {
+        Path key = dir.toAbsolutePath().normalize();
+        if (!key.startsWith(root)) {
+            return;
+        }
+        directories.put(key, new DirectoryRecord(mtime, List.copyOf(children)));
+        dirty = true;
+    }
+
+    void remove(Path dir) {
+        if (directories.remove(dir.toAbsolutePath().normalize()) != null) {
+            dirty = true;
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Persistence (compact binary: paths relative to the root, file keys as strings)
+
+    public synchronized void save() throws IOException {      // Writes to a temp file and moves it into place, so a crash never leaves a half-written index.
+        if (!dirty) {
+            return;
+        }
+        dirty = false;                                          // cleared first so a put() during the write marks it again
+        boolean saved = false;
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(indexFile.getParent());
+            writeTo(tmp);
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            saved = true;
+        } finally {
+            if (!saved) {
+                dirty = true;                                   // still unsaved: the next save() tries again
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // the write error is the one to report
+                }
+            }
+        }
+    }
+
+    private void writeTo(Path tmp) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, root.toString());
+            out.writeInt(directories.size());
+            for (Map.Entry<Path, DirectoryRecord> e : directories.entrySet()) {
+                writeString(out, root.relativize(e.getKey()).toString());
+                out.writeLong(e.getValue().mtime());
+                List<FileEntry> children = e.getValue().children();
+                out.writeInt(children.size());
+                for (FileEntry child : children) {
+                    BasicFileAttributes a = child.attributes();
+                    writeString(out, child.name());
+                    out.writeBoolean(a != null && a.isDirectory());
+                    out.writeLong(a == null ? 0 : a.size());
+                    out.writeLong(a == null ? 0 : a.lastModifiedTime().toMillis());
+                    writeString(out, a == null || a.fileKey() == null ? "" : a.fileKey().toString());
+                }
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        try (RemainingInputStream remaining = new RemainingInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile), 1 << 16), Files.size(indexFile));
+             DataInputStream in = new DataInputStream(remaining)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !root.toString().equals(readString(in, remaining))) {
+                throw new IOException("Index does not match root: " + root);
+            }
+            int dirCount = readCount(in, remaining, DIRECTORY_RECORD_MIN_BYTES);
+            for (int d = 0; d < dirCount; d++) {
+                Path dir = root.resolve(readString(in, remaining));
+                long mtime = in.readLong();
+                int childCount = readCount(in, remaining, CHILD_RECORD_MIN_BYTES);
+                List<FileEntry> children = new ArrayList<>(childCount);
+                for (int c = 0; c < childCount; c++) {
+                    String name = readString(in, remaining);
+                    boolean isDir = in.readBoolean();
+                    long size = in.readLong();
+                    long modified = in.readLong();
+                    String key = readString(in, remaining);
+                    children.add(new FileEntry(dir.resolve(name),
+                            new IndexedAttributes(isDir, size, modified, key.isEmpty() ? null : key)));
+                }
+                directories.put(dir, new DirectoryRecord(mtime, children));
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);      // writeUTF caps strings at 64 KB
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, RemainingInputStream remaining) throws IOException {
+        byte[] bytes = new byte[readCount(in, remaining, 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // A count read from the file, checked against what is left of it, so a corrupt index cannot ask for a huge array
+    private static int readCount(DataInputStream in, RemainingInputStream remaining, int minBytesEach) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || (long) count * minBytesEach > remaining.bytes) {
+            throw new IOException("Corrupt index: a count of " + count + " does not fit in the rest of the file");
+        }
+        return count;
+    }
+
+    private static final class RemainingInputStream extends FilterInputStream {    // Tracks how much of the index file is left to read
+        long bytes;
+
+        RemainingInputStream(InputStream in, long size) {
+            super(in);
+            this.bytes = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytes--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytes -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            bytes -= skipped;
+            return skipped;
+        }
+    }
+
+    // Attributes restored from the index (no filesystem access)
+    record IndexedAttributes(boolean isDirectory, long size, long modifiedMillis, Object fileKey) implements BasicFileAttributes {
+        @Override public FileTime lastModifiedTime() { return FileTime.fromMillis(modifiedMillis); }
+        @Override public FileTime lastAccessTime() { return lastModifiedTime(); }
+        @Override public FileTime creationTime() { return lastModifiedTime(); }
+        @Override public boolean isRegularFile() { return !isDirectory; }
+        @Override public boolean isSymbolicLink() { return false; }
+        @Override public boolean isOther() { return false; }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NamePattern {      // File name template for bulk renames and creates: "{name}-{n:3}{ext}" -> "photo-007.jpg".
+
+    // {name}: the original name without its extension; {ext}: the extension with its dot ("" if none);
+    // {n}: a counter starting at the given number, {n:3} zero-padded to 3 digits. Anything else is copied as is.
+    private sealed interface Part permits Literal, BaseName, Extension, Counter {
+    }
+
+    private record Literal(String text) implements Part {
+    }
+
+    private record BaseName() implements Part {
+    }
+
+    private record Extension() implements Part {
+    }
+
+    private record Counter(int width) implements Part {
+    }
+
+    private final String template;
+    private final List<Part> parts;
+
+    private NamePattern(String template, List<Part> parts) {
+        this.template = template;
+        this.parts = parts;
+    }
+
+    public static NamePattern parse(String template) {       // Throws IllegalArgumentException for unknown or unclosed {tokens}.
+        List<Part> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            int close = template.indexOf('}', i);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed '{' at position " + (i + 1));
+            }
+            String token = template.substring(i + 1, close);
+            Part part;
+            if (token.equals("name")) {
+                part = new BaseName();
+            } else if (token.equals("ext")) {
+                part = new Extension();
+            } else if (token.equals("n")) {
+                part = new Counter(0);
+            } else if (token.startsWith("n:") && token.length() > 2 && token.substring(2).chars().allMatch(Character::isDigit)
+                    && token.length() <= 4) {
+                part = new Counter(Integer.parseInt(token.substring(2)));
+            } else {
+                throw new IllegalArgumentException("Unknown token {" + token + "} (use {name}, {ext}, {n} or {n:3})");
+            }
+            if (!literal.isEmpty()) {
+                parts.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+            parts.add(part);
+            i = close + 1;
+        }
+        if (!literal.isEmpty()) {
+            parts.add(new Literal(literal.toString()));
+        }
+        return new NamePattern(template, List.copyOf(parts));
+    }
+
+    public String apply(String originalName, long counter) {  // The new name for one file (originalName may be empty for creates).
+        int dot = originalName.lastIndexOf('.');
+        boolean hasExtension = dot > 0;                        // ".bashrc" is a name, not an extension
+        StringBuilder out = new StringBuilder();
+        for (Part part : parts) {
+            switch (part) {
+                case Literal l -> out.append(l.text());
+                case BaseName b -> out.append(hasExtension ? originalName.substring(0, dot) : originalName);
+                case Extension e -> out.append(hasExtension ? originalName.substring(dot) : "");
+                case Counter n -> {
+                    String digits = Long.toString(counter);
+                    out.repeat('0', Math.max(0, n.width() - digits.length()));
+                    out.append(digits);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    public boolean usesCounter() {
+        return parts.stream().anyMatch(p -> p instanceof Counter);
+    }
+
+    static String checkName(String name) {                     // Null if usable as a single file name, else why not.
+        if (name.isBlank()) {
+            return "empty name";
+        }
+        if (name.equals(".") || name.equals("..")) {
+            return "'" + name + "' is not a file name";
+        }
+        if (name.indexOf('/') >= 0 || name.indexOf('\\') >= 0 || name.indexOf('\0') >= 0) {
+            return "'" + name + "' contains a path separator";
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.cs3502filemanagementsystem;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OperationMetrics implements OperationMetricsMXBean {      // Latency histograms and I/O volume per operation, split by FX thread vs background.
+
+    public enum Unit { NONE, BYTES_READ, BYTES_WRITTEN, ENTRIES }
+
+    // Looking up the event type starts JFR's metadata repository (~0.3 s), so it waits until a recording has been started
+    private static final class Tracing {
+        static final EventType EVENT_TYPE = EventType.getEventType(FileOperationEvent.class);
+    }
+
+    public final class Op {                                 // Handle for one named operation; look it up once, then begin()/end() per call.
+        private final String name;
+        private final Unit unit;
+        private final boolean traced;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong fxNanos = new AtomicLong();
+        private final AtomicLong backgroundNanos = new AtomicLong();
+        private final AtomicLong amount = new AtomicLong();
+
+        private Op(String name, Unit unit, boolean traced) {
+            this.name = name;
+            this.unit = unit;
+            this.traced = traced;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long begin() {
+            return System.nanoTime();
+        }
+
+        public void end(long start) {
+            end(start, null, 0);
+        }
+
+        public void end(long start, Path path, long amount) {    // Amount is in the op's unit (bytes or entries); ignored for NONE.
+            long nanos = System.nanoTime() - start;
+            boolean fx = Thread.currentThread() == uiThread;
+            latency.record(nanos);
+            (fx ? fxNanos : backgroundNanos).addAndGet(nanos);
+            (fx ? totalFxNanos : totalBackgroundNanos).addAndGet(nanos);
+            if (amount > 0 && unit != Unit.NONE) {
+                this.amount.addAndGet(amount);
+                (unit == Unit.BYTES_READ ? bytesRead : unit == Unit.BYTES_WRITTEN ? bytesWritten : entriesListed).addAndGet(amount);
+            }
+            if (traced && FlightRecorder.isInitialized() && Tracing.EVENT_TYPE.isEnabled()) {
+                FileOperationEvent event = new FileOperationEvent();
+                if (event.shouldCommit()) {
+                    event.operation = name;
+                    event.path = path == null ? null : path.toString();
+                    event.elapsed = nanos;
+                    event.fxThread = fx;
+                    event.bytes = unit == Unit.BYTES_READ || unit == Unit.BYTES_WRITTEN ? amount : 0;
+                    event.entries = unit == Unit.ENTRIES ? amount : 0;
+                    event.commit();
+                }
+            }
+        }
+
+        OperationStats snapshot() {
+            return new OperationStats(name, latency.getCount(), latency.getMeanNanos() / 1e6,
+                    latency.percentile(0.50) / 1e6, latency.percentile(0.90) / 1e6, latency.percentile(0.99) / 1e6,
+                    latency.getMaxNanos() / 1e6, fxNanos.get() / 1e6, backgroundNanos.get() / 1e6, amount.get(),
+                    unit == Unit.NONE ? "" : unit.name().toLowerCase().replace('_', ' '));
+        }
+
+        void reset() {
+            latency.reset();
+            fxNanos.set(0);
+            backgroundNanos.set(0);
+            amount.set(0);
+        }
+    }
+
+    private final Map<String, Op> byName = new ConcurrentHashMap<>();
+    private final List<Op> ops = new CopyOnWriteArrayList<>();    // registration order, for display
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong entriesListed = new AtomicLong();
+    private final AtomicLong totalFxNanos = new AtomicLong();
+    private final AtomicLong totalBackgroundNanos = new AtomicLong();
+    private volatile Thread uiThread;
+    private ObjectName registeredName;
+
+    public Op op(String name) {
+        return op(name, Unit.NONE, true);
+    }
+
+    public Op op(String name, Unit unit) {
+        return op(name, unit, true);
+    }
+
+    public Op op(String name, Unit unit, boolean traced) {     // Untraced ops (per-entry calls like stat) are timed but emit no JFR events.
+        return byName.computeIfAbsent(name, n -> {
+            Op op = new Op(n, unit, traced);
+            ops.add(op);
+            return op;
+        });
+    }
+
+    public void setUiThread(Thread thread) {                    // The JavaFX application thread; time spent on it is reported separately.
+        this.uiThread = thread;
+    }
+
+    // MXBean
+
+    @Override
+    public List<OperationStats> getOperations() {              // Operations that have run at least once.
+        List<OperationStats> stats = new ArrayList<>(ops.size());
+        for (Op op : ops) {
+            if (op.latency.getCount() > 0) {
+                stats.add(op.snapshot());
+            }
+        }
+        return stats;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public long getEntriesListed() {
+        return entriesListed.get();
+    }
+
+    @Override
+    public double getFxThreadMillis() {
+        return totalFxNanos.get() / 1e6;
+    }
+
+    @Override
+    public double getBackgroundMillis() {
+        return totalBackgroundNanos.get() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        ops.forEach(Op::reset);
+        bytesRead.set(0);
+        bytesWritten.set(0);
+        entriesListed.set(0);
+        totalFxNanos.set(0);
+        totalBackgroundNanos.set(0);
+    }
+
+    public synchronized void registerMBean() {                  // Best effort: monitoring must never keep the app from starting.
+        if (registeredName != null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName("com.example.cs3502filemanagementsystem:type=OperationMetrics");
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                registeredName = name;
+            }
+        } catch (JMException | SecurityException e) {
+            // Not exposed over JMX; the Diagnostics tab still shows everything
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            // Already gone
+        }
+        registeredName = null;
+    }
+}
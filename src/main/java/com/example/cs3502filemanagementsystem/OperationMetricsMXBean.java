@@ -0,0 +1,20 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.util.List;
+
+public interface OperationMetricsMXBean {      // Management view of OperationMetrics (registered as com.example.cs3502filemanagementsystem:type=OperationMetrics).
+
+    List<OperationStats> getOperations();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    long getEntriesListed();
+
+    double getFxThreadMillis();
+
+    double getBackgroundMillis();
+
+    void reset();
+}
@@ -0,0 +1,79 @@
+package com.example.cs3502filemanagementsystem;
+
+import javax.management.ConstructorParameters;
+
+public final class OperationStats {      // Snapshot of one operation's metrics (a table row, and a CompositeData over JMX).
+
+    private final String name;
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double fxThreadMillis;
+    private final double backgroundMillis;
+    private final long amount;
+    private final String unit;
+
+    @ConstructorParameters({"name", "count", "meanMillis", "p50Millis", "p90Millis", "p99Millis", "maxMillis",
+            "fxThreadMillis", "backgroundMillis", "amount", "unit"})
+    public OperationStats(String name, long count, double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+                          double maxMillis, double fxThreadMillis, double backgroundMillis, long amount, String unit) {
+        this.name = name;
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.fxThreadMillis = fxThreadMillis;
+        this.backgroundMillis = backgroundMillis;
+        this.amount = amount;
+        this.unit = unit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP90Millis() {
+        return p90Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getFxThreadMillis() {                    // Total time spent on the JavaFX application thread.
+        return fxThreadMillis;
+    }
+
+    public double getBackgroundMillis() {                  // Total time spent on every other thread.
+        return backgroundMillis;
+    }
+
+    public long getAmount() {                              // Bytes read, bytes written or entries listed, depending on the unit.
+        return amount;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.util.Duration;
+
+import java.util.function.Function;
+
+public class OperationsPane extends BorderPane {       // Lists queued, running and finished jobs with live progress and per-job cancel.
+
+    private final JobScheduler scheduler;
+    private final TableView<Job<?>> table = new TableView<>();
+    private final Button btnCancel = new Button("Cancel");
+    private final Button btnClear = new Button("Clear Finished");
+    private final Label summaryLabel = new Label();
+    private long shownVersion = -1;
+
+    public OperationsPane(JobScheduler scheduler) {
+        this.scheduler = scheduler;
+
+        table.getColumns().add(column("Operation", 260, Job::getName));
+        table.getColumns().add(column("Priority", 90, job -> label(job.getPriority().name())));
+        table.getColumns().add(column("State", 90, job -> label(job.getState().name())));
+        table.getColumns().add(progressColumn());
+        table.getColumns().add(column("Time", 70, job -> job.getState() == Job.State.QUEUED ? ""
+                : String.format("%.1f s", job.getElapsedSeconds())));
+        table.getColumns().add(column("Details", 360, Job::getDetail));
+        table.setPlaceholder(new Label("No operations yet"));
+        table.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, job) -> updateButtons());
+
+        btnCancel.setOnAction(e -> {
+            Job<?> job = table.getSelectionModel().getSelectedItem();
+            if (job != null) {
+                job.cancel();
+            }
+        });
+        btnClear.setOnAction(e -> scheduler.clearFinished());
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox bar = new HBox(8, summaryLabel, spacer, btnCancel, btnClear);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+
+        setCenter(table);
+        setBottom(bar);
+
+        // Jobs change on worker threads; the table is brought up to date a few times a second instead of per event
+        Timeline poller = new Timeline(new KeyFrame(Duration.millis(250), e -> refresh()));
+        poller.setCycleCount(Timeline.INDEFINITE);
+        poller.play();
+        refresh();
+    }
+
+    private void refresh() {
+        long version = scheduler.getVersion();
+        if (version != shownVersion) {
+            shownVersion = version;
+            Job<?> selected = table.getSelectionModel().getSelectedItem();
+            table.getItems().setAll(scheduler.getJobs().reversed());     // newest first
+            if (selected != null && table.getItems().contains(selected)) {
+                table.getSelectionModel().select(selected);
+            }
+        } else if (scheduler.getRunningCount() > 0) {
+            table.refresh();                                            // progress and elapsed time only
+        }
+        summaryLabel.setText(scheduler.getRunningCount() + " running, " + scheduler.getQueuedCount() + " queued");
+        updateButtons();
+    }
+
+    private void updateButtons() {
+        Job<?> job = table.getSelectionModel().getSelectedItem();
+        btnCancel.setDisable(job == null || !job.isCancellable());
+    }
+
+    private static String label(String enumName) {         // RUNNING -> Running
+        return enumName.charAt(0) + enumName.substring(1).toLowerCase();
+    }
+
+    private static TableColumn<Job<?>, String> column(String title, double width, Function<Job<?>, String> value) {
+        TableColumn<Job<?>, String> col = new TableColumn<>(title);
+        col.setPrefWidth(width);
+        col.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(value.apply(data.getValue())));
+        return col;
+    }
+
+    private static TableColumn<Job<?>, Double> progressColumn() {
+        TableColumn<Job<?>, Double> col = new TableColumn<>("Progress");
+        col.setPrefWidth(120);
+        col.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getProgress()));
+        col.setCellFactory(c -> new TableCell<>() {
+            private final ProgressBar bar = new ProgressBar();
+
+            @Override
+            protected void updateItem(Double progress, boolean empty) {
+                super.updateItem(progress, empty);
+                if (empty || progress == null) {
+                    setGraphic(null);
+                } else {
+                    bar.setProgress(progress < 0 ? ProgressBar.INDETERMINATE_PROGRESS : progress);
+                    bar.setMaxWidth(Double.MAX_VALUE);
+                    setGraphic(bar);
+                }
+            }
+        });
+        return col;
+    }
+}
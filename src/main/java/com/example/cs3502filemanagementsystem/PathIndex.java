@@ -0,0 +1,302 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PathIndex {             // In-memory index of every path under a root, for fuzzy "go to file" lookups.
+
+    // Entries (files and folders): parent entry id and name segment id, in primitive arrays
+    private int[] parent = new int[1024];
+    private int[] nameOf = new int[1024];
+    private int count;
+
+    // Interned name segments; the lower-cased copies that get matched are packed into one char[] for cache-friendly scans
+    private final List<String> segments = new ArrayList<>();
+    private char[] lowerChars;
+    private int[] lowerStart;                       // segment id -> offset into lowerChars (plus one end sentinel)
+    private byte[] depthOf;                         // entry id -> directory depth below the root (capped)
+    private long[] charMasks;                       // segment id -> bit set of the characters in its name (cheap prefilter)
+    private int[][] entriesBySegment;               // segment id -> entry ids with that name
+
+    // Trigram index: sorted trigram keys -> segment ids containing the trigram
+    private int[] trigramKeys;
+    private int[][] trigramSegments;
+
+    private final Path root;
+
+    public record Result(Path path, int score) {
+        @Override
+        public String toString() {
+            return path.toString();
+        }
+    }
+
+    private PathIndex(Path root) {
+        this.root = root;
+    }
+
+    // Building
+
+    public static PathIndex build(Path root, AtomicLong progress) throws IOException {     // Walks the whole tree once; progress counts entries seen.
+        PathIndex index = new PathIndex(root);
+        Map<String, Integer> interned = new HashMap<>();
+        Map<Path, Integer> dirIds = new HashMap<>();            // only directories still being walked
+        dirIds.put(root, -1);
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root)) {
+                    dirIds.put(dir, index.add(dirIds.get(dir.getParent()), dir, interned));
+                    progress.incrementAndGet();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                index.add(dirIds.getOrDefault(file.getParent(), -1), file, interned);
+                progress.incrementAndGet();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                if (!dir.equals(root)) dirIds.remove(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        index.freeze();
+        return index;
+    }
+
+    private int add(int parentId, Path path, Map<String, Integer> interned) {
+        if (count == parent.length) {
+            parent = Arrays.copyOf(parent, count * 2);
+            nameOf = Arrays.copyOf(nameOf, count * 2);
+        }
+        String name = path.getFileName().toString();
+        Integer seg = interned.get(name);
+        if (seg == null) {
+            seg = segments.size();
+            segments.add(name);
+            interned.put(name, seg);
+        }
+        parent[count] = parentId;
+        nameOf[count] = seg;
+        return count++;
+    }
+
+    private void freeze() {                             // Builds the per-segment entry lists and the trigram index.
+        int segCount = segments.size();
+        charMasks = new long[segCount];
+        lowerStart = new int[segCount + 1];
+        depthOf = new byte[count];
+        for (int i = 0; i < count; i++) {
+            depthOf[i] = parent[i] < 0 ? 0 : (byte) Math.min(63, depthOf[parent[i]] + 1);    // parents are added first
+        }
+        int[] perSegment = new int[segCount];
+        for (int i = 0; i < count; i++) perSegment[nameOf[i]]++;
+        entriesBySegment = new int[segCount][];
+        for (int s = 0; s < segCount; s++) entriesBySegment[s] = new int[perSegment[s]];
+        Arrays.fill(perSegment, 0);
+        for (int i = 0; i < count; i++) entriesBySegment[nameOf[i]][perSegment[nameOf[i]]++] = i;
+
+        Map<Integer, int[]> grams = new HashMap<>();           // trigram -> {size, ids...} growable
+        StringBuilder packed = new StringBuilder();
+        for (int s = 0; s < segCount; s++) {
+            String lower = segments.get(s).toLowerCase();
+            lowerStart[s] = packed.length();
+            packed.append(lower);
+            charMasks[s] = charMask(lower);
+            int last = Integer.MIN_VALUE;
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                int key = trigram(lower, i);
+                if (key == last) continue;
+                last = key;
+                int[] list = grams.computeIfAbsent(key, k -> new int[5]);
+                if (list[0] > 0 && list[list[0]] == s) continue;   // same trigram twice in one name
+                if (list[0] + 1 == list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                    grams.put(key, list);
+                }
+                list[++list[0]] = s;
+            }
+        }
+        lowerStart[segCount] = packed.length();
+        lowerChars = packed.toString().toCharArray();
+        trigramKeys = grams.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        trigramSegments = new int[trigramKeys.length][];
+        for (int i = 0; i < trigramKeys.length; i++) {
+            int[] list = grams.get(trigramKeys[i]);
+            trigramSegments[i] = Arrays.copyOfRange(list, 1, list[0] + 1);
+        }
+    }
+
+    private static int trigram(String s, int i) {
+        return (s.charAt(i) * 31 + s.charAt(i + 1)) * 31 + s.charAt(i + 2);
+    }
+
+    private static long charMask(String s) {
+        long mask = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            int bit = c >= 'a' && c <= 'z' ? c - 'a'
+                    : c >= '0' && c <= '9' ? 26 + c - '0'
+                    : 36 + c % 28;
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    // Querying
+
+    public List<Result> find(String query, int k) {         // Top-k entries whose name fuzzily matches the query.
+        String q = query.toLowerCase().strip();
+        if (q.isEmpty() || count == 0 || k <= 0) {
+            return List.of();
+        }
+        int segCount = charMasks.length;
+        char[] qc = q.toCharArray();
+        long queryMask = charMask(q);
+        int[] scores = new int[segCount];                     // 0 = not a match
+
+        // Substring-like queries are answered from trigram candidates alone when those give enough results;
+        // otherwise every name is checked, with the character mask rejecting most of them before scoring
+        boolean enough = false;
+        if (q.length() >= 3) {
+            int[] hits = new int[segCount];
+            int grams = 0;
+            for (int i = 0; i + 3 <= q.length(); i++) {
+                int pos = Arrays.binarySearch(trigramKeys, trigram(q, i));
+                grams++;
+                if (pos >= 0) {
+                    for (int s : trigramSegments[pos]) hits[s]++;
+                }
+            }
+            int candidates = 0;
+            for (int s = 0; s < segCount; s++) {
+                if (hits[s] == grams && (scores[s] = score(s, qc)) > 0) candidates++;
+            }
+            enough = candidates >= k;
+        }
+        if (!enough) {
+            for (int s = 0; s < segCount; s++) {
+                if (scores[s] == 0 && (charMasks[s] & queryMask) == queryMask) scores[s] = score(s, qc);
+            }
+        }
+
+        // Keep the k best entries in a min-heap (higher score, then shallower path)
+        int[] heap = new int[k];
+        int[] heapScore = new int[k];
+        int filled = 0;
+        for (int s = 0; s < segCount; s++) {
+            if (scores[s] <= 0 || (filled == k && scores[s] * 64 <= heapScore[0])) continue;
+            for (int entry : entriesBySegment[s]) {
+                int sc = scores[s] * 64 - depthOf[entry];
+                if (filled < k) {
+                    heap[filled] = entry;
+                    heapScore[filled] = sc;
+                    siftUp(heap, heapScore, filled++);
+                } else if (sc > heapScore[0]) {
+                    heap[0] = entry;
+                    heapScore[0] = sc;
+                    siftDown(heap, heapScore, k);
+                }
+            }
+        }
+        List<Result> results = new ArrayList<>(filled);
+        for (int i = 0; i < filled; i++) results.add(new Result(pathOf(heap[i]), heapScore[i]));
+        results.sort((a, b) -> Integer.compare(b.score(), a.score()));
+        return results;
+    }
+
+    private static void siftUp(int[] heap, int[] score, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (score[parent] <= score[i]) return;
+            swap(heap, score, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int[] score, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && score[left] < score[smallest]) smallest = left;
+            if (right < size && score[right] < score[smallest]) smallest = right;
+            if (smallest == i) return;
+            swap(heap, score, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int[] score, int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+        t = score[a];
+        score[a] = score[b];
+        score[b] = t;
+    }
+
+    private int score(int segment, char[] q) {       // Fuzzy subsequence score (0 = no match); rewards prefixes, word starts and runs.
+        char[] name = lowerChars;
+        int start = lowerStart[segment];
+        int end = lowerStart[segment + 1];
+        int score = 0;
+        int run = 0;
+        int ni = start;
+        for (int qi = 0; qi < q.length; qi++) {
+            char c = q[qi];
+            int found = ni;
+            while (found < end && name[found] != c) found++;
+            if (found == end) {
+                return 0;
+            }
+            boolean wordStart = found == start || !Character.isLetterOrDigit(name[found - 1]);
+            run = found == ni && qi > 0 ? run + 1 : 0;
+            score += 1 + run * 3 + (wordStart ? 4 : 0) + (found - start == qi ? 2 : 0);
+            ni = found + 1;
+        }
+        int length = end - start;
+        if (length == q.length) {
+            score += 20;                                 // a full-length subsequence is the exact name
+        }
+        return score + Math.max(0, 10 - (length - q.length) / 4);
+    }
+
+    private Path pathOf(int entry) {
+        List<String> parts = new ArrayList<>();
+        for (int e = entry; e >= 0; e = parent[e]) parts.add(segments.get(nameOf[e]));
+        Path p = root;
+        for (int i = parts.size() - 1; i >= 0; i--) p = p.resolve(parts.get(i));
+        return p;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return count;
+    }
+}
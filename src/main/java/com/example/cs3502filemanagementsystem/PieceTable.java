@@ -0,0 +1,285 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+public class PieceTable {       // Editable document over a memory-mapped file: the original stays read-only, edits go to an append buffer.
+
+    static final int MAX_TEXT_BYTES = 4 << 20;      // Upper bound on bytes decoded per request
+
+    // A run of bytes taken from either the original file or the append buffer
+    private record Piece(boolean added, long start, long length, long newlines) {
+    }
+
+    private final MappedTextFile original;
+    private byte[] added = new byte[4096];                  // append-only: bytes are never changed once written
+    private int addedLength;
+    private List<Piece> pieces = new ArrayList<>();
+
+    // Prefix sums over pieces, rebuilt after each edit (O(pieces), and edits are rare next to reads)
+    private long[] pieceOffset;
+    private long[] pieceLine;
+    private long length;
+    private long newlines;
+    private long version;                                   // bumped on every edit
+    private long savedVersion;
+
+    public PieceTable(MappedTextFile original) {       // Needs the file's line index to be complete.
+        this.original = original;
+        if (original.getSize() > 0) {
+            pieces.add(new Piece(false, 0, original.getSize(), original.getLineCount() - 1));
+        }
+        rebuildSums();
+    }
+
+    // Reading
+
+    public long length() {                                  // Document length in bytes (UTF-8)
+        return length;
+    }
+
+    public long getLineCount() {
+        return newlines + 1;
+    }
+
+    public boolean isModified() {
+        return version != savedVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void markSaved(long savedVersion) {              // The given version is on disk (edits made since then still count).
+        this.savedVersion = savedVersion;
+    }
+
+    public long lineStart(long line) throws IOException {   // Byte offset where the line starts (length when past the end).
+        if (line <= 0) {
+            return 0;
+        }
+        if (line > newlines) {
+            return length;
+        }
+        // The piece holding the line-th newline: last piece with fewer newlines before it than line
+        int lo = 0;
+        int hi = pieces.size() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (pieceLine[mid] < line) lo = mid; else hi = mid - 1;
+        }
+        Piece p = pieces.get(lo);
+        long wanted = line - pieceLine[lo];                 // newlines to pass inside this piece
+        if (p.added()) {
+            for (int i = (int) p.start(); ; i++) {
+                if (added[i] == '\n' && --wanted == 0) {
+                    return pieceOffset[lo] + (i + 1 - p.start());
+                }
+            }
+        }
+        long before = original.lineOf(p.start());
+        return pieceOffset[lo] + original.lineStart(before + wanted) - p.start();
+    }
+
+    public String text(long from, long to) throws IOException {     // Decodes the byte range [from, to), capped at a few MB.
+        int len = (int) Math.min(Math.max(0, to - from), MAX_TEXT_BYTES);
+        byte[] bytes = new byte[len];
+        int copied = 0;
+        int i = pieceAt(from);
+        while (copied < len && i < pieces.size()) {
+            Piece p = pieces.get(i);
+            long inPiece = from + copied - pieceOffset[i];
+            int chunk = (int) Math.min(len - copied, p.length() - inPiece);
+            if (p.added()) {
+                System.arraycopy(added, (int) (p.start() + inPiece), bytes, copied, chunk);
+            } else {
+                original.read(p.start() + inPiece, bytes, copied, chunk);
+            }
+            copied += chunk;
+            i++;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Editing
+
+    public void replace(long offset, long removeLength, String text) throws IOException {    // Replaces a byte range with new text.
+        offset = Math.max(0, Math.min(offset, length));
+        long end = Math.min(length, offset + Math.max(0, removeLength));
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 && end == offset) {
+            return;
+        }
+
+        List<Piece> result = new ArrayList<>(pieces.size() + 2);
+        int i = 0;
+        while (i < pieces.size() && pieceOffset[i] + pieces.get(i).length() <= offset) {
+            result.add(pieces.get(i++));                    // untouched pieces before the edit
+        }
+        if (i < pieces.size() && pieceOffset[i] < offset) {
+            Piece p = pieces.get(i);
+            result.add(slice(p, 0, offset - pieceOffset[i]));   // left remainder of the first touched piece
+        }
+        if (bytes.length > 0) {
+            result.add(append(bytes));
+        }
+        while (i < pieces.size() && pieceOffset[i] + pieces.get(i).length() <= end) {
+            i++;                                            // pieces removed entirely
+        }
+        if (i < pieces.size() && pieceOffset[i] < end) {
+            Piece p = pieces.get(i);
+            long cut = end - pieceOffset[i];
+            result.add(slice(p, cut, p.length() - cut));        // right remainder of the last touched piece
+            i++;
+        }
+        while (i < pieces.size()) {
+            result.add(pieces.get(i++));
+        }
+        pieces = result;
+        version++;
+        rebuildSums();
+    }
+
+    private Piece append(byte[] bytes) {
+        if (addedLength + bytes.length > added.length) {
+            added = Arrays.copyOf(added, Math.max(added.length * 2, addedLength + bytes.length));   // snapshots keep the old array
+        }
+        System.arraycopy(bytes, 0, added, addedLength, bytes.length);
+        Piece p = new Piece(true, addedLength, bytes.length, countNewlines(bytes, 0, bytes.length));
+        addedLength += bytes.length;
+        return p;
+    }
+
+    private Piece slice(Piece p, long from, long len) throws IOException {
+        long start = p.start() + from;
+        long lines = p.added()
+                ? countNewlines(added, (int) start, (int) (start + len))
+                : original.lineOf(start + len) - original.lineOf(start);
+        return new Piece(p.added(), start, len, lines);
+    }
+
+    private void rebuildSums() {
+        int n = pieces.size();
+        pieceOffset = new long[n];
+        pieceLine = new long[n];
+        long offset = 0;
+        long lines = 0;
+        for (int i = 0; i < n; i++) {
+            pieceOffset[i] = offset;
+            pieceLine[i] = lines;
+            offset += pieces.get(i).length();
+            lines += pieces.get(i).newlines();
+        }
+        length = offset;
+        newlines = lines;
+    }
+
+    private int pieceAt(long offset) {                      // Index of the piece containing offset (pieces.size() at the end).
+        int lo = 0;
+        int hi = pieces.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (pieceOffset[mid] + pieces.get(mid).length() <= offset) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static long countNewlines(byte[] bytes, int from, int to) {
+        long n = 0;
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') n++;
+        }
+        return n;
+    }
+
+    // Saving
+
+    public SaveOperation.Patch snapshot() {                 // Current contents for a background save; later edits don't affect it.
+        List<Piece> frozen = List.copyOf(pieces);
+        long[] offsets = pieceOffset.clone();
+        byte[] buffer = added;                              // bytes below addedLength never change, even if the array is replaced
+        long size = length;
+        long[] dirty = dirtyRanges(frozen, offsets, size);
+        return new SaveOperation.Patch() {
+            @Override
+            public long estimatedSize() {
+                return size;
+            }
+
+            @Override
+            public void writeTo(FileChannel channel, LongConsumer progress) throws IOException {
+                for (Piece p : frozen) {
+                    if (p.added()) {
+                        ByteBuffer buf = ByteBuffer.wrap(buffer, (int) p.start(), (int) p.length());
+                        while (buf.hasRemaining()) {
+                            channel.write(buf);
+                        }
+                    } else {
+                        original.transferTo(p.start(), p.length(), channel);    // unchanged ranges never pass through the heap
+                    }
+                    progress.accept(p.length());
+                }
+            }
+
+            @Override
+            public long[] dirtyRanges() {
+                return dirty;
+            }
+
+            @Override
+            public void read(long offset, byte[] dst, int off, int len) throws IOException {
+                int i = Arrays.binarySearch(offsets, offset);
+                i = i >= 0 ? i : -i - 2;                    // piece containing offset
+                for (int copied = 0; copied < len; i++) {
+                    Piece p = frozen.get(i);
+                    long inPiece = offset + copied - offsets[i];
+                    int chunk = (int) Math.min(len - copied, p.length() - inPiece);
+                    if (p.added()) {
+                        System.arraycopy(buffer, (int) (p.start() + inPiece), dst, off + copied, chunk);
+                    } else {
+                        original.read(p.start() + inPiece, dst, off + copied, chunk);
+                    }
+                    copied += chunk;
+                }
+            }
+
+            @Override
+            public boolean isBasedOn(Path target) throws IOException {
+                return original.isSameFileUnchanged(target);
+            }
+        };
+    }
+
+    private long[] dirtyRanges(List<Piece> frozen, long[] offsets, long size) {    // Byte ranges that differ from the original file, merged.
+        if (size != original.getSize()) {
+            return null;                                    // length changed: everything after the first edit moved
+        }
+        long[] ranges = new long[8];
+        int n = 0;
+        for (int i = 0; i < frozen.size(); i++) {
+            Piece p = frozen.get(i);
+            if (!p.added() && p.start() == offsets[i]) {
+                continue;                                   // original bytes still in their original place
+            }
+            if (n > 0 && ranges[n - 2] + ranges[n - 1] == offsets[i]) {
+                ranges[n - 1] += p.length();                // adjacent to the previous dirty range
+            } else {
+                if (n == ranges.length) ranges = Arrays.copyOf(ranges, n * 2);
+                ranges[n++] = offsets[i];
+                ranges[n++] = p.length();
+            }
+        }
+        return Arrays.copyOf(ranges, n);
+    }
+
+    public MappedTextFile getOriginal() {
+        return original;
+    }
+}
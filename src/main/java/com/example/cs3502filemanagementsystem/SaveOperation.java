@@ -0,0 +1,270 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+public class SaveOperation {      // Crash-safe save: write a temp sibling, fsync it, then atomically rename it over the target.
+
+    private static final int BUFFER_SIZE = 1 << 20;          // Direct buffer handed to the channel per write
+
+    public interface Content {                               // What gets written; progress is reported in bytes.
+        long estimatedSize();
+
+        void writeTo(FileChannel channel, LongConsumer progress) throws IOException;
+
+        static Content of(CharSequence text) {               // UTF-8 text, encoded a buffer at a time (no full byte[] copy)
+            return new Content() {
+                @Override
+                public long estimatedSize() {
+                    return text.length();
+                }
+
+                @Override
+                public void writeTo(FileChannel channel, LongConsumer progress) throws IOException {
+                    CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                    CharBuffer in = CharBuffer.wrap(text);
+                    ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                    CoderResult result;
+                    do {
+                        result = encoder.encode(in, out, true);
+                        if (result.isError()) {
+                            result.throwException();
+                        }
+                        progress.accept(drain(channel, out));
+                    } while (result.isOverflow());
+                    while (encoder.flush(out).isOverflow()) {
+                        progress.accept(drain(channel, out));
+                    }
+                    progress.accept(drain(channel, out));
+                }
+            };
+        }
+    }
+
+    public interface Patch extends Content {                 // Content that can also be saved by patching only its changed ranges.
+        long[] dirtyRanges();                                // (offset, length) pairs, or null when the byte length changed
+
+        void read(long offset, byte[] dst, int off, int length) throws IOException;
+
+        boolean isBasedOn(Path target) throws IOException;   // target is still the unmodified file the content was loaded from
+    }
+
+    private final Path target;
+    private final boolean allowPatch;
+    private volatile boolean patchedInPlace;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Content content;                                 // guarded by this; replaced while still queued
+    private boolean started;
+    private volatile long estimatedSize;
+    private volatile Runnable afterWrite = () -> {
+    };
+
+    SaveOperation(Path target, Content content, boolean allowPatch) {
+        this.target = target;
+        this.allowPatch = allowPatch;
+        this.content = content;
+        this.estimatedSize = expectedBytes(content);
+    }
+
+    synchronized boolean replaceContent(Content newer) {     // Lets a queued save pick up a later Ctrl+S instead of writing twice.
+        if (started) {
+            return false;
+        }
+        content = newer;
+        estimatedSize = expectedBytes(newer);
+        return true;
+    }
+
+    private long expectedBytes(Content c) {                  // What progress counts up to: just the dirty bytes when patching
+        if (allowPatch && c instanceof Patch patch && patch.dirtyRanges() != null) {
+            long dirty = 0;
+            long[] ranges = patch.dirtyRanges();
+            for (int i = 1; i < ranges.length; i += 2) dirty += ranges[i];
+            return dirty;
+        }
+        return c.estimatedSize();
+    }
+
+    void afterWrite(Runnable action) {                       // Runs once the file is written (or the write failed), before await() returns.
+        afterWrite = action;
+    }
+
+    void run() {                                             // Called on a background thread by FileService.
+        Content toWrite;
+        synchronized (this) {
+            started = true;
+            toWrite = content;
+        }
+        Throwable failure = null;
+        try {
+            if (allowPatch && toWrite instanceof Patch patch && patch.dirtyRanges() != null && patch.isBasedOn(target)) {
+                DeltaPatch.apply(target, patch, bytesWritten::addAndGet);    // same length: rewrite only what changed
+                patchedInPlace = true;
+            } else {
+                write(target, toWrite, bytesWritten::addAndGet);
+            }
+        } catch (Throwable e) {                              // also Errors, e.g. from a mapped file cut short: await() must return
+            failure = e;
+        }
+        afterWrite.run();
+        if (failure == null) {
+            completion.complete(null);
+        } else {
+            completion.completeExceptionally(failure);
+        }
+    }
+
+    static void write(Path target, Content content, LongConsumer progress) throws IOException {
+        target = target.toRealPath();                        // through a symlink: replace the file it points to, not the link
+        Path dir = target.getParent();
+        Path temp = Files.createTempFile(dir, "." + target.getFileName() + ".", ".tmp");    // same directory, so the rename stays atomic
+        boolean keepTemp = false;
+        try {
+            copyOwnership(target, temp);
+            try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                content.writeTo(ch, progress);
+                ch.force(true);                              // data must be on disk before the rename makes it visible
+            }
+            if (linkCount(target) > 1) {                     // a rename would split it from its other hard links: rewrite in place
+                try (FileChannel in = FileChannel.open(temp, StandardOpenOption.READ);
+                     FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    keepTemp = true;                         // target truncated: until done, the synced temp is the only full copy
+                    copyInto(in, out);
+                }
+                keepTemp = false;
+            } else {
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                syncDirectory(dir);
+            }
+        } catch (IOException e) {
+            if (keepTemp) {
+                throw new IOException("Failed to rewrite " + target + " in place; its new contents are in " + temp, e);
+            }
+            throw e;
+        } finally {
+            if (!keepTemp) {
+                Files.deleteIfExists(temp);                  // only still there if something failed
+            }
+        }
+    }
+
+    private static void copyOwnership(Path from, Path to) {       // The temp file replaces the original, so keep its mode bits, owner and group.
+        PosixFileAttributes attrs;
+        PosixFileAttributeView view;
+        try {
+            attrs = Files.readAttributes(from, PosixFileAttributes.class);
+            view = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+            view.setPermissions(attrs.permissions());
+        } catch (IOException | UnsupportedOperationException e) {
+            return;                                          // Non-POSIX file system: the defaults will do
+        }
+        try {
+            if (!attrs.group().equals(Files.readAttributes(to, PosixFileAttributes.class).group())) {
+                view.setGroup(attrs.group());
+            }
+            if (!attrs.owner().equals(view.getOwner())) {
+                view.setOwner(attrs.owner());                // only permitted when running as root (e.g. editing another user's file)
+            }
+        } catch (IOException e) {
+            // Not allowed to give it away: the file ends up owned by whoever saved it, as with any editor
+        }
+    }
+
+    private static int linkCount(Path file) {
+        try {
+            return (Integer) Files.getAttribute(file, "unix:nlink");
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            return 1;                                        // no unix view (Windows): treat as a single name
+        }
+    }
+
+    private static void copyInto(FileChannel in, FileChannel out) throws IOException {    // Rewrites out's contents in place, keeping its inode.
+        long size = in.size();
+        for (long pos = 0; pos < size; ) {
+            pos += in.transferTo(pos, size - pos, out);
+        }
+        out.force(true);
+    }
+
+    static void syncDirectory(Path dir) {            // Makes renames/creates in dir durable (supported on Linux/macOS, not Windows).
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    private static long drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        long n = 0;
+        while (out.hasRemaining()) {
+            n += channel.write(out);
+        }
+        out.clear();
+        return n;
+    }
+
+    // Progress / control
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public boolean isPatchedInPlace() {                      // True when only changed ranges were written (the file was not replaced).
+        return patchedInPlace;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getEstimatedSize() {                         // Total for progress: dirty bytes when patching, else characters (rough for non-ASCII text)
+        return estimatedSize;
+    }
+
+    public void await() throws IOException {                 // Blocks until this save (or a later one it was merged with) is on disk.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving: " + target, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to save: " + target, e.getCause());
+        }
+    }
+}
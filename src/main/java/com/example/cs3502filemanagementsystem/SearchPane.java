@@ -0,0 +1,194 @@
+package com.example.cs3502filemanagementsystem;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.util.Duration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.PatternSyntaxException;
+
+public class SearchPane extends BorderPane {       // Search box plus a results list that fills in while the search is still running.
+
+    private static final int MAX_RESULTS = 10_000;
+
+    private final FileService fileService;
+    private final Supplier<Path> rootSupplier;
+    private final Consumer<Path> openAction;
+
+    private final TextField queryField = new TextField();
+    private final CheckBox regexBox = new CheckBox("Regex");
+    private final CheckBox caseBox = new CheckBox("Match case");
+    private final CheckBox indexBox = new CheckBox("Use index");
+    private final Button btnSearch = new Button("Search");
+    private final Button btnCancel = new Button("Cancel");
+    private final ListView<SearchResult> results = new ListView<>();
+    private final Label statusLabel = new Label();
+
+    private ContentSearch current;
+    private Timeline progress;
+
+    // Matches arrive on scanner threads and are handed to the list in one runLater per frame
+    private final List<ContentSearch.Match> pending = new ArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public SearchPane(FileService fileService, Supplier<Path> rootSupplier, Consumer<Path> openAction) {
+        this.fileService = fileService;
+        this.rootSupplier = rootSupplier;
+        this.openAction = openAction;
+
+        queryField.setPromptText("Search file contents under the current root...");
+        queryField.setOnAction(e -> startSearch());
+        btnSearch.setOnAction(e -> startSearch());
+        btnCancel.setOnAction(e -> cancel());
+        btnCancel.setDisable(true);
+
+        indexBox.setTooltip(new Tooltip("Answer from the full-text index: words (AND), prefix*, or \"a phrase\""));
+        regexBox.disableProperty().bind(indexBox.selectedProperty());
+        caseBox.disableProperty().bind(indexBox.selectedProperty());
+
+        HBox bar = new HBox(8, queryField, regexBox, caseBox, indexBox, btnSearch, btnCancel);
+        bar.setAlignment(Pos.CENTER_LEFT);
+        bar.setPadding(new Insets(5));
+        HBox.setHgrow(queryField, Priority.ALWAYS);
+
+        results.setOnMouseClicked(e -> {
+            SearchResult match = results.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && match != null) {
+                openAction.accept(match.file());
+            }
+        });
+
+        statusLabel.setPadding(new Insets(3, 5, 3, 5));
+        setTop(bar);
+        setCenter(results);
+        setBottom(statusLabel);
+    }
+
+    private void startSearch() {
+        String query = queryField.getText();
+        Path root = rootSupplier.get();
+        if (query.isEmpty() || root == null || btnSearch.isDisabled()) {
+            return;                                         // (disabled: an index search is still running; Enter lands here too)
+        }
+        cancel();
+        results.getItems().clear();
+        synchronized (pending) {
+            pending.clear();
+        }
+        if (indexBox.isSelected()) {
+            current = null;                                 // the cancelled scan must not report over the index results
+            if (progress != null) {
+                progress.stop();
+            }
+            btnCancel.setDisable(true);
+            searchIndex(root, query);
+            return;
+        }
+
+        ContentSearch.Options options = new ContentSearch.Options(query, regexBox.isSelected(), caseBox.isSelected(),
+                MAX_RESULTS, Runtime.getRuntime().availableProcessors());
+        ContentSearch search;
+        try {
+            search = fileService.searchContent(root, options, this::onMatch);
+        } catch (PatternSyntaxException ex) {
+            statusLabel.setText("Invalid regex: " + ex.getDescription());
+            return;
+        }
+        current = search;
+        btnCancel.setDisable(false);
+
+        progress = new Timeline(new KeyFrame(Duration.millis(250), e -> showProgress(search, "Searching")));
+        progress.setCycleCount(Timeline.INDEFINITE);
+        progress.play();
+
+        search.completion().whenComplete((v, err) -> Platform.runLater(() -> {
+            if (search != current) {
+                return;
+            }
+            flush();
+            progress.stop();
+            btnCancel.setDisable(true);
+            String state = search.hitResultLimit() ? "Stopped at " + MAX_RESULTS + " results"
+                    : search.isCancelled() ? "Cancelled" : "Done";
+            showProgress(search, state);
+        }));
+    }
+
+    private void searchIndex(Path root, String query) {     // Answers from the stored index first, then refreshes it (only changed files are re-read) and re-queries.
+        statusLabel.setText("Searching index...");
+        btnSearch.setDisable(true);
+        fileService.submitBackground(() -> {
+            FullTextIndex index = fileService.fullTextIndex(root);
+            showIndexHits(index, query, null);
+            try {
+                showIndexHits(index, query, index.update());
+            } catch (IOException ex) {
+                Platform.runLater(() -> statusLabel.setText("Index update failed: " + ex.getMessage()));
+            } finally {
+                Platform.runLater(() -> btnSearch.setDisable(false));
+            }
+        });
+    }
+
+    private void showIndexHits(FullTextIndex index, String query, FullTextIndex.UpdateStats stats) {
+        long start = System.nanoTime();
+        List<FullTextIndex.Hit> hits = index.query(query, MAX_RESULTS);
+        double queryMillis = (System.nanoTime() - start) / 1e6;
+        String state = stats == null ? "updating index..."
+                : String.format("index updated in %.1f s: %d new, %d changed, %d removed",
+                        stats.seconds(), stats.added(), stats.updated(), stats.removed());
+        Platform.runLater(() -> {
+            results.getItems().setAll(hits);
+            statusLabel.setText(String.format("%d file(s) matched in %.3f ms  |  %d files, %d terms indexed (%s)",
+                    hits.size(), queryMillis, index.getFileCount(), index.getTermCount(), state));
+        });
+    }
+
+    private void showProgress(ContentSearch search, String state) {
+        statusLabel.setText(state + ": " + search.getResultCount() + " match(es) in " + search.getFilesScanned()
+                + " file(s), " + String.format("%.1f s", search.getElapsedSeconds()) + " (" + search.getThroughput() + ")");
+    }
+
+    private void cancel() {
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void onMatch(ContentSearch.Match match) {      // Scanner thread
+        synchronized (pending) {
+            pending.add(match);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<ContentSearch.Match> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        results.getItems().addAll(batch);
+    }
+}
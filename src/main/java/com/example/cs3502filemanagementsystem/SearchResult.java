@@ -0,0 +1,7 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.nio.file.Path;
+
+public interface SearchResult {       // One row in the search results list (scanned match or index hit).
+    Path file();
+}
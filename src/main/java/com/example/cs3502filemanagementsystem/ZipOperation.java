@@ -0,0 +1,502 @@
+package com.example.cs3502filemanagementsystem;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+public class ZipOperation {      // Packs files and trees into a new zip: entries are compressed in parallel and streamed out in order.
+
+    private static final int MAX_RECORDED_ERRORS = 1000;   // Failures beyond this are only counted
+    private static final int IN_MEMORY_LIMIT = 1 << 20;    // larger files are compressed into a temp file instead of a byte[]
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public record Failure(Path path, IOException error) {
+    }
+
+    // One entry, compressed and ready to write: its data is in memory or in a spill file
+    private record Entry(String name, boolean directory, long mtime, long size, long crc, boolean deflated,
+                         long compressedSize, byte[] data, Path spill) {
+    }
+
+    private final List<Path> sources;
+    private final Path target;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final AtomicLong entriesWritten = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Runnable cancelHook = () -> { };
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private ZipOperation(List<Path> sources, Path target, int parallelism) {
+        this.sources = List.copyOf(sources);
+        this.target = target;
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    // Entry names are relative to each source's parent folder, so a zipped folder unpacks into a folder of the same name
+    static ZipOperation create(List<Path> sources, Path target, int parallelism) {    // Writes nothing until run().
+        return new ZipOperation(sources, target, parallelism);
+    }
+
+    void run() {                                            // Builds a ".<target>.*.part" temp file on the calling thread, then links it into place.
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        Path dir = target.toAbsolutePath().normalize().getParent();
+        Path part = null;
+        Path spillDir = null;
+        boolean complete = false;
+        try {
+            spillDir = Files.createTempDirectory(dir, ".zip-spill-");
+            part = Files.createTempFile(dir, "." + target.getFileName() + ".", ".part");    // a fresh name: never someone's file
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part, StandardOpenOption.WRITE), BUFFER_SIZE)) {
+                Writer writer = new Writer(out);
+                Deque<Future<Entry>> window = new ArrayDeque<>();    // compressed ahead of the writer, at most 2 per worker
+                for (Path source : sources) {
+                    if (cancelled) {
+                        break;
+                    }
+                    Path base = source.toAbsolutePath().normalize().getParent();
+                    walk(source.toAbsolutePath().normalize(), base, part, spillDir, window, writer);
+                }
+                while (!window.isEmpty()) {
+                    write(next(window), writer);        // also after a cancel: drops the spill files in flight
+                }
+                if (!cancelled) {
+                    writer.finish();
+                }
+            }
+            if (!cancelled) {
+                publish(part);
+                complete = true;
+            }
+            completion.complete(null);
+        } catch (IOException e) {
+            fail(target, e);                                // the zip itself could not be written: nothing is kept
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+        } finally {
+            endNanos = System.nanoTime();
+            pool.shutdownNow();
+            if (!complete && part != null) {
+                deleteQuietly(part);
+            }
+            if (spillDir != null) {
+                deleteQuietly(spillDir);
+            }
+        }
+    }
+
+    private void publish(Path part) throws IOException {    // Puts the finished zip at target, failing if something got there first.
+        try {
+            Files.createLink(target, part);                 // link(2) never replaces: a target created meanwhile is kept
+        } catch (FileAlreadyExistsException e) {
+            throw new FileAlreadyExistsException(target.toString());    // not the temp name
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {    // no hard links here (FAT, some mounts): check, then a plain rename
+                throw new FileAlreadyExistsException(target.toString());
+            }
+            Files.move(part, target);
+            return;
+        }
+        deleteQuietly(part);
+    }
+
+    private void walk(Path source, Path base, Path part, Path spillDir, Deque<Future<Entry>> window, Writer writer) throws IOException {
+        IOException[] writeError = new IOException[1];
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {                  // links are not followed
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (dir.equals(spillDir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return enqueue(CompletableFuture.completedFuture(new Entry(entryName(base, dir) + "/", true,
+                        attrs.lastModifiedTime().toMillis(), 0, 0, false, 0, null, null)));
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.equals(part) || file.equals(target.toAbsolutePath().normalize())) {
+                    return FileVisitResult.CONTINUE;        // zipping the folder the zip is written to
+                }
+                if (!attrs.isRegularFile()) {
+                    skippedCount.incrementAndGet();         // links, devices, pipes
+                    return FileVisitResult.CONTINUE;
+                }
+                return enqueue(pool.submit(() -> compress(file, entryName(base, file), attrs, spillDir)));
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                fail(file, e);
+                return cancelled ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+            }
+
+            private FileVisitResult enqueue(Future<Entry> entry) {
+                window.add(entry);
+                try {
+                    while (window.size() > 2 * parallelism) {
+                        write(next(window), writer);
+                    }
+                } catch (IOException e) {
+                    writeError[0] = e;
+                    return FileVisitResult.TERMINATE;
+                }
+                return cancelled ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+            }
+        });
+        if (writeError[0] != null) {
+            throw writeError[0];
+        }
+    }
+
+    private Entry next(Deque<Future<Entry>> window) {       // The oldest entry, waiting for its worker if needed.
+        try {
+            return window.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Entry compress(Path file, String name, BasicFileAttributes attrs, Path spillDir) {    // Runs on a worker: reads the file once, CRC + deflate.
+        if (cancelled) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);     // raw deflate: the zip headers are written here
+        try {
+            long mtime = attrs.lastModifiedTime().toMillis();
+            if (attrs.size() <= IN_MEMORY_LIMIT) {
+                byte[] raw = Files.readAllBytes(file);
+                bytesRead.addAndGet(raw.length);
+                crc.update(raw);
+                ByteArrayOutputStream packed = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+                try (DeflaterOutputStream out = new DeflaterOutputStream(packed, deflater, BUFFER_SIZE)) {
+                    out.write(raw);
+                }
+                if (packed.size() >= raw.length) {
+                    return new Entry(name, false, mtime, raw.length, crc.getValue(), false, raw.length, raw, null);    // incompressible: stored
+                }
+                return new Entry(name, false, mtime, raw.length, crc.getValue(), true, packed.size(), packed.toByteArray(), null);
+            }
+            Path spill = Files.createTempFile(spillDir, "entry", ".z");
+            long size = 0;
+            try (InputStream in = Files.newInputStream(file);
+                 DeflaterOutputStream out = new DeflaterOutputStream(Files.newOutputStream(spill), deflater, BUFFER_SIZE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) > 0 && !cancelled) {
+                    crc.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                    size += n;
+                    bytesRead.addAndGet(n);
+                }
+            }
+            return new Entry(name, false, mtime, size, crc.getValue(), true, Files.size(spill), null, spill);
+        } catch (IOException e) {
+            fail(file, e);
+            return null;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void write(Entry entry, Writer writer) throws IOException {    // Writer thread only, in walk order.
+        if (entry == null || cancelled) {
+            if (entry != null && entry.spill() != null) {
+                deleteQuietly(entry.spill());
+            }
+            return;
+        }
+        writer.add(entry);
+        entriesWritten.incrementAndGet();
+    }
+
+    private static String entryName(Path base, Path path) {
+        Path relative = base == null ? path.getRoot().relativize(path) : base.relativize(path);
+        StringBuilder name = new StringBuilder();
+        for (Path part : relative) {
+            if (!name.isEmpty()) {
+                name.append('/');
+            }
+            name.append(part);
+        }
+        return name.toString();
+    }
+
+    // Zip format: a local header before each entry's data, the central directory at the end (zip64 records when
+    // sizes, offsets or the entry count don't fit the classic fields)
+    private final class Writer {
+        private static final long MAX_32 = 0xFFFFFFFFL;
+        private static final int FLAG_UTF8 = 0x0800;
+
+        private final OutputStream out;
+        private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+        private long offset;
+        private long count;
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void add(Entry e) throws IOException {
+            byte[] name = e.name().getBytes(StandardCharsets.UTF_8);
+            boolean zip64 = e.size() >= MAX_32 || e.compressedSize() >= MAX_32;
+            int method = e.deflated() ? 8 : 0;
+            int dos = dosTime(e.mtime());
+
+            ByteBuffer local = header(30 + name.length + (zip64 ? 20 : 0));
+            local.putInt(0x04034b50).putShort((short) (zip64 ? 45 : 20)).putShort((short) FLAG_UTF8).putShort((short) method)
+                    .putInt(dos).putInt((int) e.crc())
+                    .putInt((int) (zip64 ? MAX_32 : e.compressedSize())).putInt((int) (zip64 ? MAX_32 : e.size()))
+                    .putShort((short) name.length).putShort((short) (zip64 ? 20 : 0)).put(name);
+            if (zip64) {
+                local.putShort((short) 0x0001).putShort((short) 16).putLong(e.size()).putLong(e.compressedSize());
+            }
+            long headerOffset = offset;
+            emit(local.array());
+            if (e.data() != null) {
+                emit(e.data(), (int) e.compressedSize());
+            } else if (e.spill() != null) {
+                try {
+                    long copied = Files.copy(e.spill(), out);
+                    offset += copied;
+                    bytesWritten.addAndGet(copied);
+                } finally {
+                    deleteQuietly(e.spill());
+                }
+            }
+
+            boolean bigOffset = headerOffset >= MAX_32;
+            int extra = (zip64 ? 16 : 0) + (bigOffset ? 8 : 0);
+            ByteBuffer entry = header(46 + name.length + (extra > 0 ? 4 + extra : 0));
+            entry.putInt(0x02014b50).putShort((short) 45).putShort((short) (zip64 || bigOffset ? 45 : 20))
+                    .putShort((short) FLAG_UTF8).putShort((short) method).putInt(dos).putInt((int) e.crc())
+                    .putInt((int) (zip64 ? MAX_32 : e.compressedSize())).putInt((int) (zip64 ? MAX_32 : e.size()))
+                    .putShort((short) name.length).putShort((short) (extra > 0 ? 4 + extra : 0)).putShort((short) 0)
+                    .putShort((short) 0).putShort((short) 0).putInt(e.directory() ? 0x10 : 0)
+                    .putInt((int) (bigOffset ? MAX_32 : headerOffset)).put(name);
+            if (extra > 0) {
+                entry.putShort((short) 0x0001).putShort((short) extra);
+                if (zip64) {
+                    entry.putLong(e.size()).putLong(e.compressedSize());
+                }
+                if (bigOffset) {
+                    entry.putLong(headerOffset);
+                }
+            }
+            central.write(entry.array());
+            count++;
+        }
+
+        void finish() throws IOException {                  // Central directory and end records; the stream is then complete.
+            long centralOffset = offset;
+            long centralSize = central.size();
+            central.writeTo(out);
+            offset += centralSize;
+            bytesWritten.addAndGet(centralSize);
+            boolean zip64 = count >= 0xFFFF || centralOffset >= MAX_32 || centralSize >= MAX_32;
+            if (zip64) {
+                long endOffset = offset;
+                ByteBuffer end64 = header(56 + 20);
+                end64.putInt(0x06064b50).putLong(44).putShort((short) 45).putShort((short) 45).putInt(0).putInt(0)
+                        .putLong(count).putLong(count).putLong(centralSize).putLong(centralOffset);
+                end64.putInt(0x07064b50).putInt(0).putLong(endOffset).putInt(1);      // locator
+                emit(end64.array());
+            }
+            ByteBuffer end = header(22);
+            end.putInt(0x06054b50).putShort((short) 0).putShort((short) 0)
+                    .putShort((short) (zip64 ? 0xFFFF : count)).putShort((short) (zip64 ? 0xFFFF : count))
+                    .putInt((int) (zip64 ? MAX_32 : centralSize)).putInt((int) (zip64 ? MAX_32 : centralOffset)).putShort((short) 0);
+            emit(end.array());
+        }
+
+        private void emit(byte[] bytes) throws IOException {
+            emit(bytes, bytes.length);
+        }
+
+        private void emit(byte[] bytes, int length) throws IOException {
+            out.write(bytes, 0, length);
+            offset += length;
+            bytesWritten.addAndGet(length);
+        }
+
+        private static ByteBuffer header(int size) {
+            return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private static int dosTime(long millis) {          // MS-DOS date/time in local time, 2-second resolution (1980 at the earliest).
+            LocalDateTime t = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            if (t.getYear() < 1980) {
+                t = LocalDateTime.of(1980, 1, 1, 0, 0);
+            }
+            return (t.getYear() - 1980) << 25 | t.getMonthValue() << 21 | t.getDayOfMonth() << 16
+                    | t.getHour() << 11 | t.getMinute() << 5 | t.getSecond() >> 1;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                try (var children = Files.list(path)) {
+                    children.forEach(ZipOperation::deleteQuietly);
+                }
+            }
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Leftover temp data; nothing else depends on it
+        }
+    }
+
+    private void fail(Path p, IOException e) {
+        if (failedCount.incrementAndGet() <= MAX_RECORDED_ERRORS) {
+            failures.add(new Failure(p, e));
+        }
+    }
+
+    // Progress / control
+
+    public void cancel() {                                  // Stops after the entries in flight; the partial zip is removed.
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (started.compareAndSet(false, true)) {          // never started: nothing to stop, just finish
+            pool.shutdown();
+            completion.complete(null);
+        }
+        cancelHook.run();
+    }
+
+    void onCancel(Runnable hook) {                         // Also cancel whatever runs this handle (its queued job).
+        this.cancelHook = hook;
+    }
+
+    public boolean isStarted() {
+        return started.get();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public List<Path> getSources() {
+        return sources;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    public long getEntriesWritten() {                        // Files and folders written to the zip so far.
+        return entriesWritten.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getBytesWritten() {                          // Size of the zip so far.
+        return bytesWritten.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public List<Failure> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+
+    public double getElapsedSeconds() {
+        if (startNanos == 0) {
+            return 0;                                       // still queued
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    public String getThroughput() {                           // e.g. "240.3 MB/s in, 61% of original size"
+        double secs = Math.max(getElapsedSeconds(), 1e-3);
+        long in = getBytesRead();
+        return String.format("%.1f MB/s in, %d%% of original size", in / secs / (1 << 20),
+                in == 0 ? 100 : Math.round(getBytesWritten() * 100.0 / in));
+    }
+
+    public void await() throws IOException {                  // Blocks until done; throws if anything could not be added.
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing: " + target, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to write: " + target, e.getCause());
+        }
+        if (failedCount.get() > 0) {
+            List<Failure> recorded = getFailures();
+            IOException ex = new IOException("Could not add " + failedCount.get() + " item(s) to " + target.getFileName(),
+                    recorded.isEmpty() ? null : recorded.get(0).error());
+            for (int i = 1; i < Math.min(recorded.size(), 10); i++) {
+                ex.addSuppressed(recorded.get(i).error());
+            }
+            throw ex;
+        }
+    }
+}
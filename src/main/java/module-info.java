@@ -1,6 +1,9 @@
 module com.example.cs3502filemanagementsystem {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.zipfs;
 
 
     opens com.example.cs3502filemanagementsystem to javafx.fxml;
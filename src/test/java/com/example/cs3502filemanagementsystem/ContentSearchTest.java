@@ -0,0 +1,47 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContentSearchTest {
+
+    @TempDir
+    Path dir;
+
+    private List<Long> matchingLines(String query, boolean regex) throws Exception {
+        List<ContentSearch.Match> matches = Collections.synchronizedList(new ArrayList<>());
+        ContentSearch search = ContentSearch.start(dir, new ContentSearch.Options(query, regex, true, 1000, 2),
+                matches::add, new FileService());
+        search.completion().get();
+        return matches.stream().map(ContentSearch.Match::line).sorted().toList();
+    }
+
+    @Test
+    void lineAnchoredRegexMatchesEveryLine() throws Exception {
+        Files.writeString(dir.resolve("Main.java"), "package demo;\n"
+                + "import java.util.List;\n"
+                + "import java.util.Map;\n"
+                + "// import is mentioned here, not at the start\n"
+                + "class Main {\n"
+                + "}\r\n"
+                + "import trailing;");                           // last line, no newline
+        assertEquals(List.of(2L, 3L, 7L), matchingLines("^import", true));
+        assertEquals(List.of(1L, 2L, 3L, 7L), matchingLines(";$", true));    // at each line end, not only the last
+        assertEquals(List.of(6L), matchingLines("^}$", true));          // CRLF line end
+    }
+
+    @Test
+    void literalReportsOneMatchPerLine() throws Exception {
+        Files.writeString(dir.resolve("notes.txt"), "alpha beta alpha\ngamma\nbeta\n");
+        assertEquals(List.of(1L, 3L), matchingLines("beta", false));
+        assertEquals(List.of(1L), matchingLines("alpha", false));
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaPatchTest {
+
+    private static final byte[] OLD = "The quick brown fox jumps over the lazy dog.\nSecond line stays.\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEW = "The QUICK brown cat jumps over the lazy dog.\nSecond line STAYS.\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private Path target;
+    private Path journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        target = dir.resolve("big.log");
+        Files.write(target, OLD);
+        journal = DeltaPatch.journalFor(target);
+    }
+
+    // Same-length content whose dirty ranges are every run of differing bytes
+    private static SaveOperation.Patch patch(byte[] before, byte[] after) {
+        long[] ranges = new long[0];
+        for (int i = 0; i < after.length; ) {
+            if (before[i] == after[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < after.length && before[i] != after[i]) i++;
+            ranges = Arrays.copyOf(ranges, ranges.length + 2);
+            ranges[ranges.length - 2] = start;
+            ranges[ranges.length - 1] = i - start;
+        }
+        long[] dirty = ranges;
+        return new SaveOperation.Patch() {
+            @Override
+            public long estimatedSize() {
+                return after.length;
+            }
+
+            @Override
+            public void writeTo(FileChannel channel, LongConsumer progress) throws IOException {
+                channel.write(ByteBuffer.wrap(after));
+            }
+
+            @Override
+            public long[] dirtyRanges() {
+                return dirty;
+            }
+
+            @Override
+            public void read(long offset, byte[] dst, int off, int length) {
+                System.arraycopy(after, (int) offset, dst, off, length);
+            }
+
+            @Override
+            public boolean isBasedOn(Path t) {
+                return true;
+            }
+        };
+    }
+
+    @Test
+    void applyPatchesInPlaceAndRemovesJournal() throws IOException {
+        Object key = Files.readAttributes(target, BasicFileAttributes.class).fileKey();
+        long[] written = {0};
+        DeltaPatch.apply(target, patch(OLD, NEW), n -> written[0] += n);
+        assertArrayEquals(NEW, Files.readAllBytes(target));
+        assertFalse(Files.exists(journal));
+        assertTrue(written[0] < NEW.length);                // only the changed bytes
+        assertTrue(key == null || key.equals(Files.readAttributes(target, BasicFileAttributes.class).fileKey()));    // same file, not replaced
+    }
+
+    @Test
+    void noJournalMeansNothingToRecover() throws IOException {
+        assertFalse(DeltaPatch.recover(target));
+    }
+
+    @Test
+    void committedJournalIsReplayedAfterCrashBeforeReplay() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));   // crash here: journal durable, target untouched
+        assertArrayEquals(OLD, Files.readAllBytes(target));
+        assertTrue(DeltaPatch.recover(target));
+        assertArrayEquals(NEW, Files.readAllBytes(target));
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    void committedJournalIsReplayedAfterCrashMidReplay() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));
+        byte[] half = OLD.clone();
+        System.arraycopy(NEW, 0, half, 0, 10);              // the first range reached the disk, the rest did not
+        Files.write(target, half);
+        assertTrue(DeltaPatch.recover(target));
+        assertArrayEquals(NEW, Files.readAllBytes(target));
+        assertFalse(DeltaPatch.recover(target));            // journal consumed
+        assertArrayEquals(NEW, Files.readAllBytes(target));
+    }
+
+    @Test
+    void journalThatFailsToReplayIsKept() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc));
+        out.writeInt(0x4F574C4A);                           // a committed journal that promises two ranges but holds one
+        out.writeInt(1);
+        out.writeLong(OLD.length);
+        out.writeInt(2);
+        out.writeLong(0);
+        out.writeLong(3);
+        out.write("abc".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        new DataOutputStream(bytes).writeLong(crc.getValue());
+        Files.write(journal, bytes.toByteArray());
+
+        IOException e = assertThrows(IOException.class, () -> DeltaPatch.recover(target));
+        assertTrue(e.getMessage().contains(journal.toString()), e.getMessage());
+        assertTrue(Files.exists(journal));                  // still the only record of what the target should hold
+    }
+
+    @Test
+    void journalTruncatedAtAnyLengthIsDiscarded() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));
+        byte[] full = Files.readAllBytes(journal);
+        for (int length = 0; length < full.length; length++) {    // crash while writing the journal, after `length` bytes
+            Files.write(journal, Arrays.copyOf(full, length));
+            assertFalse(DeltaPatch.recover(target), "journal cut at " + length);
+            assertArrayEquals(OLD, Files.readAllBytes(target), "journal cut at " + length);
+            assertFalse(Files.exists(journal));
+        }
+    }
+
+    @Test
+    void journalWithAnyCorruptByteIsDiscarded() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));
+        byte[] full = Files.readAllBytes(journal);
+        for (int i = 0; i < full.length; i++) {
+            byte[] bad = full.clone();
+            bad[i] ^= 0x5A;
+            Files.write(journal, bad);
+            assertFalse(DeltaPatch.recover(target), "corrupt byte " + i);
+            assertArrayEquals(OLD, Files.readAllBytes(target), "corrupt byte " + i);
+        }
+    }
+
+    @Test
+    void journalForAnotherFileSizeIsDiscarded() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));
+        byte[] appended = Arrays.copyOf(OLD, OLD.length + 1);
+        appended[OLD.length] = '\n';
+        Files.write(target, appended);                      // changed by someone else since the journal was written
+        assertFalse(DeltaPatch.recover(target));
+        assertArrayEquals(appended, Files.readAllBytes(target));
+        assertFalse(Files.exists(journal));
+    }
+
+    @Test
+    void journalWithTrailingGarbageIsDiscarded() throws IOException {
+        DeltaPatch.writeJournal(target, patch(OLD, NEW));
+        Files.write(journal, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        assertFalse(DeltaPatch.recover(target));
+        assertArrayEquals(OLD, Files.readAllBytes(target));
+    }
+}
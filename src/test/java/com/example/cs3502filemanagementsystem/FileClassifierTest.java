@@ -0,0 +1,96 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.example.cs3502filemanagementsystem.FileClassifier.Kind.BINARY;
+import static com.example.cs3502filemanagementsystem.FileClassifier.Kind.NON_UTF8_TEXT;
+import static com.example.cs3502filemanagementsystem.FileClassifier.Kind.TEXT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileClassifierTest {
+
+    private static FileClassifier.Kind sniff(byte[] b) {
+        return FileClassifier.sniff(b, b.length, false);
+    }
+
+    private static FileClassifier.Kind sniff(String s) {
+        return sniff(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) b[i] = (byte) values[i];
+        return b;
+    }
+
+    @Test
+    void plainAndUtf8Text() {
+        assertEquals(TEXT, sniff(""));
+        assertEquals(TEXT, sniff("int main() {\n\treturn 0;\r\n}\n"));
+        assertEquals(TEXT, sniff("naïve café — 日本語 🎉\n".repeat(50)));
+        assertEquals(TEXT, sniff("\u001b[31mred\u001b[0m log line\n"));    // ESC: colored logs
+    }
+
+    @Test
+    void byteOrderMarks() {
+        assertEquals(TEXT, sniff(bytes(0xEF, 0xBB, 0xBF, 'h', 'i')));
+        assertEquals(NON_UTF8_TEXT, sniff(bytes(0xFF, 0xFE, 'h', 0, 'i', 0)));          // UTF-16 LE
+        assertEquals(NON_UTF8_TEXT, sniff(bytes(0xFE, 0xFF, 0, 'h', 0, 'i')));          // UTF-16 BE
+        assertEquals(NON_UTF8_TEXT, sniff(bytes(0xFF, 0xFE, 0, 0, 'h', 0, 0, 0)));      // UTF-32 LE
+        assertEquals(NON_UTF8_TEXT, sniff(bytes(0, 0, 0xFE, 0xFF, 0, 0, 0, 'h')));      // UTF-32 BE
+    }
+
+    @Test
+    void nulAnywhereMeansBinary() {
+        byte[] text = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < text.length; i++) {             // every position relative to the 8-byte fast path
+            byte[] b = text.clone();
+            b[i] = 0;
+            assertEquals(BINARY, sniff(b), "NUL at " + i);
+        }
+    }
+
+    @Test
+    void invalidUtf8IsOtherEncodingText() {
+        assertEquals(NON_UTF8_TEXT, sniff(bytes('c', 'a', 'f', 0xE9, '\n')));          // Latin-1 é
+        assertEquals(NON_UTF8_TEXT, sniff(bytes('a', 0xC0, 0x80, 'b')));               // overlong NUL
+        assertEquals(NON_UTF8_TEXT, sniff(bytes('a', 0xED, 0xA0, 0x80, 'b')));         // encoded surrogate
+        assertEquals(NON_UTF8_TEXT, sniff(bytes('a', 0xF4, 0x90, 0x80, 0x80)));        // above U+10FFFF
+        assertEquals(NON_UTF8_TEXT, sniff(bytes('a', 0xE2, 0x82, 'b')));               // cut short mid-file
+        assertEquals(BINARY, sniff(bytes(0xE9, 'a', 0, 'b')));                          // a NUL still wins
+    }
+
+    @Test
+    void sequenceSplitByTheSampleEnd() {
+        byte[] euro = "price: €".getBytes(StandardCharsets.UTF_8);
+        byte[] cut = Arrays.copyOf(euro, euro.length - 1);
+        assertEquals(TEXT, FileClassifier.sniff(cut, cut.length, true));           // the file goes on: fine
+        assertEquals(NON_UTF8_TEXT, FileClassifier.sniff(cut, cut.length, false)); // the file ends there: invalid
+    }
+
+    @Test
+    void controlBytesOverOnePercentMeanBinary() {
+        byte[] b = "x".repeat(1000).getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 10; i++) b[i * 100] = 0x01;
+        assertEquals(TEXT, sniff(b));                       // exactly 1%
+        b[999] = 0x02;
+        assertEquals(BINARY, sniff(b));
+    }
+
+    @Test
+    void byName() {
+        FileClassifier classifier = new FileClassifier();
+        assertEquals(TEXT, classifier.byName("Main.java"));
+        assertEquals(TEXT, classifier.byName("DATA.JSON"));                // ASCII case-insensitive
+        assertEquals(TEXT, classifier.byName("Dockerfile"));
+        assertEquals(TEXT, classifier.byName(".gitignore"));
+        assertEquals(BINARY, classifier.byName("photo.PNG"));
+        assertEquals(BINARY, classifier.byName("backup.tar.gz"));
+        assertNull(classifier.byName("notes.xyz"));                         // unknown: sniffed
+        assertNull(classifier.byName("javascript"));                        // an extension is not a whole name
+    }
+}
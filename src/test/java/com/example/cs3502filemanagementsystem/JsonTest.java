@@ -0,0 +1,71 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTest {
+
+    @Test
+    void parsesEveryValueType() {
+        Object parsed = Json.parse(" {\"id\": 7, \"op\":\"list\", \"big\": 12345678901234567890, \"x\": -1.5e3,"
+                + " \"ok\": true, \"no\": false, \"none\": null, \"paths\": [\"a\", [], {}]} ");
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 7L);
+        expected.put("op", "list");
+        expected.put("big", 12345678901234567890.0);         // too big for a long
+        expected.put("x", -1500.0);
+        expected.put("ok", true);
+        expected.put("no", false);
+        expected.put("none", null);
+        expected.put("paths", Arrays.asList("a", List.of(), Map.of()));
+        assertEquals(expected, parsed);
+        assertEquals(List.copyOf(expected.keySet()), new ArrayList<>(((Map<?, ?>) parsed).keySet()));    // field order kept
+    }
+
+    @Test
+    void stringEscapes() {
+        assertEquals("a\"b\\c/d\b\f\n\r\té€😀", Json.parse("\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\\u20AC\\ud83d\\ude00\""));
+        assertEquals("plain", Json.parse("\"plain\""));
+    }
+
+    @Test
+    void malformedInputIsRejectedWithAColumn() {
+        for (String bad : new String[]{"", "{", "{\"a\"}", "{\"a\":1,}", "[1 2]", "\"open", "\"bad \\x escape\"",
+                "\"\\u12\"", "tru", "nul", "-", "1.2.3", "{} extra", "{a:1}", "\"tab\tinside\""}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Json.parse(bad), bad);
+            assertTrue(e.getMessage().contains("column"), bad + ": " + e.getMessage());
+        }
+    }
+
+    @Test
+    void writesCompactJson() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("id", 3L);
+        value.put("ok", true);
+        value.put("ms", 1.25);
+        value.put("nan", Double.NaN);                        // not representable: null
+        value.put("none", null);
+        value.put("list", List.of(1, "two"));
+        value.put("path", java.nio.file.Path.of("/tmp/x"));  // anything else: its toString()
+        assertEquals("{\"id\":3,\"ok\":true,\"ms\":1.25,\"nan\":null,\"none\":null,\"list\":[1,\"two\"],\"path\":\"/tmp/x\"}",
+                Json.write(value));
+    }
+
+    @Test
+    void writtenStringsAreEscapedAndStayOnOneLine() {
+        String nasty = "q\"b\\n\nr\rt\t\u0001\u2028\u2029 é 😀 " + "\ud800" + "x";    // controls, line separators, a lone surrogate
+        String written = Json.write(nasty);
+        assertEquals("\"q\\\"b\\\\n\\nr\\rt\\t\\u0001\\u2028\\u2029 é 😀 \\ud800x\"", written);
+        assertTrue(written.lines().count() == 1);
+        assertEquals(nasty, Json.parse(written));           // round trip
+    }
+}
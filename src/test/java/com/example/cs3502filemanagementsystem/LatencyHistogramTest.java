@@ -0,0 +1,74 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    private static final int BUCKETS = LatencyHistogram.indexOf(Long.MAX_VALUE) + 1;
+
+    @Test
+    void bucketsAreContiguousAndCoverEveryLong() {
+        assertEquals(0, LatencyHistogram.indexOf(0));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(BUCKETS - 1));
+        long low = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long high = LatencyHistogram.highestValueIn(i);
+            assertTrue(high >= low, "bucket " + i);
+            assertEquals(i, LatencyHistogram.indexOf(low), "lowest value of bucket " + i);
+            assertEquals(i, LatencyHistogram.indexOf(high), "highest value of bucket " + i);
+            if (i + 1 < BUCKETS) {
+                assertEquals(i + 1, LatencyHistogram.indexOf(high + 1), "first value after bucket " + i);
+            }
+            low = high + 1;
+        }
+    }
+
+    @Test
+    void bucketWidthIsWithinOneSixteenth() {
+        long low = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long high = LatencyHistogram.highestValueIn(i);
+            if (low >= 16) {
+                assertTrue((double) (high - low + 1) / low <= 1.0 / 16, "bucket " + i + " [" + low + ", " + high + "]");
+            } else {
+                assertEquals(low, high);                    // exact below 16
+            }
+            low = high + 1;
+        }
+    }
+
+    @Test
+    void percentilesAreUpperBoundsWithinPrecision() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentile(0.5));                 // empty
+        for (long micros = 1; micros <= 1000; micros++) {
+            h.record(micros * 1000);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(1_000_000, h.getMaxNanos());
+        assertEquals(500_500.0, h.getMeanNanos(), 1e-9);
+        for (double p : new double[]{0.01, 0.5, 0.9, 0.99}) {
+            long exact = Math.round(p * 1000) * 1000;
+            long reported = h.percentile(p);
+            assertTrue(reported >= exact && reported <= exact * 17 / 16, "p" + p + " = " + reported);
+        }
+        assertEquals(1_000_000, h.percentile(1.0));        // capped at the real maximum, not the bucket bound
+    }
+
+    @Test
+    void negativeSamplesCountAsZeroAndResetClears() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(-5);
+        assertEquals(1, h.getCount());
+        assertEquals(0, h.percentile(1.0));
+        h.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, h.percentile(1.0));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getTotalNanos());
+        assertEquals(0, h.percentile(0.99));
+    }
+}
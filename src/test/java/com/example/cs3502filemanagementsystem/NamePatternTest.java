@@ -0,0 +1,61 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamePatternTest {
+
+    @Test
+    void tokensAndLiterals() {
+        NamePattern pattern = NamePattern.parse("{name}-{n:3}{ext}");
+        assertEquals("photo-007.jpg", pattern.apply("photo.jpg", 7));
+        assertEquals("photo-1234.jpg", pattern.apply("photo.jpg", 1234));    // wider than the padding: not cut
+        assertEquals("{name}-{n:3}{ext}", pattern.toString());
+        assertTrue(pattern.usesCounter());
+    }
+
+    @Test
+    void extensionIsTheLastDotOnly() {
+        NamePattern pattern = NamePattern.parse("[{name}]{ext}");
+        assertEquals("[archive.tar].gz", pattern.apply("archive.tar.gz", 1));
+        assertEquals("[README]", pattern.apply("README", 1));
+        assertEquals("[.bashrc]", pattern.apply(".bashrc", 1));    // leading dot: hidden file, not an extension
+        assertEquals("[]", pattern.apply("", 1));                  // creates have no original name
+    }
+
+    @Test
+    void unpaddedCounterAndPlainText() {
+        assertEquals("copy 12", NamePattern.parse("copy {n}").apply("x.txt", 12));
+        NamePattern constant = NamePattern.parse("notes.txt");
+        assertEquals("notes.txt", constant.apply("anything.md", 3));
+        assertFalse(constant.usesCounter());
+    }
+
+    @Test
+    void badTemplatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> NamePattern.parse("{name"));
+        assertThrows(IllegalArgumentException.class, () -> NamePattern.parse("{title}"));
+        assertThrows(IllegalArgumentException.class, () -> NamePattern.parse("{n:}"));
+        assertThrows(IllegalArgumentException.class, () -> NamePattern.parse("{n:x}"));
+        assertThrows(IllegalArgumentException.class, () -> NamePattern.parse("{n:123}"));    // at most two digits of width
+    }
+
+    @Test
+    void checkName() {
+        assertNull(NamePattern.checkName("report (final).txt"));
+        assertNull(NamePattern.checkName(".hidden"));
+        assertNotNull(NamePattern.checkName(""));
+        assertNotNull(NamePattern.checkName("   "));
+        assertNotNull(NamePattern.checkName("."));
+        assertNotNull(NamePattern.checkName(".."));
+        assertNotNull(NamePattern.checkName("a/b"));
+        assertNotNull(NamePattern.checkName("a\\b"));
+        assertNotNull(NamePattern.checkName("a\0b"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.cs3502filemanagementsystem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PieceTableTest {
+
+    @TempDir
+    Path dir;
+
+    private final FileService service = new FileService();
+    private MappedTextFile mapped;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (mapped != null) {
+            mapped.close();
+        }
+    }
+
+    private PieceTable open(String content) throws Exception {
+        Path file = dir.resolve("doc.txt");
+        Files.writeString(file, content);
+        mapped = service.openMapped(file);
+        while (!mapped.isIndexComplete()) {
+            Thread.sleep(1);
+        }
+        return new PieceTable(mapped);
+    }
+
+    private static String lines(int count) {               // More than one index checkpoint (LINE_STRIDE lines) apart
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("line ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void assertMatches(String expected, PieceTable table) throws IOException {
+        byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, table.length());
+        assertEquals(expected, table.text(0, table.length()));
+        long lineCount = expected.chars().filter(c -> c == '\n').count() + 1;
+        assertEquals(lineCount, table.getLineCount());
+        long line = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i == 0 || bytes[i - 1] == '\n') {
+                assertEquals(i, table.lineStart(line), "start of line " + line);
+                line++;
+            }
+        }
+        assertEquals(bytes.length, table.lineStart(lineCount));    // past the end
+    }
+
+    @Test
+    void unmodifiedTableReadsTheFile() throws Exception {
+        String content = lines(3000);
+        PieceTable table = open(content);
+        assertMatches(content, table);
+        assertFalse(table.isModified());
+        assertEquals("line 1500\n", table.text(table.lineStart(1500), table.lineStart(1501)));
+    }
+
+    @Test
+    void emptyFile() throws Exception {
+        PieceTable table = open("");
+        assertMatches("", table);
+        table.replace(0, 0, "first\nsecond");
+        assertMatches("first\nsecond", table);
+    }
+
+    @Test
+    void randomEditsMatchAStringModel() throws Exception {
+        StringBuilder model = new StringBuilder(lines(2500));
+        PieceTable table = open(model.toString());
+        Random random = new Random(42);
+        String[] inserts = {"", "x", "\n", "two\nlines\n", "tail without newline"};
+        for (int step = 0; step < 300; step++) {
+            int offset = random.nextInt(model.length() + 1);
+            int remove = random.nextInt(Math.min(40, model.length() - offset) + 1);
+            String text = inserts[random.nextInt(inserts.length)];
+            table.replace(offset, remove, text);
+            model.replace(offset, offset + remove, text);
+            if (step % 25 == 0) {
+                assertMatches(model.toString(), table);
+            }
+        }
+        assertMatches(model.toString(), table);
+        assertTrue(table.isModified());
+    }
+
+    @Test
+    void offsetsAreInBytes() throws Exception {
+        PieceTable table = open("café\nnaïve\n");    // 2-byte characters
+        table.replace(6, 0, "€");                           // line 2 starts at byte 6 (char 5)
+        table.replace(11, 0, "!");                          // after the 3-byte "€" and "na"
+        assertMatches("café\n€na!ïve\n", table);
+        assertEquals("€na!", table.text(6, 12));
+    }
+
+    @Test
+    void sameLengthEditsReportDirtyRanges() throws Exception {
+        PieceTable table = open("aaaa\nbbbb\ncccc\ndddd\n");
+        table.replace(0, 2, "AA");
+        table.replace(10, 4, "CCCC");
+        table.replace(14, 1, "!");                          // right after the previous range: merged
+        long[] ranges = table.snapshot().dirtyRanges();
+        assertArrayEquals(new long[]{0, 2, 10, 5}, ranges);
+
+        table.replace(0, 0, "grown");
+        assertNull(table.snapshot().dirtyRanges());         // length changed: no in-place patch
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterEdits() throws Exception {
+        PieceTable table = open("hello world\n");
+        table.replace(0, 5, "HELLO");
+        SaveOperation.Patch snapshot = table.snapshot();
+        long version = table.getVersion();
+        table.replace(6, 5, "there");
+
+        Path out = dir.resolve("out.txt");
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            snapshot.writeTo(ch, n -> { });
+        }
+        assertEquals("HELLO world\n", Files.readString(out));
+        byte[] part = new byte[5];
+        snapshot.read(0, part, 0, 5);
+        assertEquals("HELLO", new String(part, StandardCharsets.US_ASCII));
+
+        table.markSaved(version);
+        assertTrue(table.isModified());                     // the edit after the snapshot is still unsaved
+        table.markSaved(table.getVersion());
+        assertFalse(table.isModified());
+    }
+}